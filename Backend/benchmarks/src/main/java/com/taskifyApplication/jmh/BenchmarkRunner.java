@@ -0,0 +1,45 @@
+package com.taskifyApplication.jmh;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line (e.g. a benchmark
+ * regex, {@code -f}, {@code -wi}, {@code -prof gc}) and, unless {@code -rf} is given, writes the
+ * results as JSON to {@code target/jmh-results/<timestamp>.json} so successive runs can be
+ * compared, e.g. with <a href="https://jmh.morethan.io">JMH Visualizer</a>. The directory can be
+ * changed with {@code -Djmh.results.dir=...}.
+ */
+public class BenchmarkRunner {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            Path directory = Path.of(System.getProperty("jmh.results.dir", "target/jmh-results"));
+            Files.createDirectories(directory);
+            Path result = directory.resolve(LocalDateTime.now().format(FILE_TIMESTAMP) + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(result.toString());
+            System.out.println("Writing results to " + result.toAbsolutePath());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskifyApplication.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.taskifyApplication.dto.TaskDto.TaskDetailDTO;
+import com.taskifyApplication.dto.TaskDto.TaskSummaryDTO;
+import com.taskifyApplication.dto.common.PageResponse;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.service.TaskMappings;
+import com.taskifyApplication.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the responses that dominate traffic: a page of board cards, the
+ * task detail, and the board list endpoint's bare array. The mapper is configured like the one
+ * Spring Boot builds for MVC (ISO dates, JSR-310 module).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    @Param({"20", "200"})
+    int pageSize;
+
+    private ObjectWriter writer;
+
+    private PageResponse<TaskSummaryDTO> summaryPage;
+
+    private List<TaskSummaryDTO> summaries;
+
+    private TaskDetailDTO detail;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        TaskService taskService = new TaskService();
+        List<Task> tasks = TaskFixtures.tasks(pageSize, 3, 2);
+        summaries = tasks.stream().map(taskService::convertToTaskSummaryDto).toList();
+        summaryPage = PageResponse.<TaskSummaryDTO>builder()
+                .content(summaries)
+                .page(0)
+                .size(pageSize)
+                .totalElements(pageSize * 5L)
+                .totalPages(5)
+                .first(true)
+                .last(false)
+                .empty(false)
+                .build();
+        detail = TaskMappings.detail(taskService, TaskFixtures.tasks(1, 5, 10).get(0));
+    }
+
+    @Benchmark
+    public byte[] summaryPage() throws Exception {
+        return writer.writeValueAsBytes(summaryPage);
+    }
+
+    @Benchmark
+    public byte[] summaryList() throws Exception {
+        return writer.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] detail() throws Exception {
+        return writer.writeValueAsBytes(detail);
+    }
+}
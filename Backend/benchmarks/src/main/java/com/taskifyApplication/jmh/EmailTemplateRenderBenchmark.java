@@ -0,0 +1,94 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.service.EmailService;
+import com.taskifyApplication.service.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One email render per template, as the outbox worker does it: {@code uncached} re-parses the
+ * template every time (Thymeleaf's cache off, as devtools leaves it), {@code renderer} is
+ * {@link EmailTemplateRenderer} on the cached engine the application uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateRenderBenchmark {
+
+    @Param({"welcome-email", "password-reset-email", "workspace-invite-email", "task-assigned-email",
+            "notification-digest-email"})
+    String template;
+
+    private final TemplateEngine uncached = engine(false);
+
+    private final EmailTemplateRenderer renderer = new EmailTemplateRenderer(engine(true));
+
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        variables = switch (template) {
+            case "welcome-email" -> Map.of("name", "Maria");
+            case "password-reset-email" -> Map.of("name", "Maria",
+                    "resetLink", "http://localhost:5173/reset-password?token=abc");
+            case "workspace-invite-email" -> Map.of("inviterName", "João", "workspaceName", "Marketing",
+                    "inviteLink", "http://localhost:5173/workspaces/join?code=XYZ");
+            case "task-assigned-email" -> Map.of("assigneeName", "Maria", "assignerName", "João",
+                    "workspaceName", "Marketing", "taskTitle", "Preparar campanha", "taskDueDate", "2026-10-30",
+                    "taskLink", "http://localhost:5173/workspaces/1/tasks/42");
+            case "notification-digest-email" -> Map.of("name", "Maria", "periodLabel", "nas últimas 24 horas",
+                    "lines", List.of(
+                            EmailService.digestLine("Preparar campanha", "http://localhost:5173/workspaces/1/tasks/42"),
+                            EmailService.digestLine("3 novos membros entraram no workspace 'Marketing'.", null)),
+                    "link", "http://localhost:5173");
+            default -> throw new IllegalArgumentException("Unknown template " + template);
+        };
+    }
+
+    @Benchmark
+    public String uncached() {
+        Context context = new Context();
+        context.setVariables(variables);
+        return uncached.process(template, context);
+    }
+
+    @Benchmark
+    public String renderer() {
+        return renderer.render(template, variables);
+    }
+
+    private static TemplateEngine engine(boolean cacheable) {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(cacheable);
+
+        // SpEL, as in the application; the plain TemplateEngine needs OGNL, which is not on the classpath
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
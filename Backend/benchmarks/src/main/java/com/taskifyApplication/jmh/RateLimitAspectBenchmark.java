@@ -0,0 +1,114 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.annotation.RateLimit;
+import com.taskifyApplication.aspect.RateLimitAspect;
+import com.taskifyApplication.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A call through {@link RateLimitAspect} on a proxied method, so the cost includes the advice
+ * dispatch, key generation (client IP, or the JWT subject when a bearer token is present) and
+ * the per-key window counting. The limit is set high enough that calls are never rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitAspectBenchmark {
+
+    private Endpoint endpoint;
+
+    private JwtService jwtService;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", JwtParsingBenchmark.SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400L);
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Endpoint());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new RateLimitAspect(jwtService, new SimpleMeterRegistry()));
+        endpoint = factory.getProxy();
+    }
+
+    /**
+     * The request bound to the benchmark thread, as the dispatcher servlet would; each thread
+     * gets its own client so threads count against different keys.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        @Param({"ip", "bearer"})
+        String identity;
+
+        @Setup
+        public void bind(RateLimitAspectBenchmark benchmark) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tasks");
+            request.setRemoteAddr("10.0.0." + (Thread.currentThread().threadId() % 250 + 1));
+            if (identity.equals("bearer")) {
+                String token = benchmark.jwtService.generateToken(User.withUsername(
+                        "user" + Thread.currentThread().threadId() + "@example.com").password("x").roles("USER").build());
+                request.addHeader("Authorization", "Bearer " + token);
+            }
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+
+        @TearDown(Level.Trial)
+        public void unbind() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Benchmark
+    public String rateLimited(Client client) {
+        return endpoint.create();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String rateLimitedContended(Client client) {
+        return endpoint.create();
+    }
+
+    @Benchmark
+    public String withoutRateLimit(Client client) {
+        return endpoint.read();
+    }
+
+    public static class Endpoint {
+
+        @RateLimit(requests = Integer.MAX_VALUE, timeWindow = 3600, keyPrefix = "benchmark")
+        public String create() {
+            return "created";
+        }
+
+        public String read() {
+            return "read";
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.service.HtmlSanitizer;
+import com.taskifyApplication.service.ValidationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ValidationService#sanitizeHtml} on the kinds of text it sees: plain descriptions,
+ * formatted ones written by the editor, and hostile markup, at the size of a short note, a typical
+ * task description and a long time log.
+ * <p>
+ * {@code policy} is the bare OWASP policy (what every write used to pay), {@code sanitize} is
+ * {@link HtmlSanitizer} on content it has not seen, and {@code resave} is the same content
+ * submitted again unchanged, after it was stored.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SanitizeHtmlBenchmark {
+
+    @Param({"plain", "formatted", "malicious"})
+    String input;
+
+    @Param({"200", "2000", "20000"})
+    int size;
+
+    private final PolicyFactory policy = Sanitizers.FORMATTING.and(Sanitizers.LINKS).and(Sanitizers.BLOCKS);
+
+    private final ValidationService uncached = new ValidationService(new HtmlSanitizer(0, Integer.MAX_VALUE));
+
+    private final ValidationService cached = new ValidationService(new HtmlSanitizer(10_000, 256));
+
+    private String html;
+
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        String fragment = switch (input) {
+            case "plain" -> "Revisar os textos da campanha e enviar para aprovação até sexta-feira. ";
+            case "formatted" -> TaskFixtures.DESCRIPTION;
+            case "malicious" -> "<p onclick=\"steal()\">Oi</p><script>alert(document.cookie)</script>"
+                    + "<img src=x onerror=alert(1)><a href=\"javascript:alert(1)\">link</a>"
+                    + "<iframe src=\"https://evil.example\"></iframe><b>ok</b>";
+            default -> throw new IllegalArgumentException("Unknown input " + input);
+        };
+        // Whole fragments only, so the markup stays well formed
+        html = fragment.repeat(Math.max(1, size / fragment.length()));
+        stored = cached.sanitizeHtml(html);
+        cached.sanitizeHtml(stored);
+    }
+
+    @Benchmark
+    public String policy() {
+        return policy.sanitize(html);
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return uncached.sanitizeHtml(html);
+    }
+
+    @Benchmark
+    public String resave() {
+        return cached.sanitizeHtml(stored);
+    }
+}
@@ -0,0 +1,109 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.model.Category;
+import com.taskifyApplication.model.PriorityEnum;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.model.TaskStatus;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.model.Workspace;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entity graphs shaped like a typical board card: a status, an assignee, a few
+ * categories and attachments, all initialised so no lazy loading is involved.
+ */
+final class TaskFixtures {
+
+    static final String DESCRIPTION = "<p>Preparar a <b>campanha</b> de lançamento com o time de marketing. "
+            + "Ver <a href=\"https://example.com/briefing\">o briefing</a> antes da reunião.</p>"
+            + "<ul><li>Revisar textos</li><li>Aprovar artes</li><li>Agendar posts</li></ul>";
+
+    private TaskFixtures() {
+    }
+
+    static List<Task> tasks(int count, int categories, int attachments) {
+        User owner = user(1L, "maria");
+        User assignee = user(2L, "joao");
+        Workspace workspace = Workspace.builder()
+                .id(1L)
+                .name("Marketing")
+                .description("Campanhas e conteúdo")
+                .owner(owner)
+                .inviteCode("XYZ12345")
+                .createdAt(OffsetDateTime.now().minusMonths(6))
+                .updatedAt(OffsetDateTime.now().minusDays(1))
+                .build();
+        TaskStatus status = TaskStatus.builder()
+                .id(1L)
+                .name("IN_PROGRESS")
+                .color("#3b82f6")
+                .workspace(workspace)
+                .order(2)
+                .build();
+
+        List<Category> categoryList = new ArrayList<>();
+        for (long i = 1; i <= categories; i++) {
+            categoryList.add(Category.builder()
+                    .id(i)
+                    .name("Categoria " + i)
+                    .description("Descrição da categoria " + i)
+                    .workspace(workspace)
+                    .build());
+        }
+
+        List<Task> tasks = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Task task = Task.builder()
+                    .id(id)
+                    .title("Tarefa " + id)
+                    .description(DESCRIPTION)
+                    .notes("Notas da tarefa " + id)
+                    .createdAt(OffsetDateTime.now().minusDays(10))
+                    .updatedAt(OffsetDateTime.now().minusHours(3))
+                    .status(status)
+                    .priority(PriorityEnum.HIGH)
+                    .dueDate(LocalDateTime.now().plusDays(id % 14))
+                    .assignedTo(assignee)
+                    .estimatedHours(8)
+                    .actualHours(3)
+                    .workspace(workspace)
+                    .categories(new ArrayList<>(categoryList))
+                    .progress(40)
+                    .build();
+            for (long a = 1; a <= attachments; a++) {
+                task.getAttachments().add(Attachment.builder()
+                        .id(id * 100 + a)
+                        .filePath("workspaces/1/tasks/" + id + "/anexo-" + a + ".pdf")
+                        .filename("anexo-" + a + ".pdf")
+                        .originalName("Anexo " + a + ".pdf")
+                        .mimeType("application/pdf")
+                        .size(250_000L)
+                        .uploadedAt(OffsetDateTime.now().minusDays(2))
+                        .uploadedBy(owner)
+                        .task(task)
+                        .workspace(workspace)
+                        .build());
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    static User user(Long id, String username) {
+        return User.builder()
+                .id(id)
+                .email(username + "@example.com")
+                .password("{noop}secret")
+                .username(username)
+                .firstName(Character.toUpperCase(username.charAt(0)) + username.substring(1))
+                .lastName("Silva")
+                .createdAt(ZonedDateTime.now().minusYears(1))
+                .build();
+    }
+}
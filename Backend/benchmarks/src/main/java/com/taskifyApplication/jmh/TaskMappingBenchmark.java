@@ -0,0 +1,59 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.dto.TaskDto.TaskDetailDTO;
+import com.taskifyApplication.dto.TaskDto.TaskSummaryDTO;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.service.TaskMappings;
+import com.taskifyApplication.service.TaskService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping in {@link TaskService}, on a fully initialised graph: this is the
+ * CPU side of building a board or a task page, without the queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMappingBenchmark {
+
+    @Param({"0", "5"})
+    int categories;
+
+    @Param({"0", "10"})
+    int attachments;
+
+    // The converters only touch the entity graph, so none of the injected collaborators are needed
+    private final TaskService taskService = new TaskService();
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = TaskFixtures.tasks(1, categories, attachments).get(0);
+    }
+
+    @Benchmark
+    public TaskSummaryDTO summary() {
+        return taskService.convertToTaskSummaryDto(task);
+    }
+
+    @Benchmark
+    public TaskDetailDTO detail() {
+        return TaskMappings.detail(taskService, task);
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskifyApplication.jmh;
+
+import com.taskifyApplication.websocket.WebSocketSessionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscription bookkeeping in {@link WebSocketSessionManager} with a populated registry: a
+ * subscribe/unsubscribe pair, a full connect and disconnect of a client watching several
+ * workspaces and tasks, and the fan-out lookup done for every broadcast. Clients that come and
+ * go use ids above the populated range, so the registry keeps its initial size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketSessionManagerBenchmark {
+
+    private static final int WORKSPACES = 100;
+    private static final int TASKS = 10_000;
+    private static final int WORKSPACES_PER_CLIENT = 3;
+    private static final int TASKS_PER_CLIENT = 10;
+
+    @Param({"100", "10000"})
+    int connectedUsers;
+
+    private WebSocketSessionManager sessionManager;
+
+    @Setup
+    public void setUp() {
+        sessionManager = new WebSocketSessionManager();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long userId = 1; userId <= connectedUsers; userId++) {
+            subscribe(userId, random);
+        }
+    }
+
+    @Benchmark
+    public boolean workspaceAddRemove() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = connectedUsers + random.nextLong(1, 1_000_000);
+        long workspaceId = random.nextLong(1, WORKSPACES + 1);
+        sessionManager.addUserToWorkspace(userId, workspaceId);
+        sessionManager.removeUserFromWorkspace(userId, workspaceId);
+        return sessionManager.isUserOnlineInWorkspace(userId, workspaceId);
+    }
+
+    @Benchmark
+    public boolean taskAddRemove() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = connectedUsers + random.nextLong(1, 1_000_000);
+        long taskId = random.nextLong(1, TASKS + 1);
+        sessionManager.addUserToTask(userId, taskId);
+        sessionManager.removeUserFromTask(userId, taskId);
+        return sessionManager.isUserWatchingTask(userId, taskId);
+    }
+
+    @Benchmark
+    public Set<Long> connectDisconnect() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long userId = connectedUsers + random.nextLong(1, 1_000_000);
+        subscribe(userId, random);
+        sessionManager.removeUser(userId);
+        return sessionManager.getUserWorkspaces(userId);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Set<Long> connectDisconnectContended() {
+        return connectDisconnect();
+    }
+
+    @Benchmark
+    public int workspaceFanOutLookup() {
+        Set<Long> users = sessionManager.getWorkspaceUsers(ThreadLocalRandom.current().nextLong(1, WORKSPACES + 1));
+        int online = 0;
+        for (Long ignored : users) {
+            online++;
+        }
+        return online;
+    }
+
+    private void subscribe(long userId, ThreadLocalRandom random) {
+        for (int i = 0; i < WORKSPACES_PER_CLIENT; i++) {
+            sessionManager.addUserToWorkspace(userId, random.nextLong(1, WORKSPACES + 1));
+        }
+        for (int i = 0; i < TASKS_PER_CLIENT; i++) {
+            sessionManager.addUserToTask(userId, random.nextLong(1, TASKS + 1));
+        }
+    }
+}
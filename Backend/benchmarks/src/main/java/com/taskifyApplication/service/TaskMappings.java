@@ -0,0 +1,18 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.TaskDto.TaskDetailDTO;
+import com.taskifyApplication.model.Task;
+
+/**
+ * Reaches the package-private detail mapping of {@link TaskService} so it can be measured
+ * without the repository lookup and permission check of {@code getTaskById}.
+ */
+public final class TaskMappings {
+
+    private TaskMappings() {
+    }
+
+    public static TaskDetailDTO detail(TaskService taskService, Task task) {
+        return taskService.convertToTaskDetailDto(task);
+    }
+}
@@ -3,8 +3,11 @@ package com.taskifyApplication.aspect;
 import com.taskifyApplication.annotation.RateLimit;
 import com.taskifyApplication.exception.TooManyRequestsException;
 import com.taskifyApplication.service.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
@@ -12,29 +15,53 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class RateLimitAspect {
 
     private final JwtService jwtService;
 
+    private final MeterRegistry meterRegistry;
+
     private final ConcurrentHashMap<String, RateLimitInfo> rateLimitStore = new ConcurrentHashMap<>();
 
+    private final ConcurrentHashMap<String, Counter> decisionCounters = new ConcurrentHashMap<>();
+
+    public RateLimitAspect(JwtService jwtService, MeterRegistry meterRegistry) {
+        this.jwtService = jwtService;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("taskify.ratelimit.keys", rateLimitStore, Map::size)
+                .description("Rate limit windows being tracked")
+                .register(meterRegistry);
+    }
+
     @Around("@annotation(rateLimit)")
     public Object checkRateLimit(ProceedingJoinPoint joinPoint, RateLimit rateLimit) throws Throwable {
         String key = generateKey(joinPoint, rateLimit);
 
-        if (isRateLimited(key, rateLimit)) {
+        boolean limited = isRateLimited(key, rateLimit);
+        countDecision(rateLimit.keyPrefix().isEmpty() ? joinPoint.getSignature().getName() : rateLimit.keyPrefix(), limited);
+        if (limited) {
             throw new TooManyRequestsException("Rate limit exceeded. Try again later.");
         }
 
         return joinPoint.proceed();
     }
 
+    private void countDecision(String limiter, boolean limited) {
+        String outcome = limited ? "rejected" : "allowed";
+        decisionCounters.computeIfAbsent(limiter + ":" + outcome, key -> Counter.builder("taskify.ratelimit.requests")
+                .tag("limiter", limiter)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+                .increment();
+    }
+
     private String generateKey(ProceedingJoinPoint joinPoint, RateLimit rateLimit) {
         StringBuilder keyBuilder = new StringBuilder();
 
@@ -92,8 +119,8 @@ public class RateLimitAspect {
                 }
             }
         } catch (Exception e) {
-            // Log error and fall back to IP-based rate limiting
-            System.err.println("Error extracting user identifier for rate limiting: " + e.getMessage());
+            // Expired or forged tokens are routine here; fall back to IP-based rate limiting
+            log.debug("Could not extract user identifier for rate limiting: {}", e.getMessage());
         }
         return null;
     }
@@ -118,7 +145,7 @@ public class RateLimitAspect {
                 return request.getRemoteAddr();
             }
         } catch (Exception e) {
-            System.err.println("Error extracting client IP address: " + e.getMessage());
+            log.warn("Error extracting client IP address", e);
         }
         return "unknown";
     }
@@ -0,0 +1,24 @@
+package com.taskifyApplication.config;
+
+import com.taskifyApplication.service.ActivityWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Queue depth and batch counters of the {@link ActivityWriter}, served as
+ * {@code /actuator/activitywriter} on the internal management port only.
+ */
+@Component
+@Endpoint(id = "activitywriter")
+@RequiredArgsConstructor
+public class ActivityWriterEndpoint {
+
+    private final ActivityWriter activityWriter;
+
+    @ReadOperation
+    public ActivityWriter.Stats stats() {
+        return activityWriter.stats();
+    }
+}
@@ -1,37 +1,98 @@
 package com.taskifyApplication.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.util.concurrent.Executor;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadFactory;
 
+/**
+ * One {@link InstrumentedExecutor} per kind of background work, each sized and given a shedding
+ * policy under {@code app.executors.<name>}:
+ * <ul>
+ *   <li>{@code notification}: {@code @Async} notification fan-out. Sheds by discarding, so a burst
+ *   loses some notifications instead of running them on request threads.</li>
+ *   <li>{@code thumbnail}: image scaling. Aborts; ThumbnailService leaves rejected jobs to its sweep.
+ *   Stays on platform threads in virtual mode, as the work is CPU-bound.</li>
+ *   <li>{@code export}: streamed responses. Aborts, which answers the request with 503.</li>
+ * </ul>
+ * In virtual-thread mode ({@code app.threads.virtual}) the I/O-bound pools create virtual
+ * threads, keeping the same bounds. Async requests keep the container's timeout unless the handler
+ * sets {@link #ASYNC_TIMEOUT_ATTRIBUTE}, as the export does for its long downloads.
+ */
 @Configuration
 @EnableAsync
-public class AsyncConfig {
+public class AsyncConfig implements WebMvcConfigurer {
+
+    /**
+     * Request attribute holding a {@link Duration} that replaces the async timeout of that request only.
+     */
+    public static final String ASYNC_TIMEOUT_ATTRIBUTE = AsyncConfig.class.getName() + ".asyncTimeout";
+
+    private final Environment environment;
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment, @Value("${app.threads.virtual:false}") boolean virtualThreads) {
+        this.environment = environment;
+        this.virtualThreads = virtualThreads;
+    }
 
     @Bean(name = "notificationExecutor")
-    public Executor notificationExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("notification-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+    public InstrumentedExecutor notificationExecutor() {
+        return create("notification", 2, 10, 500, InstrumentedExecutor.SheddingPolicy.DISCARD, virtualThreads);
+    }
+
+    @Bean(name = "thumbnailExecutor")
+    public InstrumentedExecutor thumbnailExecutor() {
+        return create("thumbnail", 2, 2, 20, InstrumentedExecutor.SheddingPolicy.ABORT, false);
+    }
+
+    @Bean(name = "exportExecutor")
+    public InstrumentedExecutor exportExecutor() {
+        return create("export", 2, 8, 16, InstrumentedExecutor.SheddingPolicy.ABORT, virtualThreads);
     }
 
-    @Bean(name = "emailExecutor")
-    public Executor emailExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(1);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("email-");
-        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
-        executor.initialize();
-        return executor;
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(exportExecutor()));
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // Still before startAsync, which is when the timeout is handed to the container
+                if (request.getAttribute(ASYNC_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Duration timeout
+                        && request instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeout.toMillis());
+                }
+            }
+        });
+    }
+
+    private InstrumentedExecutor create(String name, int coreSize, int maxSize, int queueCapacity,
+                                        InstrumentedExecutor.SheddingPolicy policy, boolean virtual) {
+        String prefix = "app.executors." + name + ".";
+        int core = environment.getProperty(prefix + "core-size", Integer.class, coreSize);
+        int max = Math.max(core, environment.getProperty(prefix + "max-size", Integer.class, maxSize));
+        int queue = environment.getProperty(prefix + "queue-capacity", Integer.class, queueCapacity);
+        long keepAlive = environment.getProperty(prefix + "keep-alive-seconds", Long.class, 60L);
+        InstrumentedExecutor.SheddingPolicy shedding = InstrumentedExecutor.SheddingPolicy.valueOf(
+                environment.getProperty(prefix + "policy", policy.name()).toUpperCase().replace('-', '_'));
+
+        ThreadFactory threadFactory = virtual
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : new CustomizableThreadFactory(name + "-");
+        return InstrumentedExecutor.create(name, core, max, queue, keepAlive, shedding, threadFactory);
     }
 }
@@ -0,0 +1,25 @@
+package com.taskifyApplication.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Pool, queue and shedding counters of every {@link InstrumentedExecutor}, served as
+ * {@code /actuator/executors} on the internal management port only.
+ */
+@Component
+@Endpoint(id = "executors")
+@RequiredArgsConstructor
+public class ExecutorsEndpoint {
+
+    private final List<InstrumentedExecutor> executors;
+
+    @ReadOperation
+    public List<InstrumentedExecutor.Stats> stats() {
+        return executors.stream().map(InstrumentedExecutor::stats).toList();
+    }
+}
@@ -0,0 +1,195 @@
+package com.taskifyApplication.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread pool for one workload, with a bounded queue, an explicit policy for what happens when
+ * that queue is full, and counters for how it is coping.
+ * <p>
+ * Every task is wrapped on submission so the time it waited in the queue and the time it ran can
+ * be recorded. None of the policies run the task on the submitting thread unless asked to with
+ * {@link SheddingPolicy#CALLER_RUNS}, so a burst of background work cannot spill onto request threads.
+ * Instances come from {@link #create}, which configures the pool once it is fully constructed.
+ */
+@Slf4j
+public final class InstrumentedExecutor extends ThreadPoolExecutor {
+
+    private final String name;
+
+    private final int queueCapacity;
+
+    private final SheddingPolicy policy;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxRunNanos = new LongAccumulator(Math::max, 0);
+    private final AtomicLong lastShedWarning = new AtomicLong();
+
+    private InstrumentedExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                                 long keepAliveSeconds, SheddingPolicy policy, ThreadFactory threadFactory) {
+        super(coreSize, maxSize, keepAliveSeconds, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory);
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+    }
+
+    public static InstrumentedExecutor create(String name, int coreSize, int maxSize, int queueCapacity,
+                                              long keepAliveSeconds, SheddingPolicy policy,
+                                              ThreadFactory threadFactory) {
+        InstrumentedExecutor executor = new InstrumentedExecutor(name, coreSize, maxSize, queueCapacity,
+                keepAliveSeconds, policy, threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(executor.new Shedder());
+        return executor;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        submitted.increment();
+        super.execute(new TimedTask(command));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SheddingPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getShedCount() {
+        return shed.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    public long getTotalRunNanos() {
+        return totalRunNanos.sum();
+    }
+
+    public Stats stats() {
+        long done = completed.sum();
+        return new Stats(name, policy.name(), getPoolSize(), getMaximumPoolSize(), getActiveCount(),
+                getQueue().size(), queueCapacity, submitted.sum(), done, failed.sum(), shed.sum(),
+                done > 0 ? TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum() / done) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()),
+                done > 0 ? TimeUnit.NANOSECONDS.toMillis(totalRunNanos.sum() / done) : 0,
+                TimeUnit.NANOSECONDS.toMillis(maxRunNanos.get()));
+    }
+
+    /**
+     * What to do with a task when every thread is busy and the queue is full.
+     */
+    public enum SheddingPolicy {
+        /** Throw {@link RejectedExecutionException} to the submitter, which decides what to do. */
+        ABORT,
+        /** Drop the new task. */
+        DISCARD,
+        /** Drop the task that has waited longest and queue the new one. */
+        DISCARD_OLDEST,
+        /** Run the task on the submitting thread; only for work that must not be lost. */
+        CALLER_RUNS
+    }
+
+    public record Stats(String name, String policy, int poolSize, int maxPoolSize, int activeThreads,
+                        int queueSize, int queueCapacity, long submitted, long completed, long failed,
+                        long shed, long avgWaitMillis, long maxWaitMillis, long avgRunMillis, long maxRunMillis) {}
+
+    private final class TimedTask implements Runnable {
+
+        private final Runnable delegate;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedTask(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            long started = System.nanoTime();
+            long waited = started - enqueuedAt;
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulate(waited);
+            try {
+                delegate.run();
+            } catch (RuntimeException | Error e) {
+                failed.increment();
+                throw e;
+            } finally {
+                long ran = System.nanoTime() - started;
+                totalRunNanos.add(ran);
+                maxRunNanos.accumulate(ran);
+                completed.increment();
+            }
+        }
+    }
+
+    private final class Shedder implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                shed.increment();
+                throw new RejectedExecutionException(name + " executor is shut down");
+            }
+            switch (policy) {
+                case CALLER_RUNS -> task.run();
+                case DISCARD_OLDEST -> {
+                    if (executor.getQueue().poll() != null) {
+                        recordShed();
+                    }
+                    if (!executor.getQueue().offer(task)) {
+                        recordShed();
+                    }
+                }
+                case DISCARD -> recordShed();
+                case ABORT -> {
+                    recordShed();
+                    throw new RejectedExecutionException(name + " executor is saturated");
+                }
+            }
+        }
+
+        private void recordShed() {
+            shed.increment();
+            // At most one warning a minute per pool
+            long now = System.currentTimeMillis();
+            long last = lastShedWarning.get();
+            if (now - last > 60_000 && lastShedWarning.compareAndSet(last, now)) {
+                log.warn("Executor '{}' is saturated ({} queued); shedding with policy {}, {} tasks shed so far",
+                        name, queueCapacity, policy, shed.sum());
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.taskifyApplication.config;
+
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.LocalBlobStorage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Serves files of the local storage backend under /uploads, mirroring the public GCS URLs.
+ * Staged direct uploads and partially written files share the directory but are never served:
+ * a direct upload only becomes public once finalize has checked it and moved it out of staging.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalStorageConfig implements WebMvcConfigurer {
+
+    @Value("${app.upload.dir}")
+    private String uploadDir;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/uploads/**")
+                .addResourceLocations(Paths.get(uploadDir).toAbsolutePath().toUri().toString())
+                .resourceChain(true)
+                .addResolver(new PublicOnlyResolver());
+    }
+
+    private static final class PublicOnlyResolver extends PathResourceResolver {
+
+        private static final List<String> PRIVATE_DIRS = List.of(BlobStorage.STAGING_PREFIX, LocalBlobStorage.TMP_DIR);
+
+        @Override
+        protected Resource getResource(String resourcePath, Resource location) throws IOException {
+            Resource resource = super.getResource(resourcePath, location);
+            if (resource == null) {
+                return null;
+            }
+            // Compared on real paths so no spelling of the URL can reach a private directory
+            Path root = location.getFile().toPath().toRealPath();
+            Path relative = root.relativize(resource.getFile().toPath().toRealPath());
+            for (String dir : PRIVATE_DIRS) {
+                if (relative.startsWith(dir)) {
+                    return null;
+                }
+            }
+            return resource;
+        }
+    }
+}
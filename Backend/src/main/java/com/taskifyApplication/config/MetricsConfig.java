@@ -0,0 +1,63 @@
+package com.taskifyApplication.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters on top of what Spring Boot records by itself: {@code http.server.requests}
+ * for every controller endpoint and {@code spring.data.repository.invocations} for every
+ * repository call. Everything is scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on beans, used for the service layer.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder executorMetrics(List<InstrumentedExecutor> executors) {
+        return registry -> executors.forEach(executor -> bind(executor, registry));
+    }
+
+    private static void bind(InstrumentedExecutor executor, MeterRegistry registry) {
+        Tags tags = Tags.of("name", executor.getName(), "policy", executor.getPolicy().name().toLowerCase());
+
+        Gauge.builder("taskify.executor.active", executor, InstrumentedExecutor::getActiveCount)
+                .tags(tags).description("Threads running a task").register(registry);
+        Gauge.builder("taskify.executor.pool.size", executor, InstrumentedExecutor::getPoolSize)
+                .tags(tags).register(registry);
+        Gauge.builder("taskify.executor.queued", executor, e -> e.getQueue().size())
+                .tags(tags).description("Tasks waiting for a thread").register(registry);
+        Gauge.builder("taskify.executor.queue.remaining", executor, e -> e.getQueue().remainingCapacity())
+                .tags(tags).register(registry);
+
+        FunctionCounter.builder("taskify.executor.submitted", executor, InstrumentedExecutor::getSubmittedCount)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("taskify.executor.shed", executor, InstrumentedExecutor::getShedCount)
+                .tags(tags).description("Tasks dropped or rejected because the queue was full").register(registry);
+        FunctionCounter.builder("taskify.executor.failed", executor, InstrumentedExecutor::getFailedCount)
+                .tags(tags).register(registry);
+
+        FunctionTimer.builder("taskify.executor.wait", executor,
+                        InstrumentedExecutor::getCompletedCount, InstrumentedExecutor::getTotalWaitNanos, TimeUnit.NANOSECONDS)
+                .tags(tags).description("Time tasks spent queued").register(registry);
+        FunctionTimer.builder("taskify.executor.run", executor,
+                        InstrumentedExecutor::getCompletedCount, InstrumentedExecutor::getTotalRunNanos, TimeUnit.NANOSECONDS)
+                .tags(tags).description("Time tasks spent running").register(registry);
+    }
+}
@@ -1,11 +1,15 @@
 package com.taskifyApplication.config;
 
 import com.taskifyApplication.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -20,6 +24,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.support.WebApplicationContextUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -51,10 +57,18 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Completing a streamed response re-dispatches a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                          .requestMatchers(mvc.pattern("/api/auth/**")).permitAll()
                         .requestMatchers(mvc.pattern("/v3/api-docs/**"), mvc.pattern("/swagger-ui/**"), mvc.pattern("/swagger-ui.html")).permitAll()
                         .requestMatchers(mvc.pattern("/error")).permitAll()
+                        // The management server listens on its own port, bound to an internal address
+                        .requestMatchers(SecurityConfig::isManagementRequest).permitAll()
+                        .requestMatchers(mvc.pattern("/actuator/health")).permitAll()
+                        .requestMatchers(mvc.pattern("/actuator/**")).denyAll()
                         .requestMatchers(mvc.pattern("/ws/**")).permitAll()
+                        .requestMatchers(mvc.pattern("/uploads/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.PUT, "/api/attachments/uploads/*")).permitAll()
                         .requestMatchers(toH2Console()).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -66,6 +80,11 @@ public class SecurityConfig {
         return http.build();
     }
 
+    private static boolean isManagementRequest(HttpServletRequest request) {
+        WebApplicationContext context = WebApplicationContextUtils.getWebApplicationContext(request.getServletContext());
+        return WebServerApplicationContext.hasServerNamespace(context, "management");
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,36 @@
+package com.taskifyApplication.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs request handling on virtual threads when {@code app.threads.virtual=true}.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its bounded worker pool; the
+ * I/O-bound pools of {@link AsyncConfig} switch to virtual threads as well. Requests mostly wait on
+ * JDBC, SMTP and GCS, so they no longer hold a platform thread while blocked; concurrency is
+ * then bounded by {@code server.tomcat.max-connections} and, for anything touching the
+ * database, by the Hikari pool.
+ * <p>
+ * Pinning: a virtual thread that blocks inside {@code synchronized} holds on to its carrier.
+ * The application's own monitors ({@code ActiveTimerRegistry}, the per-user counters of
+ * {@code UnreadNotificationCounter}, the digest cache of {@code HtmlSanitizer}) only guard in-memory
+ * updates and never block inside; the counter runs its seeding COUNT and WebSocket push outside
+ * the lock. The PostgreSQL driver (42.6+) locks with {@code ReentrantLock}. Jakarta Mail's transport is
+ * synchronized, but mail is sent from the outbox's scheduler thread, not from request or
+ * {@code @Async} threads. Run with {@code -Djdk.tracePinnedThreads=short} to check for regressions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.taskifyApplication.controller;
 
 import com.taskifyApplication.dto.activity.ActivityDto;
+import com.taskifyApplication.dto.common.PurgeResultDTO;
 import com.taskifyApplication.service.ActivityService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -88,8 +89,8 @@ public class ActivityController {
     }
 
     @DeleteMapping("/user/{userId}/clear")
-    public ResponseEntity<Void> clearUserActivities(@PathVariable Long userId) {
-        activityService.clearUserActivities(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<PurgeResultDTO> clearUserActivities(@PathVariable Long userId) {
+        PurgeResultDTO result = activityService.clearUserActivities(userId);
+        return ResponseEntity.ok(result);
     }
 }
\ No newline at end of file
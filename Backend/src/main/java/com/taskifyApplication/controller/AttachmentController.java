@@ -1,16 +1,25 @@
 package com.taskifyApplication.controller;
 
 import com.taskifyApplication.dto.AttachmentDto.AttachmentResponseDTO;
+import com.taskifyApplication.dto.AttachmentDto.UploadRequestDTO;
+import com.taskifyApplication.dto.AttachmentDto.UploadTicketDTO;
 import com.taskifyApplication.dto.UserDto.UserSummaryDTO;
 import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.service.AttachmentDownloadService;
 import com.taskifyApplication.service.AttachmentService;
+import com.taskifyApplication.service.DirectUploadService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,19 +32,17 @@ public class AttachmentController {
 
     private final AttachmentService attachmentService;
 
+    private final AttachmentDownloadService attachmentDownloadService;
+
+    private final DirectUploadService directUploadService;
+
     @GetMapping("/tasks/{taskId}/attachments")
     public ResponseEntity<List<AttachmentResponseDTO>> getAttachmentsForTask(@PathVariable Long taskId) {
         List<Attachment> attachments = attachmentService.getAttachmentsForTask(taskId);
 
-        List<AttachmentResponseDTO> response = attachments.stream().map(attachment -> new AttachmentResponseDTO(
-                attachment.getId(),
-                attachment.getOriginalName(),
-                attachment.getFilePath(),
-                attachment.getMimeType(),
-                attachment.getSize(),
-                attachment.getUploadedAt(),
-                new UserSummaryDTO(attachment.getUploadedBy())
-        )).collect(Collectors.toList());
+        List<AttachmentResponseDTO> response = attachments.stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
 
         return ResponseEntity.ok(response);
     }
@@ -48,21 +55,55 @@ public class AttachmentController {
 
         Attachment attachment = attachmentService.uploadAttachment(file, taskId, null, description);
 
-        AttachmentResponseDTO response = new AttachmentResponseDTO(
+        return ResponseEntity.ok(toResponse(attachment));
+    }
+
+    @PostMapping("/tasks/{taskId}/attachments/uploads")
+    public ResponseEntity<UploadTicketDTO> requestDirectUpload(@PathVariable Long taskId,
+                                                               @Valid @RequestBody UploadRequestDTO request) {
+        return ResponseEntity.ok(directUploadService.requestUpload(taskId, request));
+    }
+
+    // Stand-in for a storage signed URL when the backend has none; authenticated by the signature
+    @PutMapping("/attachments/uploads/{token}")
+    public ResponseEntity<Void> receiveDirectUpload(@PathVariable String token,
+                                                    @RequestParam long expires,
+                                                    @RequestParam String signature,
+                                                    HttpServletRequest request) throws IOException {
+        directUploadService.receiveLocalUpload(token, expires, signature, request.getInputStream());
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/attachments/uploads/{token}/finalize")
+    public ResponseEntity<AttachmentResponseDTO> finalizeDirectUpload(@PathVariable String token) {
+        Attachment attachment = directUploadService.finalizeUpload(token);
+        return ResponseEntity.ok(toResponse(attachment));
+    }
+
+    @GetMapping("/attachments/{id}/download")
+    public void downloadAttachment(@PathVariable Long id,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        AttachmentService.FileDownloadInfo file = attachmentService.getDownloadInfo(id);
+        attachmentDownloadService.write(file, request, response);
+    }
+
+    @DeleteMapping("/attachments/{id}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long id) {
+        attachmentService.deleteAttachment(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private AttachmentResponseDTO toResponse(Attachment attachment) {
+        return new AttachmentResponseDTO(
                 attachment.getId(),
                 attachment.getOriginalName(),
                 attachment.getFilePath(),
                 attachment.getMimeType(),
                 attachment.getSize(),
                 attachment.getUploadedAt(),
-                new UserSummaryDTO(attachment.getUploadedBy())
+                new UserSummaryDTO(attachment.getUploadedBy()),
+                attachment.getThumbnailPath()
         );
-        return ResponseEntity.ok(response);
-    }
-
-    @DeleteMapping("/attachments/{id}")
-    public ResponseEntity<Void> deleteAttachment(@PathVariable Long id) {
-        attachmentService.deleteAttachment(id);
-        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.taskifyApplication.controller;
+
+import com.taskifyApplication.config.AsyncConfig;
+import com.taskifyApplication.service.ExportService;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/workspace/{workspaceId}/export")
+@CrossOrigin(origins = "http://localhost:5173")
+@SecurityRequirement(name = "bearerAuth")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @Value("${app.export.request-timeout:PT30M}")
+    private Duration requestTimeout;
+
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable Long workspaceId,
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportService.Dataset exportDataset = ExportService.Dataset.fromPath(dataset);
+        ExportService.Format exportFormat = ExportService.Format.fromParam(format);
+
+        StreamingResponseBody body = exportService.export(workspaceId, exportDataset, exportFormat, from, to, gzip);
+        request.setAttribute(AsyncConfig.ASYNC_TIMEOUT_ATTRIBUTE, requestTimeout);
+
+        String filename = "workspace-" + workspaceId + "-" + exportDataset.path() + "." + exportFormat.extension()
+                + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.contentType() + ";charset=UTF-8"))
+                .body(body);
+    }
+}
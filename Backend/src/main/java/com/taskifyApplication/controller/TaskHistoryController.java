@@ -1,6 +1,7 @@
 package com.taskifyApplication.controller;
 
 import com.taskifyApplication.dto.TaskDto.TaskHistoryDTO;
+import com.taskifyApplication.dto.common.PurgeResultDTO;
 import com.taskifyApplication.service.TaskHistoryService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
@@ -44,8 +45,8 @@ public class TaskHistoryController {
     }
 
     @DeleteMapping
-    public ResponseEntity<Void> clearTaskHistory(@PathVariable Long taskId) {
-            taskHistoryService.clearTaskHistory(taskId);
-            return ResponseEntity.noContent().build();
+    public ResponseEntity<PurgeResultDTO> clearTaskHistory(@PathVariable Long taskId) {
+            PurgeResultDTO result = taskHistoryService.clearTaskHistory(taskId);
+            return ResponseEntity.ok(result);
     }
 }
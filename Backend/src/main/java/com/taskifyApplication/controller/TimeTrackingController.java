@@ -8,6 +8,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 
@@ -62,6 +63,15 @@ public class TimeTrackingController {
         return ResponseEntity.ok(activeSessions);
     }
 
+    @GetMapping("/timesheet")
+    public ResponseEntity<TimesheetDTO> getTimesheet(
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) Long workspaceId) {
+        TimesheetDTO timesheet = timeTrackingService.getTimesheet(period, date, workspaceId);
+        return ResponseEntity.ok(timesheet);
+    }
+
     @GetMapping("/history")
     public ResponseEntity<List<TimeTrackingResponseDTO>> getUserTimeTrackingHistory(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
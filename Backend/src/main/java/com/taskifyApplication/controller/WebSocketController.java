@@ -1,7 +1,6 @@
 package com.taskifyApplication.controller;
 
-import com.taskifyApplication.service.UserService;
-import com.taskifyApplication.model.User;
+import com.taskifyApplication.websocket.StompPrincipal;
 import com.taskifyApplication.websocket.WebSocketSessionManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -19,25 +18,23 @@ public class WebSocketController {
 
     private final SimpMessagingTemplate messagingTemplate;
 
-    private final UserService userService;
-
     private final WebSocketSessionManager sessionManager;
 
     @MessageMapping("/workspace.join")
     public void joinWorkspace(@Payload Map<String, Object> payload, Principal principal) {
         String workspaceId = (String) payload.get("workspaceId");
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
 
         if (user != null && workspaceId != null) {
-            sessionManager.addUserToWorkspace(user.getId(), Long.parseLong(workspaceId));
+            sessionManager.addUserToWorkspace(user.id(), Long.parseLong(workspaceId));
 
             // Notify other workspace members that user is online
             messagingTemplate.convertAndSend("/topic/workspace/" + workspaceId + "/presence",
                     Map.of("type", "USER_ONLINE", "user", Map.of(
-                            "id", user.getId(),
-                            "username", user.getUsername(),
-                            "firstName", user.getFirstName(),
-                            "lastName", user.getLastName()
+                            "id", user.id(),
+                            "username", user.username(),
+                            "firstName", user.firstName(),
+                            "lastName", user.lastName()
                     ))
             );
         }
@@ -46,14 +43,14 @@ public class WebSocketController {
     @MessageMapping("/workspace.leave")
     public void leaveWorkspace(@Payload Map<String, Object> payload, Principal principal) {
         String workspaceId = (String) payload.get("workspaceId");
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
 
         if (user != null && workspaceId != null) {
-            sessionManager.removeUserFromWorkspace(user.getId(), Long.parseLong(workspaceId));
+            sessionManager.removeUserFromWorkspace(user.id(), Long.parseLong(workspaceId));
 
             // Notify other workspace members that user is offline
             messagingTemplate.convertAndSend("/topic/workspace/" + workspaceId + "/presence",
-                    Map.of("type", "USER_OFFLINE", "userId", user.getId())
+                    Map.of("type", "USER_OFFLINE", "userId", user.id())
             );
         }
     }
@@ -61,10 +58,10 @@ public class WebSocketController {
     @MessageMapping("/task.watch")
     public void watchTask(@Payload Map<String, Object> payload, Principal principal) {
         String taskId = (String) payload.get("taskId");
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
 
         if (user != null && taskId != null) {
-            sessionManager.addUserToTask(user.getId(), Long.parseLong(taskId));
+            sessionManager.addUserToTask(user.id(), Long.parseLong(taskId));
         }
     }
 
@@ -72,16 +69,16 @@ public class WebSocketController {
     @MessageMapping("/task.unwatch")
     public void unwatchTask(@Payload Map<String, Object> payload, Principal principal) {
         String taskId = (String) payload.get("taskId");
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
 
         if (user != null && taskId != null) {
-            sessionManager.removeUserFromTask(user.getId(), Long.parseLong(taskId));
+            sessionManager.removeUserFromTask(user.id(), Long.parseLong(taskId));
         }
     }
 
     @MessageMapping("/cursor.update")
     public void updateCursor(@Payload Map<String, Object> payload, Principal principal) {
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
         if (user == null) return;
 
         Number x = (Number) payload.get("x");
@@ -89,10 +86,10 @@ public class WebSocketController {
         String taskId = (String) payload.get("taskId");
 
         Map<String, Object> cursorData = Map.of(
-                "userId", user.getId(),
-                "username", user.getUsername(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName(),
+                "userId", user.id(),
+                "username", user.username(),
+                "firstName", user.firstName(),
+                "lastName", user.lastName(),
                 "x", x != null ? x.doubleValue() : 0,
                 "y", y != null ? y.doubleValue() : 0
         );
@@ -102,7 +99,7 @@ public class WebSocketController {
             messagingTemplate.convertAndSend("/topic/task/" + taskId + "/cursors", cursorData);
         } else {
             // Get user's current workspaces and broadcast to all
-            sessionManager.getUserWorkspaces(user.getId()).forEach(workspaceId ->
+            sessionManager.getUserWorkspaces(user.id()).forEach(workspaceId ->
                     messagingTemplate.convertAndSend("/topic/workspace/" + workspaceId + "/cursors", cursorData)
             );
         }
@@ -113,17 +110,17 @@ public class WebSocketController {
      */
     @MessageMapping("/typing.start")
     public void startTyping(@Payload Map<String, Object> payload, Principal principal) {
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
         if (user == null) return;
 
         String taskId = (String) payload.get("taskId");
 
         Map<String, Object> typingData = Map.of(
                 "type", "START",
-                "userId", user.getId(),
-                "username", user.getUsername(),
-                "firstName", user.getFirstName(),
-                "lastName", user.getLastName()
+                "userId", user.id(),
+                "username", user.username(),
+                "firstName", user.firstName(),
+                "lastName", user.lastName()
         );
 
         if (taskId != null) {
@@ -133,14 +130,14 @@ public class WebSocketController {
 
     @MessageMapping("/typing.stop")
     public void stopTyping(@Payload Map<String, Object> payload, Principal principal) {
-        User user = getCurrentUser(principal);
+        StompPrincipal user = getCurrentUser(principal);
         if (user == null) return;
 
         String taskId = (String) payload.get("taskId");
 
         Map<String, Object> typingData = Map.of(
                 "type", "STOP",
-                "userId", user.getId()
+                "userId", user.id()
         );
 
         if (taskId != null) {
@@ -180,16 +177,9 @@ public class WebSocketController {
         // Implementation handled by client subscription
     }
 
-    private User getCurrentUser(Principal principal) {
-        if (principal == null) return null;
-
-        try {
-            // Extract user from JWT token
-            String username = principal.getName();
-            return userService.findByUsername(username).orElse(null);
-        } catch (Exception e) {
-            return null;
-        }
+    private StompPrincipal getCurrentUser(Principal principal) {
+        // Resolved once on CONNECT by WebSocketAuthInterceptor, no lookup needed per message
+        return principal instanceof StompPrincipal stompPrincipal ? stompPrincipal : null;
     }
 
 
@@ -2,6 +2,7 @@ package com.taskifyApplication.controller;
 
 
 import com.taskifyApplication.dto.TaskDto.TaskHistoryDTO;
+import com.taskifyApplication.dto.common.PurgeResultDTO;
 import com.taskifyApplication.service.TaskHistoryService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
@@ -10,9 +11,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.OffsetDateTime;
+
 @RestController
 @RequestMapping("/api/workspace/{workspaceId}/history")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -29,12 +33,19 @@ class WorkspaceHistoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "changedAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortDir) {
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since) {
         Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ?
                 Sort.Direction.ASC : Sort.Direction.DESC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
 
-        Page<TaskHistoryDTO> history = taskHistoryService.getWorkspaceHistory(workspaceId, pageable);
+        Page<TaskHistoryDTO> history = taskHistoryService.getWorkspaceHistory(workspaceId, since, pageable);
         return ResponseEntity.ok(history);
     }
+
+    @DeleteMapping
+    public ResponseEntity<PurgeResultDTO> clearWorkspaceHistory(@PathVariable Long workspaceId) {
+        PurgeResultDTO result = taskHistoryService.clearWorkspaceHistory(workspaceId);
+        return ResponseEntity.ok(result);
+    }
 }
\ No newline at end of file
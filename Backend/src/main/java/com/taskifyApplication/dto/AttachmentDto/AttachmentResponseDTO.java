@@ -21,4 +21,5 @@ public class AttachmentResponseDTO {
     private Long size;
     private OffsetDateTime uploadedAt;
     private UserSummaryDTO uploadedBy;
+    private String thumbnailUrl;
 }
\ No newline at end of file
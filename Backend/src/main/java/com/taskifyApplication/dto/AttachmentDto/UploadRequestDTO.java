@@ -0,0 +1,24 @@
+package com.taskifyApplication.dto.AttachmentDto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UploadRequestDTO {
+
+    @NotBlank
+    private String filename;
+
+    @NotBlank
+    private String contentType;
+
+    @NotNull
+    @Positive
+    private Long size;
+}
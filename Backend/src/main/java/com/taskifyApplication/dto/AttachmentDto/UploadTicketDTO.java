@@ -0,0 +1,26 @@
+package com.taskifyApplication.dto.AttachmentDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Where and how to send the file: the client issues {@code method} against {@code uploadUrl}
+ * with exactly {@code headers}, then finalizes with {@code uploadId}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadTicketDTO {
+
+    private String uploadId;
+    private String uploadUrl;
+    private String method;
+    private Map<String, String> headers;
+    private Instant expiresAt;
+}
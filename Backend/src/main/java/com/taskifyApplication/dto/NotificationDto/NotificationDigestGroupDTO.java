@@ -0,0 +1,16 @@
+package com.taskifyApplication.dto.NotificationDto;
+
+import com.taskifyApplication.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationDigestGroupDTO {
+    private Notification.NotificationType type;
+    private Long workspaceId;
+    private String workspaceName;
+    private Long count;
+}
@@ -0,0 +1,25 @@
+package com.taskifyApplication.dto.NotificationDto;
+
+import com.taskifyApplication.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationDraftDTO {
+    private Notification.NotificationType type;
+    private String title;
+    private String message;
+    private Long userId;
+    private String email;
+    private Long workspaceId;
+    private Long taskId;
+    private String actionUrl;
+    private Instant createdAt;
+}
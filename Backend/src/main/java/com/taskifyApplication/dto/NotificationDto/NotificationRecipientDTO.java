@@ -0,0 +1,13 @@
+package com.taskifyApplication.dto.NotificationDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NotificationRecipientDTO {
+    private Long id;
+    private String email;
+}
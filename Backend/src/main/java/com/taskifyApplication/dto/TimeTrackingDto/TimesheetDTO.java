@@ -0,0 +1,20 @@
+package com.taskifyApplication.dto.TimeTrackingDto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A week or month of tracked time: one row per workspace, one column per day.
+ */
+@Data
+public class TimesheetDTO {
+    private String period;
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> days;
+    private List<TimesheetRowDTO> rows;
+    private List<Long> dailyTotals;
+    private Long totalMinutes;
+}
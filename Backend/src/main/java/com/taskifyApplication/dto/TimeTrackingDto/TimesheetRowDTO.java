@@ -0,0 +1,13 @@
+package com.taskifyApplication.dto.TimeTrackingDto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TimesheetRowDTO {
+    private Long workspaceId;
+    private String workspaceName;
+    private List<Long> minutesPerDay;
+    private Long totalMinutes;
+}
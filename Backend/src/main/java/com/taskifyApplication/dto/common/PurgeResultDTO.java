@@ -0,0 +1,16 @@
+package com.taskifyApplication.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk purge: rows removed and how many DELETE statements it took.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeResultDTO {
+    private long deleted;
+    private int batches;
+}
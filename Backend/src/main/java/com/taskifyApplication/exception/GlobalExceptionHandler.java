@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -31,6 +32,13 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    // A saturated executor shed the work (see InstrumentedExecutor)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleRejectedExecutionException(WebRequest request) {
+        ErrorResponseDTO errorResponse = createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Server is busy, please try again later.", request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
         ErrorResponseDTO errorResponse = createErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
@@ -61,6 +69,12 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConflictException(ConflictException ex, WebRequest request) {
+        ErrorResponseDTO errorResponse = createErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(InvalidFormatException.class)
     public ResponseEntity<ErrorResponseDTO> handleInvalidResourceException(InvalidFormatException ex, WebRequest request) {
         ErrorResponseDTO errorResponse = createErrorResponse(HttpStatus.NOT_ACCEPTABLE, ex.getMessage(), request);
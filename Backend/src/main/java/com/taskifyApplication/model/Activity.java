@@ -8,7 +8,10 @@ import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "activities")
+@Table(name = "activities", indexes = {
+        @Index(name = "idx_activities_created_at", columnList = "created_at"),
+        @Index(name = "idx_activities_workspace_created_at", columnList = "workspace_id, created_at")
+})
 @Getter
 @Setter
 public class Activity {
@@ -31,6 +31,18 @@ public class Attachment {
     @Column(nullable = false)
     private Long size;
 
+    // SHA-256 of the content; links the attachment to its shared AttachmentBlob
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "thumbnail_path")
+    private String thumbnailPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status")
+    @Builder.Default
+    private ThumbnailStatus thumbnailStatus = ThumbnailStatus.NONE;
+
     @Column(name = "uploaded_at", nullable = false, updatable = false)
     private OffsetDateTime uploadedAt;
 
@@ -50,4 +62,11 @@ public class Attachment {
     protected void onCreate() {
         this.uploadedAt = OffsetDateTime.now();
     }
+
+    public enum ThumbnailStatus {
+        NONE,
+        PENDING,
+        READY,
+        FAILED
+    }
 }
\ No newline at end of file
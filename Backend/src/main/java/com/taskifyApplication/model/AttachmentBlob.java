@@ -0,0 +1,43 @@
+package com.taskifyApplication.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One stored copy of attachment content, shared by every {@link Attachment} with the same
+ * SHA-256. {@code refCount} is the number of attachments pointing at it; the content is removed
+ * from storage when it drops to zero.
+ */
+@Entity
+@Table(name = "attachment_blobs")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter @Setter
+public class AttachmentBlob {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String sha256;
+
+    @Column(name = "storage_key", nullable = false)
+    private String storageKey;
+
+    @Column(nullable = false)
+    private Long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private Long refCount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = OffsetDateTime.now();
+    }
+}
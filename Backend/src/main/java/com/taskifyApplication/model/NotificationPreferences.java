@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
+import java.time.OffsetDateTime;
+
 @Entity
 @Table(name = "notification_preferences")
 @NoArgsConstructor
@@ -45,6 +47,8 @@ public class NotificationPreferences {
     @Builder.Default
     private DigestFrequency digestEmail = DigestFrequency.DAILY;
 
+    private OffsetDateTime lastDigestSentAt;
+
     public enum DigestFrequency {
         NONE,
         DAILY,
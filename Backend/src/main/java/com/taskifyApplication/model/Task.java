@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.*;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "tasks")
@@ -59,6 +60,8 @@ public class Task {
             joinColumns = @JoinColumn(name = "task_id"),
             inverseJoinColumns = @JoinColumn(name = "category_id")
     )
+    // Task pages initialize these for every row; load them for up to a page of tasks per query
+    @BatchSize(size = 50)
     @Builder.Default
     private List<Category> categories = new ArrayList<>();
 
@@ -66,6 +69,7 @@ public class Task {
     private Integer progress = 0;
 
     @OneToMany(mappedBy = "task", cascade = {CascadeType.REMOVE}, fetch = FetchType.LAZY, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<Attachment> attachments = new ArrayList<>();
 
@@ -5,7 +5,9 @@ import lombok.*;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "task_history")
+@Table(name = "task_history", indexes = {
+        @Index(name = "idx_task_history_task_changed_at", columnList = "task_id, changed_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
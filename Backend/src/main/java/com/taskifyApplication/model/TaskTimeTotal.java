@@ -0,0 +1,32 @@
+package com.taskifyApplication.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Running total of closed time tracking sessions on a task, kept up to date as sessions are
+ * stopped, edited or deleted so the total never has to be summed from {@code time_tracking}.
+ */
+@Entity
+@Table(name = "task_time_totals")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter @Setter
+public class TaskTimeTotal {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "total_minutes", nullable = false)
+    private Long totalMinutes;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.taskifyApplication.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Minutes a user tracked in a workspace on one day. Sessions count towards the day they started
+ * on, in the zone configured by {@code app.timesheet.zone}.
+ */
+@Entity
+@Table(name = "timesheet_buckets", uniqueConstraints = {
+        @UniqueConstraint(name = "ux_timesheet_bucket", columnNames = {"user_id", "workspace_id", "bucket_date"})
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter @Setter
+public class TimesheetBucket {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "workspace_id", nullable = false)
+    private Long workspaceId;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private Long minutes;
+
+    @Column(name = "session_count", nullable = false)
+    private Long sessionCount;
+}
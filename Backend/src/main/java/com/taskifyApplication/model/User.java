@@ -2,12 +2,15 @@ package com.taskifyApplication.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.*;
 import java.time.ZonedDateTime;
 
 @Entity
 @Table(name = "users")
+// Assignees of a task page are initialized together rather than one proxy at a time
+@BatchSize(size = 50)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
@@ -4,6 +4,7 @@ import com.taskifyApplication.model.Activity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,16 +15,9 @@ import java.util.List;
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
-    Page<Activity> findAllByOrderByCreatedAtDesc(Pageable pageable);
-
-    Page<Activity> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
-
-    Page<Activity> findByWorkspaceIdOrderByCreatedAtDesc(Long workspaceId, Pageable pageable);
-
-
-    Page<Activity> findByUserIdAndWorkspaceIdOrderByCreatedAtDesc(Long userId, Long workspaceId, Pageable pageable);
-
-    void deleteByWorkspaceId(Long workspaceId);
+    @Modifying
+    @Query("DELETE FROM Activity a WHERE a.workspace.id = :workspaceId")
+    void deleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
 
     @Query("SELECT a FROM Activity a WHERE a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
     Page<Activity> findByCreatedAtBetween(@Param("startDate") LocalDateTime startDate, 
@@ -42,7 +36,19 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
                                                   @Param("endDate") LocalDateTime endDate, 
                                                   Pageable pageable);
 
-    Page<Activity> findByTypeOrderByCreatedAtDesc(String type, Pageable pageable);
+    @Query("SELECT a FROM Activity a WHERE a.user.id = :userId AND a.workspace.id = :workspaceId " +
+           "AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
+    Page<Activity> findByUserIdAndWorkspaceIdAndCreatedAtBetween(@Param("userId") Long userId,
+                                                                @Param("workspaceId") Long workspaceId,
+                                                                @Param("startDate") LocalDateTime startDate,
+                                                                @Param("endDate") LocalDateTime endDate,
+                                                                Pageable pageable);
+
+    @Query("SELECT a FROM Activity a WHERE a.type = :type AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
+    Page<Activity> findByTypeAndCreatedAtBetween(@Param("type") String type,
+                                                @Param("startDate") LocalDateTime startDate,
+                                                @Param("endDate") LocalDateTime endDate,
+                                                Pageable pageable);
 
     List<Activity> findByTaskIdOrderByCreatedAtDesc(Long taskId);
 
@@ -51,8 +57,11 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
                                        @Param("startDate") LocalDateTime startDate, 
                                        @Param("endDate") LocalDateTime endDate);
 
-    @Query(value = "SELECT * FROM activities ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
-    List<Activity> findRecentActivities(@Param("limit") int limit);
+    @Query(value = "SELECT * FROM activities WHERE created_at >= :since ORDER BY created_at DESC LIMIT :limit", nativeQuery = true)
+    List<Activity> findRecentActivities(@Param("since") LocalDateTime since, @Param("limit") int limit);
 
-    void deleteByUserId(Long userId);
+    @Modifying
+    @Query(value = "DELETE FROM activities WHERE id IN (" +
+                   "SELECT id FROM activities WHERE user_id = :userId LIMIT :limit)", nativeQuery = true)
+    int deleteUserActivitiesBatch(@Param("userId") Long userId, @Param("limit") int limit);
 }
\ No newline at end of file
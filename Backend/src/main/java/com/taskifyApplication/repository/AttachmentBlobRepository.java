@@ -0,0 +1,44 @@
+package com.taskifyApplication.repository;
+
+import com.taskifyApplication.model.AttachmentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AttachmentBlobRepository extends JpaRepository<AttachmentBlob, Long> {
+
+    /**
+     * Takes a reference on the blob with this hash, registering it first if it is new.
+     * Concurrent uploads of the same content serialize on the unique hash instead of failing.
+     *
+     * @return the storage key of the blob that now holds the content
+     */
+    @Query(value = "INSERT INTO attachment_blobs (sha256, storage_key, size, ref_count, created_at) " +
+                   "VALUES (:sha256, :storageKey, :size, 1, now()) " +
+                   "ON CONFLICT (sha256) DO UPDATE SET ref_count = attachment_blobs.ref_count + 1 " +
+                   "RETURNING storage_key", nativeQuery = true)
+    String acquire(@Param("sha256") String sha256,
+                   @Param("storageKey") String storageKey,
+                   @Param("size") long size);
+
+    @Modifying
+    @Query("UPDATE AttachmentBlob b SET b.refCount = b.refCount - :count WHERE b.sha256 = :sha256")
+    int release(@Param("sha256") String sha256, @Param("count") long count);
+
+    /**
+     * Deletes the blob with this hash if it has no references left. The row stays locked until
+     * the calling transaction ends, so a concurrent {@link #acquire} of the same hash waits for it.
+     *
+     * @return the storage key of the deleted blob, empty if it is still referenced or already gone
+     */
+    @Query(value = "DELETE FROM attachment_blobs WHERE sha256 = :sha256 AND ref_count <= 0 " +
+                   "RETURNING storage_key", nativeQuery = true)
+    Optional<String> deleteIfUnreferenced(@Param("sha256") String sha256);
+
+    boolean existsByStorageKey(String storageKey);
+}
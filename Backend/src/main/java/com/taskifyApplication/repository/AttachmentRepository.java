@@ -4,6 +4,7 @@ import com.taskifyApplication.model.Attachment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +17,31 @@ public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
 
     List<Attachment> findByTaskId(Long taskId);
 
+    boolean existsByFilename(String filename);
+
+    @Query("SELECT a FROM Attachment a WHERE a.thumbnailStatus = :status AND a.uploadedAt < :uploadedBefore ORDER BY a.uploadedAt")
+    List<Attachment> findByThumbnailStatus(@Param("status") Attachment.ThumbnailStatus status,
+                                           @Param("uploadedBefore") OffsetDateTime uploadedBefore,
+                                           Pageable pageable);
+
+    @Query("SELECT a.thumbnailPath FROM Attachment a WHERE a.filename = :filename AND a.thumbnailStatus = com.taskifyApplication.model.Attachment$ThumbnailStatus.READY")
+    List<String> findReadyThumbnailPaths(@Param("filename") String filename, Pageable pageable);
+
+    // Attachments sharing deduplicated content share the thumbnail too
+    @Modifying
+    @Query("UPDATE Attachment a SET a.thumbnailStatus = :status, a.thumbnailPath = :thumbnailPath WHERE a.filename = :filename")
+    int updateThumbnail(@Param("filename") String filename,
+                        @Param("status") Attachment.ThumbnailStatus status,
+                        @Param("thumbnailPath") String thumbnailPath);
+
+    @Query("SELECT a FROM Attachment a LEFT JOIN a.task t " +
+           "WHERE a.workspace.id = :workspaceId OR t.workspace.id = :workspaceId")
+    List<Attachment> findAllInWorkspace(@Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.workspace.id = :workspaceId AND a.task IS NULL")
+    void deleteWorkspaceLevelAttachments(@Param("workspaceId") Long workspaceId);
+
     @Query("SELECT a FROM Attachment a WHERE a.task.id = :taskId AND " +
            "(:mimeType IS NULL OR a.mimeType LIKE %:mimeType%) AND " +
            "(:fromDate IS NULL OR a.uploadedAt >= :fromDate) AND " +
@@ -2,11 +2,18 @@ package com.taskifyApplication.repository;
 
 import com.taskifyApplication.model.NotificationPreferences;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NotificationPreferencesRepository extends JpaRepository<NotificationPreferences, Long> {
     Optional<NotificationPreferences> findByUserId(Long userId);
+
+    @Query("SELECT p FROM NotificationPreferences p JOIN FETCH p.user WHERE p.user.id IN :userIds")
+    List<NotificationPreferences> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
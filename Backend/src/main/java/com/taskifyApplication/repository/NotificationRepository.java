@@ -1,5 +1,6 @@
 package com.taskifyApplication.repository;
 
+import com.taskifyApplication.dto.NotificationDto.NotificationDigestGroupDTO;
 import com.taskifyApplication.model.Notification;
 import com.taskifyApplication.model.User;
 import org.springframework.data.domain.Page;
@@ -10,16 +11,48 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.List;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user = :user AND n.read = false")
     Long countUnreadByUser(@Param("user") User user);
 
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.email = :email AND n.read = false")
+    Long countUnreadByUserEmail(@Param("email") String email);
+
+    @Query("SELECT DISTINCT n.user.email FROM Notification n WHERE n.workspace.id = :workspaceId")
+    List<String> findRecipientEmailsByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
     @Modifying
     @Query("UPDATE Notification n SET n.read = true WHERE n.user = :user")
     void markAllAsReadForUser(@Param("user") User user);
 
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.id = :id AND n.read = false")
+    int markAsReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.read = false")
+    int deleteIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id")
+    void removeById(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT n.user.id FROM Notification n WHERE n.read = false AND n.createdAt > :since")
+    List<Long> findUserIdsWithUnreadSince(@Param("since") OffsetDateTime since);
+
+    @Query("SELECT new com.taskifyApplication.dto.NotificationDto.NotificationDigestGroupDTO(n.type, w.id, w.name, COUNT(n)) " +
+           "FROM Notification n LEFT JOIN n.workspace w " +
+           "WHERE n.user.id = :userId AND n.read = false AND n.createdAt > :since " +
+           "GROUP BY n.type, w.id, w.name " +
+           "ORDER BY COUNT(n) DESC")
+    List<NotificationDigestGroupDTO> summarizeUnreadSince(@Param("userId") Long userId,
+                                                          @Param("since") OffsetDateTime since);
+
     @Query("SELECT n FROM Notification n WHERE n.user = :user AND " +
            "(:read IS NULL OR n.read = :read) AND " +
            "(:type IS NULL OR n.type = :type) AND " +
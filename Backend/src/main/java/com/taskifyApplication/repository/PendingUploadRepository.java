@@ -0,0 +1,21 @@
+package com.taskifyApplication.repository;
+
+import com.taskifyApplication.model.PendingUpload;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingUploadRepository extends JpaRepository<PendingUpload, Long> {
+
+    Optional<PendingUpload> findByToken(String token);
+
+    @Query("SELECT p FROM PendingUpload p WHERE p.expiresAt < :now ORDER BY p.expiresAt")
+    List<PendingUpload> findExpired(@Param("now") OffsetDateTime now, Pageable pageable);
+}
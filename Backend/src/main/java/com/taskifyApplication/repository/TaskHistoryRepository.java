@@ -4,10 +4,12 @@ import com.taskifyApplication.model.TaskHistory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
@@ -17,9 +19,24 @@ public interface TaskHistoryRepository extends JpaRepository<TaskHistory, Long>
     
     Page<TaskHistory> findByTaskIdOrderByChangedAtDesc(Long taskId, Pageable pageable);
 
-    void deleteByTaskIdIn(List<Long> taskIds);
+    @Modifying
+    @Query("DELETE FROM TaskHistory th WHERE th.task.id IN :taskIds")
+    void deleteByTaskIdIn(@Param("taskIds") List<Long> taskIds);
 
-    @Query("SELECT th FROM TaskHistory th WHERE th.task.workspace.id = :workspaceId " +
+    @Modifying
+    @Query("DELETE FROM TaskHistory th WHERE th.task.id = :taskId")
+    int deleteAllByTaskId(@Param("taskId") Long taskId);
+
+    // Bounded so a large workspace is purged in short transactions
+    @Modifying
+    @Query(value = "DELETE FROM task_history WHERE id IN (" +
+                   "SELECT th.id FROM task_history th JOIN tasks t ON t.id = th.task_id " +
+                   "WHERE t.workspace_id = :workspaceId LIMIT :limit)", nativeQuery = true)
+    int deleteWorkspaceHistoryBatch(@Param("workspaceId") Long workspaceId, @Param("limit") int limit);
+
+    @Query("SELECT th FROM TaskHistory th WHERE th.task.workspace.id = :workspaceId AND th.changedAt >= :since " +
            "ORDER BY th.changedAt DESC")
-    Page<TaskHistory> findByWorkspaceIdOrderByChangedAtDesc(@Param("workspaceId") Long workspaceId, Pageable pageable);
+    Page<TaskHistory> findByWorkspaceIdSince(@Param("workspaceId") Long workspaceId,
+                                             @Param("since") OffsetDateTime since,
+                                             Pageable pageable);
 }
\ No newline at end of file
@@ -53,6 +53,10 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     @Query("SELECT COUNT(t) FROM Task t JOIN t.categories c WHERE c.id = :categoryId")
     Integer countByCategoryId(@Param("categoryId") Long categoryId);
 
+    // Category id and task count for every category of the workspace that has tasks
+    @Query("SELECT c.id, COUNT(t) FROM Task t JOIN t.categories c WHERE c.workspace.id = :workspaceId GROUP BY c.id")
+    List<Object[]> countByCategoryForWorkspace(@Param("workspaceId") Long workspaceId);
+
     long countByStatus(TaskStatus status);
 
     @Query("SELECT DISTINCT t FROM Task t " +
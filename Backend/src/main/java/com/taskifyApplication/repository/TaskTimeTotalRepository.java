@@ -0,0 +1,43 @@
+package com.taskifyApplication.repository;
+
+import com.taskifyApplication.model.TaskTimeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskTimeTotalRepository extends JpaRepository<TaskTimeTotal, Long> {
+
+    // Atomic increment; concurrent stops on the same task never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO task_time_totals (task_id, total_minutes, session_count, updated_at) " +
+                   "VALUES (:taskId, :minutes, :sessions, now()) " +
+                   "ON CONFLICT (task_id) DO UPDATE SET " +
+                   "total_minutes = task_time_totals.total_minutes + EXCLUDED.total_minutes, " +
+                   "session_count = task_time_totals.session_count + EXCLUDED.session_count, " +
+                   "updated_at = now()", nativeQuery = true)
+    int add(@Param("taskId") Long taskId, @Param("minutes") long minutes, @Param("sessions") long sessions);
+
+    @Modifying
+    @Query("DELETE FROM TaskTimeTotal t WHERE t.taskId IN :taskIds")
+    void deleteByTaskIdIn(@Param("taskIds") List<Long> taskIds);
+
+    // Blocks the upserts above (and another backfill) until the transaction ends; reads still go through
+    @Modifying
+    @Query(value = "LOCK TABLE task_time_totals, timesheet_buckets IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForBackfill();
+
+    // Overwrites rather than adds: the sum over time_tracking already includes any session counted incrementally
+    @Modifying
+    @Query(value = "INSERT INTO task_time_totals (task_id, total_minutes, session_count, updated_at) " +
+                   "SELECT task_id, SUM(duration), COUNT(*), now() FROM time_tracking " +
+                   "WHERE is_active = false AND duration IS NOT NULL GROUP BY task_id " +
+                   "ON CONFLICT (task_id) DO UPDATE SET " +
+                   "total_minutes = EXCLUDED.total_minutes, session_count = EXCLUDED.session_count, updated_at = now()",
+           nativeQuery = true)
+    int rebuild();
+}
@@ -2,6 +2,7 @@ package com.taskifyApplication.repository;
 
 import com.taskifyApplication.model.TimeTracking;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,11 +15,16 @@ public interface TimeTrackingRepository extends JpaRepository<TimeTracking, Long
 
     List<TimeTracking> findByTaskIdOrderByCreatedAtDesc(Long taskId);
 
-    @Query("SELECT tt FROM TimeTracking tt WHERE tt.user.id = :userId AND tt.isActive = true")
-    List<TimeTracking> findActiveSessionsByUser(@Param("userId") Long userId);
+    // id, user id, task id, workspace id, start time of every running session, oldest first
+    @Query("SELECT tt.id, tt.user.id, tt.task.id, tt.task.workspace.id, tt.startTime FROM TimeTracking tt " +
+           "WHERE tt.isActive = true ORDER BY tt.startTime")
+    List<Object[]> findActiveTimerRows();
 
-    @Query("SELECT COALESCE(SUM(tt.duration), 0) FROM TimeTracking tt WHERE tt.task.id = :taskId AND tt.duration IS NOT NULL")
-    Integer getTotalDurationByTask(@Param("taskId") Long taskId);
+    // Only the call that actually flips is_active gets 1 back, so a session is never closed twice
+    @Modifying
+    @Query("UPDATE TimeTracking tt SET tt.endTime = :endTime, tt.duration = :duration, tt.isActive = false, tt.updatedAt = :endTime " +
+           "WHERE tt.id = :id AND tt.isActive = true")
+    int closeActiveSession(@Param("id") Long id, @Param("endTime") OffsetDateTime endTime, @Param("duration") Integer duration);
 
     @Query("SELECT tt FROM TimeTracking tt WHERE tt.user.id = :userId AND tt.createdAt BETWEEN :startDate AND :endDate ORDER BY tt.createdAt DESC")
     List<TimeTracking> findByUserAndDateRange(@Param("userId") Long userId, @Param("startDate") OffsetDateTime startDate, @Param("endDate") OffsetDateTime endDate);
@@ -0,0 +1,63 @@
+package com.taskifyApplication.repository;
+
+import com.taskifyApplication.model.TimesheetBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TimesheetBucketRepository extends JpaRepository<TimesheetBucket, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO timesheet_buckets (user_id, workspace_id, bucket_date, minutes, session_count) " +
+                   "VALUES (:userId, :workspaceId, :day, :minutes, :sessions) " +
+                   "ON CONFLICT (user_id, workspace_id, bucket_date) DO UPDATE SET " +
+                   "minutes = timesheet_buckets.minutes + EXCLUDED.minutes, " +
+                   "session_count = timesheet_buckets.session_count + EXCLUDED.session_count", nativeQuery = true)
+    int add(@Param("userId") Long userId,
+            @Param("workspaceId") Long workspaceId,
+            @Param("day") LocalDate day,
+            @Param("minutes") long minutes,
+            @Param("sessions") long sessions);
+
+    @Query("SELECT b FROM TimesheetBucket b WHERE b.userId = :userId AND b.bucketDate BETWEEN :from AND :to " +
+           "AND (:workspaceId IS NULL OR b.workspaceId = :workspaceId) ORDER BY b.bucketDate")
+    List<TimesheetBucket> findForUser(@Param("userId") Long userId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to,
+                                      @Param("workspaceId") Long workspaceId);
+
+    /**
+     * Takes the closed sessions of tasks about to be deleted out of their buckets. Must run while
+     * the sessions still exist.
+     */
+    @Modifying
+    @Query(value = "UPDATE timesheet_buckets b SET minutes = b.minutes - s.minutes, session_count = b.session_count - s.sessions " +
+                   "FROM (SELECT tt.user_id, t.workspace_id, CAST(tt.start_time AT TIME ZONE :zone AS date) AS bucket_date, " +
+                   "             SUM(tt.duration) AS minutes, COUNT(*) AS sessions " +
+                   "      FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id " +
+                   "      WHERE tt.task_id IN (:taskIds) AND tt.is_active = false AND tt.duration IS NOT NULL " +
+                   "      GROUP BY 1, 2, 3) s " +
+                   "WHERE b.user_id = s.user_id AND b.workspace_id = s.workspace_id AND b.bucket_date = s.bucket_date",
+           nativeQuery = true)
+    int subtractTasks(@Param("taskIds") List<Long> taskIds, @Param("zone") String zone);
+
+    @Modifying
+    @Query("DELETE FROM TimesheetBucket b WHERE b.workspaceId = :workspaceId")
+    void deleteByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    @Modifying
+    @Query(value = "INSERT INTO timesheet_buckets (user_id, workspace_id, bucket_date, minutes, session_count) " +
+                   "SELECT tt.user_id, t.workspace_id, CAST(tt.start_time AT TIME ZONE :zone AS date), SUM(tt.duration), COUNT(*) " +
+                   "FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id " +
+                   "WHERE tt.is_active = false AND tt.duration IS NOT NULL " +
+                   "GROUP BY 1, 2, 3 " +
+                   "ON CONFLICT (user_id, workspace_id, bucket_date) DO UPDATE SET " +
+                   "minutes = EXCLUDED.minutes, session_count = EXCLUDED.session_count", nativeQuery = true)
+    int rebuild(@Param("zone") String zone);
+}
@@ -1,5 +1,6 @@
 package com.taskifyApplication.repository;
 
+import com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO;
 
 import com.taskifyApplication.model.RoleEnum;
 import com.taskifyApplication.model.WorkspaceMember;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -23,4 +25,15 @@ public interface WorkspaceMemberRepository extends JpaRepository<WorkspaceMember
     @Query("UPDATE WorkspaceMember wm SET wm.role = :newRole WHERE wm.workspace = :workspace AND wm.user = :user")
     int updateMemberRole(@Param("workspace") Workspace workspace, @Param("user") User user, @Param("newRole") RoleEnum newRole);
 
+    @Query("SELECT new com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO(u.id, u.email) " +
+           "FROM WorkspaceMember wm JOIN wm.user u WHERE wm.workspace.id = :workspaceId")
+    List<NotificationRecipientDTO> findRecipientsByWorkspaceId(@Param("workspaceId") Long workspaceId);
+
+    long countByUser(User user);
+
+    // Members of every workspace the user belongs to, counted once per workspace they are in
+    @Query("SELECT COUNT(wm) FROM WorkspaceMember wm WHERE wm.workspace.id IN " +
+           "(SELECT own.workspace.id FROM WorkspaceMember own WHERE own.user = :user)")
+    long countMembersOfUserWorkspaces(@Param("user") User user);
+
 }
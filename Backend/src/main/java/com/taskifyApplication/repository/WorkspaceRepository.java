@@ -1,5 +1,6 @@
 package com.taskifyApplication.repository;
 
+import com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO;
 import com.taskifyApplication.dto.WorkspaceDto.WorkspaceNameDTO;
 import com.taskifyApplication.model.Workspace;
 import com.taskifyApplication.model.User;
@@ -43,4 +44,8 @@ public interface WorkspaceRepository extends JpaRepository<Workspace, Long> {
             "WHERE wm.workspace.id = :workspaceId AND wm.user.email = :email")
     boolean isUserMemberOfWorkspace(@Param("workspaceId") Long workspaceId, @Param("email") String email);
 
+    @Query("SELECT new com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO(o.id, o.email) " +
+           "FROM Workspace w JOIN w.owner o WHERE w.id = :workspaceId")
+    Optional<NotificationRecipientDTO> findOwnerRecipient(@Param("workspaceId") Long workspaceId);
+
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.repository.TimeTrackingRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The running timer of every user, held in memory so starting, stopping and asking "is anything
+ * running" never has to search {@code time_tracking}.
+ * <p>
+ * The table stays the source of truth: a session is active there until a conditional UPDATE
+ * ({@code ... WHERE is_active = true}) closes it, and the registry is rebuilt from it on startup.
+ * Changes made inside a transaction are applied after commit, like the unread notification
+ * counters, so a rollback cannot leave a phantom timer behind. One timer per user is kept; a
+ * session displaced by a concurrent start is closed when the newer one is registered.
+ */
+@Slf4j
+@Service
+public class ActiveTimerRegistry {
+
+    private final TimeTrackingRepository timeTrackingRepository;
+
+    private final TimeAggregateService timeAggregateService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, ActiveTimer> timersByUser = new ConcurrentHashMap<>();
+
+    private final Map<Long, Integer> activeCountByTask = new ConcurrentHashMap<>();
+
+    public ActiveTimerRegistry(TimeTrackingRepository timeTrackingRepository,
+                               TimeAggregateService timeAggregateService,
+                               PlatformTransactionManager transactionManager) {
+        this.timeTrackingRepository = timeTrackingRepository;
+        this.timeAggregateService = timeAggregateService;
+        // Also used from after-commit callbacks, where the finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public Optional<ActiveTimer> find(Long userId) {
+        return Optional.ofNullable(timersByUser.get(userId));
+    }
+
+    public int activeCountForTask(Long taskId) {
+        return activeCountByTask.getOrDefault(taskId, 0);
+    }
+
+    /**
+     * Closes the session in the table if it is still active, and counts it in the time aggregates.
+     *
+     * @return whether this call closed it
+     */
+    public boolean close(ActiveTimer timer, OffsetDateTime endTime) {
+        int minutes = (int) Duration.between(timer.startTime(), endTime).toMinutes();
+        if (timeTrackingRepository.closeActiveSession(timer.sessionId(), endTime, minutes) == 0) {
+            return false;
+        }
+        timeAggregateService.addSession(timer.userId(), timer.workspaceId(), timer.taskId(), timer.startTime(), minutes);
+        return true;
+    }
+
+    public void activate(ActiveTimer timer) {
+        afterCommit(() -> {
+            ActiveTimer displaced = put(timer);
+            if (displaced != null && !displaced.sessionId().equals(timer.sessionId())) {
+                transactionTemplate.executeWithoutResult(tx -> close(displaced, timer.startTime()));
+            }
+        });
+    }
+
+    public void deactivate(ActiveTimer timer) {
+        afterCommit(() -> remove(timer));
+    }
+
+    /**
+     * Forgets the timers of tasks that are being deleted along with their sessions.
+     */
+    public void removeTasks(Collection<Long> taskIds) {
+        Set<Long> deleted = new HashSet<>(taskIds);
+        afterCommit(() -> timersByUser.values().stream()
+                .filter(timer -> deleted.contains(timer.taskId()))
+                .toList()
+                .forEach(this::remove));
+    }
+
+    /**
+     * Rebuilds the registry from the table. Users left with several active sessions (from before
+     * the registry, or a crash mid-switch) keep the newest; the older ones are closed at the
+     * moment the next one started.
+     * <p>
+     * Runs while the context starts, after the time aggregates are backfilled and before the web
+     * server takes requests, so no start or stop can interleave with it. A failure aborts startup:
+     * an empty registry would hide every running timer from the fast paths.
+     */
+    @PostConstruct
+    public void reconcile() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            Map<Long, ActiveTimer> newest = new HashMap<>();
+            List<Object[]> rows = timeTrackingRepository.findActiveTimerRows();
+            for (Object[] row : rows) {
+                ActiveTimer timer = new ActiveTimer((Long) row[0], (Long) row[1], (Long) row[2], (Long) row[3], (OffsetDateTime) row[4]);
+                // Rows come oldest first
+                ActiveTimer older = newest.put(timer.userId(), timer);
+                if (older != null) {
+                    close(older, timer.startTime());
+                }
+            }
+            synchronized (this) {
+                timersByUser.clear();
+                activeCountByTask.clear();
+                newest.values().forEach(this::put);
+            }
+        });
+        log.info("Active timer registry reconciled: {} running timers", timersByUser.size());
+    }
+
+    private synchronized ActiveTimer put(ActiveTimer timer) {
+        ActiveTimer previous = timersByUser.put(timer.userId(), timer);
+        if (previous != null) {
+            activeCountByTask.computeIfPresent(previous.taskId(), (task, count) -> count > 1 ? count - 1 : null);
+        }
+        activeCountByTask.merge(timer.taskId(), 1, Integer::sum);
+        return previous;
+    }
+
+    private synchronized void remove(ActiveTimer timer) {
+        ActiveTimer current = timersByUser.get(timer.userId());
+        if (current != null && current.sessionId().equals(timer.sessionId())) {
+            timersByUser.remove(timer.userId());
+            activeCountByTask.computeIfPresent(current.taskId(), (task, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public record ActiveTimer(Long sessionId, Long userId, Long taskId, Long workspaceId, OffsetDateTime startTime) {}
+}
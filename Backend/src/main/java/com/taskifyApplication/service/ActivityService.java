@@ -1,25 +1,25 @@
 package com.taskifyApplication.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.taskifyApplication.dto.activity.ActivityDto;
-import com.taskifyApplication.exception.BadRequestException;
+import com.taskifyApplication.dto.common.PurgeResultDTO;
+import com.taskifyApplication.exception.ForbiddenException;
 import com.taskifyApplication.model.Activity;
 import com.taskifyApplication.model.Task;
 import com.taskifyApplication.model.User;
 import com.taskifyApplication.model.Workspace;
 import com.taskifyApplication.repository.ActivityRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.taskifyApplication.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.elasticsearch.ResourceNotFoundException;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -33,45 +33,45 @@ public class ActivityService {
 
     private final ActivityRepository activityRepository;
 
+    private final ActivityWriter activityWriter;
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final UserService userService;
 
+    private final TransactionTemplate transactionTemplate;
 
-    private final ObjectMapper objectMapper;
+    @Value("${app.activities.purge-batch-size:5000}")
+    private int purgeBatchSize;
 
+    // Default lower bound of a feed, so it only touches the most recent partitions
+    @Value("${app.activities.feed-window:P90D}")
+    private Duration feedWindow;
 
-    private final UserRepository userRepository;
-
+    /**
+     * Hands the activity to {@link ActivityWriter}, which persists and broadcasts it in batches.
+     * Inside a transaction it is only handed over once the transaction commits.
+     */
     public void createActivity(String type, String title, String description,
                                User user, Task task, Workspace workspace, Map<String, Object> metadata) {
-        Activity activity = new Activity(type, title, description, user);
-        activity.setTask(task);
-        activity.setWorkspace(workspace);
-
-        if (metadata != null && !metadata.isEmpty()) {
-            try {
-                activity.setMetadata(objectMapper.writeValueAsString(metadata));
-            } catch (JsonProcessingException e) {
-                log.error("Failed to serialize activity metadata for type '{}'", type, e);
-                throw new BadRequestException("Invalid metadata format provided for activity.");
-            }
-        }
-
-        Activity savedActivity = activityRepository.save(activity);
-
-        sendRealTimeUpdate(savedActivity);
-
-    }
-    private void sendRealTimeUpdate(Activity activity) {
-        try {
-            ActivityDto activityDto = convertToDto(activity);
-            messagingTemplate.convertAndSend("/topic/activities", activityDto);
-
-            if (activity.getWorkspace() != null) {
-                messagingTemplate.convertAndSend("/topic/workspace/" + activity.getWorkspace().getId() + "/activities", activityDto);
-            }
-        } catch (Exception e) {
-            log.error("Failed to send real-time activity update for activityId {}", activity.getId(), e);
+        ActivityWriter.PendingActivity activity = new ActivityWriter.PendingActivity(
+                type,
+                title,
+                description,
+                user.getId(),
+                user.getName(),
+                workspace != null ? workspace.getId() : null,
+                task != null ? task.getId() : null,
+                LocalDateTime.now(),
+                metadata);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activityWriter.enqueue(activity);
+                }
+            });
+        } else {
+            activityWriter.enqueue(activity);
         }
     }
 
@@ -81,34 +81,27 @@ public class ActivityService {
         Pageable pageable = PageRequest.of(page, size);
         Page<Activity> activities;
 
-        if (startDate != null && endDate != null) {
-            if (workspaceId != null) {
-                activities = activityRepository.findByWorkspaceIdAndCreatedAtBetween(
-                        workspaceId, startDate, endDate, pageable);
-            } else if (userId != null) {
-                activities = activityRepository.findByUserIdAndCreatedAtBetween(
-                        userId, startDate, endDate, pageable);
-            } else {
-                activities = activityRepository.findByCreatedAtBetween(startDate, endDate, pageable);
-            }
-        } else if (workspaceId != null && userId != null) {
-            activities = activityRepository.findByUserIdAndWorkspaceIdOrderByCreatedAtDesc(
-                    userId, workspaceId, pageable);
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        LocalDateTime start = startDate != null ? startDate : end.minus(feedWindow);
+
+        if (workspaceId != null && userId != null) {
+            activities = activityRepository.findByUserIdAndWorkspaceIdAndCreatedAtBetween(
+                    userId, workspaceId, start, end, pageable);
         } else if (workspaceId != null) {
-            activities = activityRepository.findByWorkspaceIdOrderByCreatedAtDesc(workspaceId, pageable);
+            activities = activityRepository.findByWorkspaceIdAndCreatedAtBetween(workspaceId, start, end, pageable);
         } else if (userId != null) {
-            activities = activityRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+            activities = activityRepository.findByUserIdAndCreatedAtBetween(userId, start, end, pageable);
         } else if (type != null) {
-            activities = activityRepository.findByTypeOrderByCreatedAtDesc(type, pageable);
+            activities = activityRepository.findByTypeAndCreatedAtBetween(type, start, end, pageable);
         } else {
-            activities = activityRepository.findAllByOrderByCreatedAtDesc(pageable);
+            activities = activityRepository.findByCreatedAtBetween(start, end, pageable);
         }
 
         return activities.map(this::convertToDto);
     }
 
     public List<ActivityDto> getRecentActivities(int limit) {
-        List<Activity> activities = activityRepository.findRecentActivities(limit);
+        List<Activity> activities = activityRepository.findRecentActivities(LocalDateTime.now().minus(feedWindow), limit);
         return activities.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
@@ -142,12 +135,28 @@ public class ActivityService {
         return stats;
     }
 
-    @Transactional
-    public void clearUserActivities(Long userId) {
-        if (!userRepository.existsById(userId)) {
-            throw new ResourceNotFoundException("User not found with id: " + userId);
+    /**
+     * Deletes the user's activities in bounded batches, each in its own transaction. Users can
+     * only clear their own activities.
+     */
+    public PurgeResultDTO clearUserActivities(Long userId) {
+        // No lookup of the id comes first, so other users' ids cannot be probed
+        if (!userService.getCurrentUser().getId().equals(userId)) {
+            throw new ForbiddenException("Users can only clear their own activities.");
         }
-        activityRepository.deleteByUserId(userId);
+
+        long deleted = 0;
+        int batches = 0;
+        int removed;
+        do {
+            Integer batch = transactionTemplate.execute(tx ->
+                    activityRepository.deleteUserActivitiesBatch(userId, purgeBatchSize));
+            removed = batch != null ? batch : 0;
+            deleted += removed;
+            batches++;
+        } while (removed == purgeBatchSize);
+
+        return new PurgeResultDTO(deleted, batches);
     }
 
     private ActivityDto convertToDto(Activity activity) {
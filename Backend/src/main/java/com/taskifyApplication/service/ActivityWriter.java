@@ -0,0 +1,290 @@
+package com.taskifyApplication.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskifyApplication.dto.activity.ActivityDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists and broadcasts activities off the request thread.
+ * <p>
+ * Callers hand over a {@link PendingActivity} that is placed in a bounded array-backed queue. A
+ * single writer thread drains it, and flushes a batch when {@code max-batch-size} events
+ * have been collected or {@code flush-interval} has passed since the first one, whichever comes
+ * first. A batch is one JDBC batch insert in one transaction (activities use IDENTITY keys, so
+ * Hibernate cannot batch them). Broadcasting keeps the per-activity contract: each activity is
+ * still sent on its own to {@code /topic/activities} and to its workspace's topic.
+ * <p>
+ * Overflow: when the queue is full, {@link #enqueue} waits up to {@code enqueue-timeout}
+ * (zero by default) and then drops the activity and counts it. Activities are an audit
+ * trail for display, so losing some under overload is preferred to slowing down the writes
+ * they describe. Whatever is still queued on shutdown is written before the thread exits.
+ * Queue and batch counters are exposed as {@code /actuator/activitywriter} on the management port.
+ */
+@Service
+@Slf4j
+public class ActivityWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activities (type, title, description, user_id, workspace_id, task_id, created_at, metadata) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, %s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<PendingActivity> queue;
+
+    private final int capacity;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastBatchMillis;
+
+    @Value("${app.activities.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${app.activities.flush-interval:PT0.25S}")
+    private Duration flushInterval;
+
+    @Value("${app.activities.enqueue-timeout:PT0S}")
+    private Duration enqueueTimeout;
+
+    private String insertSql;
+
+    private Thread writerThread;
+
+    private volatile boolean running;
+
+    public ActivityWriter(JdbcTemplate jdbcTemplate,
+                          TransactionTemplate transactionTemplate,
+                          SimpMessagingTemplate messagingTemplate,
+                          ObjectMapper objectMapper,
+                          @Value("${app.activities.queue-capacity:10000}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @PostConstruct
+    void start() {
+        // The metadata column is json on PostgreSQL, which does not accept a varchar parameter
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        insertSql = String.format(INSERT_SQL, "PostgreSQL".equalsIgnoreCase(product) ? "CAST(? AS json)" : "?");
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "activity-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // The writer notices within one flush interval, drains the queue and exits
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * @return false if the queue was full and the activity was dropped
+     */
+    public boolean enqueue(PendingActivity activity) {
+        boolean accepted;
+        try {
+            accepted = enqueueTimeout.isZero()
+                    ? queue.offer(activity)
+                    : queue.offer(activity, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (accepted) {
+            enqueued.incrementAndGet();
+        } else if (dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Activity queue full ({} entries); {} activities dropped so far", capacity, dropped.get());
+        }
+        return accepted;
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), capacity, enqueued.get(), dropped.get(), written.get(),
+                failed.get(), batches.get(), lastBatchMillis);
+    }
+
+    private void runWriter() {
+        List<PendingActivity> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Nothing interrupts this thread; whatever was collected is still written below
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Blocks for the first event, then keeps collecting until the batch is full or the flush
+     * interval since that first event has elapsed.
+     */
+    private void collect(List<PendingActivity> batch) throws InterruptedException {
+        PendingActivity first = running
+                ? queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS)
+                : queue.poll();
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingActivity next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingActivity> batch) {
+        long started = System.nanoTime();
+        List<String> metadata = batch.stream().map(this::serializeMetadata).toList();
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(tx -> insert(batch, metadata));
+        } catch (Exception e) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write a batch of {} activities", batch.size(), e);
+            return;
+        }
+        written.addAndGet(batch.size());
+        batches.incrementAndGet();
+        lastBatchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        broadcast(batch, metadata, ids);
+    }
+
+    private List<Long> insert(List<PendingActivity> batch, List<String> metadata) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(insertSql, new String[] {"id"})) {
+                for (int i = 0; i < batch.size(); i++) {
+                    PendingActivity activity = batch.get(i);
+                    ps.setString(1, activity.type());
+                    ps.setString(2, activity.title());
+                    ps.setString(3, activity.description());
+                    ps.setLong(4, activity.userId());
+                    setNullableLong(ps, 5, activity.workspaceId());
+                    setNullableLong(ps, 6, activity.taskId());
+                    ps.setTimestamp(7, Timestamp.valueOf(activity.createdAt()));
+                    ps.setString(8, metadata.get(i));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(batch.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private void broadcast(List<PendingActivity> batch, List<String> metadata, List<Long> ids) {
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                PendingActivity activity = batch.get(i);
+                ActivityDto dto = new ActivityDto(
+                        ids != null && i < ids.size() ? ids.get(i) : null,
+                        activity.type(),
+                        activity.title(),
+                        activity.description(),
+                        activity.createdAt(),
+                        new ActivityDto.UserDto(activity.userId(), activity.userName()),
+                        metadata.get(i));
+                messagingTemplate.convertAndSend("/topic/activities", dto);
+                if (activity.workspaceId() != null) {
+                    messagingTemplate.convertAndSend("/topic/workspace/" + activity.workspaceId() + "/activities", dto);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to broadcast a batch of {} activities", batch.size(), e);
+        }
+    }
+
+    private String serializeMetadata(PendingActivity activity) {
+        if (activity.metadata() == null || activity.metadata().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(activity.metadata());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize activity metadata for type '{}'", activity.type(), e);
+            return null;
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Everything needed to write and broadcast an activity, captured on the caller's thread so
+     * the writer never touches JPA entities.
+     */
+    public record PendingActivity(String type, String title, String description,
+                                  Long userId, String userName, Long workspaceId, Long taskId,
+                                  LocalDateTime createdAt, Map<String, Object> metadata) {}
+
+    public record Stats(int queueDepth, int capacity, long enqueued, long dropped, long written,
+                        long failed, long batches, long lastBatchMillis) {}
+}
@@ -0,0 +1,173 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.exception.ConflictException;
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.model.AttachmentBlob;
+import com.taskifyApplication.repository.AttachmentBlobRepository;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.StoredBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reference counting for deduplicated attachment content.
+ * <p>
+ * Every distinct content hash is stored once ({@link AttachmentBlob}); attachments take a
+ * reference on upload and give it back when they are deleted. Content leaves storage only after
+ * the transaction that dropped the last reference commits. Attachments created before content
+ * hashing have no hash and own their storage key outright.
+ * <p>
+ * Unreferenced blobs are removed by a conditional delete of their row, and the content only goes
+ * once that delete returned the row, while its transaction still holds the row. {@code acquire}
+ * upserts the same row, so a concurrent upload of the same content either keeps the blob alive
+ * or waits until it is completely gone and registers it again.
+ */
+@Slf4j
+@Service
+public class AttachmentBlobService {
+
+    private final AttachmentBlobRepository attachmentBlobRepository;
+
+    private final AttachmentRepository attachmentRepository;
+
+    private final BlobStorage blobStorage;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AttachmentBlobService(AttachmentBlobRepository attachmentBlobRepository,
+                                 AttachmentRepository attachmentRepository,
+                                 BlobStorage blobStorage,
+                                 PlatformTransactionManager transactionManager) {
+        this.attachmentBlobRepository = attachmentBlobRepository;
+        this.attachmentRepository = attachmentRepository;
+        this.blobStorage = blobStorage;
+        // Runs from after-commit callbacks, where the finished transaction is still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Takes a reference on freshly stored content.
+     *
+     * @return the storage key the attachment should use; differs from the stored key when
+     *         identical content already existed, in which case the new copy is discarded
+     */
+    public String acquire(StoredBlob stored) throws IOException {
+        String storageKey = attachmentBlobRepository.acquire(stored.sha256(), stored.key(), stored.size());
+
+        if (!storageKey.equals(stored.key())) {
+            deleteQuietly(stored.key());
+        } else {
+            // Content-addressed backends write to the shared key before the reference is taken, so
+            // a purge of the previous blob with this hash may have removed the file in between
+            if (blobStorage.size(storageKey).isEmpty()) {
+                throw new ConflictException("Attachment content was removed while uploading, retry the upload");
+            }
+            // The upload brought new content; if it is not committed, nothing references it
+            onRollback(() -> deleteIfUnreferenced(storageKey));
+        }
+        return storageKey;
+    }
+
+    /**
+     * Gives back the references held by the given attachments, which the caller is about to delete.
+     */
+    public void releaseAll(Collection<Attachment> attachments) {
+        if (attachments == null || attachments.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> referencesByHash = attachments.stream()
+                .map(Attachment::getContentHash)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        referencesByHash.forEach(attachmentBlobRepository::release);
+        List<String> releasedHashes = new ArrayList<>(referencesByHash.keySet());
+
+        List<String> legacyKeys = attachments.stream()
+                .filter(attachment -> attachment.getContentHash() == null)
+                .map(Attachment::getFilename)
+                .filter(key -> key != null && !key.isEmpty())
+                .toList();
+
+        if (!releasedHashes.isEmpty() || !legacyKeys.isEmpty()) {
+            afterCommit(() -> {
+                releasedHashes.forEach(this::purgeIfUnreferenced);
+                legacyKeys.stream()
+                        .filter(key -> !attachmentRepository.existsByFilename(key))
+                        .forEach(this::deleteQuietly);
+            });
+        }
+    }
+
+    /**
+     * Removes the blob with this hash if nothing references it any more. The content is deleted
+     * inside the transaction that deleted the row, so an upload of the same content waits for it.
+     */
+    private void purgeIfUnreferenced(String sha256) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    attachmentBlobRepository.deleteIfUnreferenced(sha256).ifPresent(this::deleteQuietly));
+        } catch (Exception e) {
+            log.error("Could not purge unreferenced attachment content {}", sha256, e);
+        }
+    }
+
+    private void deleteIfUnreferenced(String storageKey) {
+        // A concurrent upload of the same content may have re-registered the key meanwhile
+        if (!attachmentBlobRepository.existsByStorageKey(storageKey)) {
+            deleteQuietly(storageKey);
+        }
+    }
+
+    private void deleteQuietly(String storageKey) {
+        try {
+            blobStorage.delete(storageKey);
+            blobStorage.delete(ThumbnailService.thumbnailKey(storageKey));
+        } catch (Exception e) {
+            log.error("Could not delete file {} from storage", storageKey, e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void onRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+}
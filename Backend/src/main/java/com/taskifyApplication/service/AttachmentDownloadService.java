@@ -0,0 +1,120 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.storage.BlobStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes attachment content to the HTTP response straight from storage.
+ * <p>
+ * Supports conditional requests (ETag / Last-Modified, answered with 304) and single byte
+ * ranges (206, or 416 when unsatisfiable). For the local backend the file is handed to Tomcat's
+ * sendfile, which uses {@code FileChannel.transferTo} to the socket; otherwise the range is copied
+ * through {@link BlobStorage#transferTo} in fixed-size chunks.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttachmentDownloadService {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final BlobStorage blobStorage;
+
+    public void write(AttachmentService.FileDownloadInfo file,
+                      HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        if (webRequest.checkNotModified(file.etag(), file.lastModified().toInstant().toEpochMilli())) {
+            return;
+        }
+
+        long size = file.size();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=3600");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                .filename(file.filename(), StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        response.setContentType(file.contentType());
+
+        long start = 0;
+        long end = size - 1;
+
+        HttpRange range = requestedRange(request, file.etag());
+        if (range != null) {
+            boolean satisfiable;
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+                // HttpRange does not reject a first position past the end of the content
+                satisfiable = start < size && start <= end;
+            } catch (IllegalArgumentException e) {
+                satisfiable = false;
+            }
+            if (!satisfiable) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = Math.max(0, end - start + 1);
+        response.setContentLengthLong(length);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        Optional<Path> localFile = blobStorage.localPath(file.storageKey());
+        if (localFile.isPresent() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file itself once the handler returns
+            request.setAttribute(SENDFILE_FILENAME, localFile.get().toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        blobStorage.transferTo(file.storageKey(), start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * The single range to serve, or null to serve the whole file (no Range header, a malformed
+     * one, multiple ranges, or an If-Range that no longer matches).
+     */
+    private HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
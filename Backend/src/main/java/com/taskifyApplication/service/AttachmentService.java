@@ -6,6 +6,8 @@ import com.taskifyApplication.exception.InvalidFormatException;
 import com.taskifyApplication.exception.ResourceNotFoundException;
 import com.taskifyApplication.model.*;
 import com.taskifyApplication.repository.*;
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.StoredBlob;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -16,9 +18,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Objects;
@@ -28,6 +31,8 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class AttachmentService {
 
+    static final int HEADER_SIZE = 1024;
+
     private final AttachmentRepository attachmentRepository;
 
     private final ValidationService validationService;
@@ -38,7 +43,11 @@ public class AttachmentService {
 
     private final WorkspaceRepository workspaceRepository;
 
-    private final FileService fileService;
+    private final BlobStorage blobStorage;
+
+    private final AttachmentBlobService attachmentBlobService;
+
+    private final ThumbnailService thumbnailService;
 
     public List<Attachment> getAttachmentsForTask(Long taskId) {
         if (!taskRepository.existsById(taskId)) {
@@ -66,19 +75,34 @@ public class AttachmentService {
 
         User uploadedBy = userService.getCurrentUser();
 
-        try {
-            String fileUrl = fileService.uploadFile(file);
+        // A single pass over the upload: the header is sniffed from the first bytes and the
+        // same stream, header included, is then piped to storage chunk by chunk
+        try (InputStream in = file.getInputStream()) {
+            byte[] header = in.readNBytes(HEADER_SIZE);
+            if (!isValidFileHeader(header, file.getContentType())) {
+                throw new InvalidFormatException("Invalid file format detected");
+            }
+
+            StoredBlob blob = blobStorage.store(
+                    new SequenceInputStream(new ByteArrayInputStream(header), in),
+                    file.getOriginalFilename(),
+                    file.getContentType());
+
+            // Identical content is stored once; the attachment points at the shared copy
+            String storageKey = attachmentBlobService.acquire(blob);
 
             Attachment attachment = Attachment.builder()
-                    .filePath(fileUrl)
-                    .filename(extractFileNameFromUrl(fileUrl))
+                    .filePath(blobStorage.publicUrl(storageKey))
+                    .filename(storageKey)
+                    .contentHash(blob.sha256())
                     .originalName(file.getOriginalFilename())
                     .mimeType(file.getContentType())
-                    .size(file.getSize())
+                    .size(blob.size())
                     .uploadedBy(uploadedBy)
                     .task(task)
                     .workspace(workspace)
                     .build();
+            thumbnailService.prepare(attachment);
 
             return attachmentRepository.save(attachment);
 
@@ -87,6 +111,33 @@ public class AttachmentService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public FileDownloadInfo getDownloadInfo(Long id) {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+
+        Attachment attachment = attachmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Attachment not found with id: " + id));
+
+        Long workspaceId = attachment.getTask() != null
+                ? attachment.getTask().getWorkspace().getId()
+                : attachment.getWorkspace().getId();
+        if (!workspaceRepository.isUserMemberOfWorkspace(workspaceId, username)) {
+            throw new ForbiddenException("User does not have permission to download this attachment.");
+        }
+
+        // Content-addressed attachments have a strong validator for free
+        String etag = "\"" + (attachment.getContentHash() != null ? attachment.getContentHash() : attachment.getFilename()) + "\"";
+
+        return new FileDownloadInfo(
+                attachment.getFilename(),
+                attachment.getOriginalName(),
+                attachment.getMimeType(),
+                attachment.getSize(),
+                etag,
+                attachment.getUploadedAt()
+        );
+    }
+
     public void deleteAttachment(Long id) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -105,26 +156,11 @@ public class AttachmentService {
         }
 
 
-        String fileUrl = attachment.getFilePath();
-
-        try {
-            if (fileUrl != null && !fileUrl.isEmpty()) {
-                fileService.deleteFile(fileUrl);
-            }
-        } catch (Exception e) {
-            System.err.println("Could not delete file from GCS: " + e.getMessage());
-        }
-
+        // The content itself is removed after commit, once no other attachment references it
+        attachmentBlobService.releaseAll(List.of(attachment));
         attachmentRepository.delete(attachment);
     }
 
-    private String extractFileNameFromUrl(String fileUrl) {
-        if (fileUrl == null || fileUrl.isEmpty()) {
-            return null;
-        }
-        return fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-    }
-
     private void validateFile(MultipartFile file) {
         if (file.isEmpty()) {
             throw new InvalidFormatException("File is empty");
@@ -138,19 +174,10 @@ public class AttachmentService {
         if (!validationService.isValidFileType(file.getContentType())) {
             throw new InvalidFormatException("File type not allowed");
         }
-        if (!isValidFileHeader(file)) {
-            throw new InvalidFormatException("Invalid file format detected");
-        }
     }
 
-    private boolean isValidFileHeader(MultipartFile file) {
-        try (InputStream is = new BufferedInputStream(file.getInputStream())) {
-            is.mark(1024);
-            byte[] bytes = new byte[Math.min(1024, (int) file.getSize())];
-            is.read(bytes);
-            is.reset();
-
-            String contentType = file.getContentType();
+    static boolean isValidFileHeader(byte[] bytes, String contentType) {
+        try {
             if (contentType == null) return false;
 
             if (contentType.startsWith("image/")) {
@@ -167,7 +194,7 @@ public class AttachmentService {
         }
     }
 
-    private boolean isValidImageHeader(byte[] bytes, String contentType) {
+    private static boolean isValidImageHeader(byte[] bytes, String contentType) {
         if (bytes.length < 4) return false;
 
         return switch (Objects.requireNonNull(contentType).toLowerCase()) {
@@ -191,5 +218,9 @@ public class AttachmentService {
         private OffsetDateTime toDate;
     }
 
-    public record FileDownloadInfo(byte[] content, String filename, String contentType) {}
+    /**
+     * What is needed to serve an attachment; the content itself is streamed from storage by key.
+     */
+    public record FileDownloadInfo(String storageKey, String filename, String contentType, long size,
+                                   String etag, OffsetDateTime lastModified) {}
 }
\ No newline at end of file
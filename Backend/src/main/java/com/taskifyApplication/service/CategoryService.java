@@ -19,7 +19,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -95,9 +97,13 @@ public class CategoryService {
         }
 
         List<Category> categories = categoryRepository.getAllCategoriesFromWorkspace(workspaceId);
+        Map<Long, Integer> taskCounts = new HashMap<>();
+        for (Object[] row : taskRepository.countByCategoryForWorkspace(workspaceId)) {
+            taskCounts.put((Long) row[0], ((Long) row[1]).intValue());
+        }
 
         return categories.stream()
-                .map(this::convertToCategoryResponseDTO)
+                .map(category -> convertToCategoryResponseDTO(category, taskCounts.getOrDefault(category.getId(), 0)))
                 .collect(Collectors.toList());
     }
 
@@ -130,12 +136,16 @@ public class CategoryService {
 
     // region PRIVATE FUNCTIONS
     private CategoryResponseDTO convertToCategoryResponseDTO(Category category) {
+        return convertToCategoryResponseDTO(category, taskRepository.countByCategoryId(category.getId()));
+    }
+
+    private CategoryResponseDTO convertToCategoryResponseDTO(Category category, Integer taskCount) {
         CategoryResponseDTO categoryResponseDTO = new CategoryResponseDTO();
 
         categoryResponseDTO.setId(category.getId());
         categoryResponseDTO.setName(category.getName());
         categoryResponseDTO.setDescription(category.getDescription());
-        categoryResponseDTO.setTaskCount(taskRepository.countByCategoryId(category.getId()));
+        categoryResponseDTO.setTaskCount(taskCount);
         return categoryResponseDTO;
     }
 
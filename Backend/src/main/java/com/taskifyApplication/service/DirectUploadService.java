@@ -0,0 +1,300 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.AttachmentDto.UploadRequestDTO;
+import com.taskifyApplication.dto.AttachmentDto.UploadTicketDTO;
+import com.taskifyApplication.exception.BadRequestException;
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.exception.InvalidFormatException;
+import com.taskifyApplication.exception.ResourceNotFoundException;
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.model.PendingUpload;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.repository.PendingUploadRepository;
+import com.taskifyApplication.repository.TaskRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.SignedUpload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Two-phase uploads that keep file bytes off the application servers.
+ * <p>
+ * The client first asks for a ticket: the file is validated by name, type and declared size, a
+ * {@link PendingUpload} is recorded and the storage backend signs a short-lived PUT URL for it.
+ * The client then sends the file straight to storage and calls finalize. Finalize first moves the
+ * object to a key of the server's choosing, which the signed URL cannot write to, and only then
+ * checks it against what was declared (size, then the magic bytes of its header) before creating
+ * the attachment; uploading again to the signed URL cannot change an attachment. Backends without
+ * native signed URLs get an HMAC-signed endpoint of this application as a stand-in, so the same
+ * client flow works in local mode.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DirectUploadService {
+
+    private static final String ATTACHMENT_PREFIX = "attachments/";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PendingUploadRepository pendingUploadRepository;
+
+    private final AttachmentRepository attachmentRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final ValidationService validationService;
+
+    private final UserService userService;
+
+    private final BlobStorage blobStorage;
+
+    private final ThumbnailService thumbnailService;
+
+    @Value("${app.upload.signed-url-ttl:PT15M}")
+    private Duration signedUrlTtl;
+
+    @Value("${app.upload.signing-secret}")
+    private String signingSecret;
+
+    @Value("${app.upload.direct-base-url:http://localhost:8080}")
+    private String directBaseUrl;
+
+    @Value("${app.upload.sweep-batch-size:100}")
+    private int sweepBatchSize;
+
+    @Transactional
+    public UploadTicketDTO requestUpload(Long taskId, UploadRequestDTO request) {
+        if (!validationService.isValidFilename(request.getFilename())) {
+            throw new InvalidFormatException("Invalid filename");
+        }
+        if (!validationService.isValidFileSize(request.getSize())) {
+            throw new InvalidFormatException("File size exceeds maximum limit");
+        }
+        if (!validationService.isValidFileType(request.getContentType())) {
+            throw new InvalidFormatException("File type not allowed");
+        }
+
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        if (!workspaceRepository.isUserMemberOfWorkspace(task.getWorkspace().getId(), username)) {
+            throw new ForbiddenException("User does not have permission to upload to this task.");
+        }
+
+        String token = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plus(signedUrlTtl);
+
+        PendingUpload pending = pendingUploadRepository.save(PendingUpload.builder()
+                .token(token)
+                .storageKey(BlobStorage.STAGING_PREFIX + token)
+                .originalName(request.getFilename())
+                .contentType(request.getContentType())
+                .declaredSize(request.getSize())
+                .task(task)
+                .workspace(task.getWorkspace())
+                .createdBy(userService.getCurrentUser())
+                .expiresAt(OffsetDateTime.ofInstant(expiresAt, ZoneOffset.UTC))
+                .build());
+
+        SignedUpload signed = blobStorage.signUpload(pending.getStorageKey(), pending.getContentType(), signedUrlTtl)
+                .orElseGet(() -> localStandIn(token, pending.getContentType(), expiresAt));
+
+        return new UploadTicketDTO(token, signed.url(), signed.method(), signed.headers(), signed.expiresAt());
+    }
+
+    /**
+     * Receives the body of a locally signed upload. The signature is the only credential, and the
+     * body is cut off as soon as it goes past the declared size.
+     */
+    public void receiveLocalUpload(String token, long expires, String signature, InputStream content) {
+        if (Instant.now().getEpochSecond() > expires) {
+            throw new ForbiddenException("Upload URL has expired");
+        }
+        byte[] expected = sign(token, expires).getBytes(StandardCharsets.US_ASCII);
+        if (signature == null || !MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII))) {
+            throw new ForbiddenException("Invalid upload signature");
+        }
+
+        PendingUpload pending = pendingUploadRepository.findByToken(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found"));
+        if (pending.getFinalizedAt() != null) {
+            throw new ForbiddenException("Upload has already been finalized");
+        }
+
+        try {
+            blobStorage.storeAt(pending.getStorageKey(),
+                    new SizeLimitedInputStream(content, pending.getDeclaredSize()),
+                    pending.getContentType());
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to upload file. Reason: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Turns a completed upload into an attachment. An object that does not match what was
+     * declared is deleted and the ticket cannot be used again.
+     */
+    @Transactional(noRollbackFor = InvalidFormatException.class)
+    public Attachment finalizeUpload(String token) {
+        PendingUpload pending = pendingUploadRepository.findByToken(token)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found"));
+
+        User currentUser = userService.getCurrentUser();
+        if (!pending.getCreatedBy().getId().equals(currentUser.getId())) {
+            throw new ForbiddenException("User does not have permission to finalize this upload.");
+        }
+        if (pending.getFinalizedAt() != null) {
+            throw new BadRequestException("Upload has already been finalized");
+        }
+        if (pending.isExpired()) {
+            throw new BadRequestException("Upload has expired");
+        }
+
+        try {
+            if (blobStorage.size(pending.getStorageKey()).isEmpty()) {
+                throw new BadRequestException("File has not been uploaded yet");
+            }
+
+            // From here on the checked object is out of reach of the signed URL
+            String key = ATTACHMENT_PREFIX + UUID.randomUUID();
+            blobStorage.move(pending.getStorageKey(), key);
+            pending.setFinalizedAt(OffsetDateTime.now());
+            pendingUploadRepository.save(pending);
+
+            long storedSize = blobStorage.size(key)
+                    .orElseThrow(() -> new BadRequestException("File has not been uploaded yet"));
+            if (storedSize != pending.getDeclaredSize()) {
+                blobStorage.delete(key);
+                throw new InvalidFormatException("Uploaded file size does not match the declared size");
+            }
+
+            ByteArrayOutputStream header = new ByteArrayOutputStream(AttachmentService.HEADER_SIZE);
+            blobStorage.transferTo(key, 0, Math.min(storedSize, AttachmentService.HEADER_SIZE), Channels.newChannel(header));
+            if (!AttachmentService.isValidFileHeader(header.toByteArray(), pending.getContentType())) {
+                blobStorage.delete(key);
+                throw new InvalidFormatException("Invalid file format detected");
+            }
+
+            // No hash is computed server-side, so the attachment owns its object outright
+            // rather than joining the deduplicated blob pool
+            Attachment attachment = Attachment.builder()
+                    .filePath(blobStorage.publicUrl(key))
+                    .filename(key)
+                    .originalName(pending.getOriginalName())
+                    .mimeType(pending.getContentType())
+                    .size(storedSize)
+                    .uploadedBy(currentUser)
+                    .task(pending.getTask())
+                    .workspace(pending.getWorkspace())
+                    .build();
+            thumbnailService.prepare(attachment);
+
+            return attachmentRepository.save(attachment);
+
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to finalize upload. Reason: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.upload.sweep-interval:PT10M}")
+    @Transactional
+    public void sweepExpired() {
+        try {
+            List<PendingUpload> expired = pendingUploadRepository.findExpired(
+                    OffsetDateTime.now(), PageRequest.of(0, sweepBatchSize));
+            for (PendingUpload pending : expired) {
+                blobStorage.delete(pending.getStorageKey());
+            }
+            pendingUploadRepository.deleteAll(expired);
+        } catch (Exception e) {
+            log.error("Pending upload sweep failed", e);
+        }
+    }
+
+    private SignedUpload localStandIn(String token, String contentType, Instant expiresAt) {
+        long expires = expiresAt.getEpochSecond();
+        String url = directBaseUrl + "/api/attachments/uploads/" + token
+                + "?expires=" + expires + "&signature=" + sign(token, expires);
+        return new SignedUpload(url, "PUT", Map.of("Content-Type", contentType), expiresAt);
+    }
+
+    private String sign(String token, long expires) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            byte[] digest = mac.doFinal((token + ":" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign upload URL", e);
+        }
+    }
+
+    /**
+     * Fails the read once more than {@code limit} bytes have been consumed.
+     */
+    private static final class SizeLimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                consume(n);
+            }
+            return n;
+        }
+
+        private void consume(long n) throws IOException {
+            remaining -= n;
+            if (remaining < 0) {
+                throw new IOException("Upload exceeds the declared size");
+            }
+        }
+    }
+}
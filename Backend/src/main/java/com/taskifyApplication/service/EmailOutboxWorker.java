@@ -0,0 +1,240 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.model.EmailOutbox;
+import com.taskifyApplication.repository.EmailOutboxRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delivers queued emails from the {@code email_outbox} table.
+ * <p>
+ * Each poll claims a batch of due rows (row locks with SKIP LOCKED, so several instances can run
+ * side by side), renders them and hands the whole batch to a single
+ * {@link JavaMailSender#send(MimeMessage...)} call, which reuses one SMTP connection for every
+ * message. Failed messages are retried with exponential backoff and jitter; after
+ * {@code app.mail.outbox.max-attempts} they are parked as {@link EmailOutbox.EmailStatus#DEAD}.
+ * Claimed rows are leased rather than marked in flight, so a crash mid-send only delays them.
+ * <p>
+ * Variables are cleared once a row is SENT or DEAD, and finished rows are purged after
+ * {@code app.mail.outbox.retention}. Password reset rows never hold the link: it is minted through
+ * {@link PasswordResetService#issueResetLink} right before rendering.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    private final JavaMailSender mailSender;
+
+    private final EmailTemplateRenderer emailTemplateRenderer;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final PasswordResetService passwordResetService;
+
+    @Value("${spring.mail.from}")
+    private String mailFrom;
+
+    @Value("${app.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.base-delay:PT30S}")
+    private Duration baseDelay;
+
+    @Value("${app.mail.outbox.max-delay:PT1H}")
+    private Duration maxDelay;
+
+    @Value("${app.mail.outbox.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.retention:P14D}")
+    private Duration retention;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public void drain() {
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Email outbox worker failed", e);
+        }
+    }
+
+    /**
+     * Deletes SENT and DEAD rows older than the retention; DEAD rows are kept that long for inspection.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.purge-interval:PT1H}")
+    public void purgeFinished() {
+        try {
+            int purged = transactionTemplate.execute(status -> emailOutboxRepository.deleteFinishedBefore(
+                    List.of(EmailOutbox.EmailStatus.SENT, EmailOutbox.EmailStatus.DEAD),
+                    OffsetDateTime.now().minus(retention)));
+            if (purged > 0) {
+                log.info("Purged {} finished emails from the outbox", purged);
+            }
+        } catch (Exception e) {
+            log.error("Email outbox purge failed", e);
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<EmailOutbox> due = emailOutboxRepository.findDueForUpdate(
+                    EmailOutbox.EmailStatus.PENDING, now, PageRequest.of(0, batchSize));
+            // Lease the rows; if this worker dies before recording the outcome they become due again
+            for (EmailOutbox email : due) {
+                email.setNextAttemptAt(now.plus(lease));
+            }
+            return due;
+        });
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        Map<MimeMessage, EmailOutbox> messages = new LinkedHashMap<>();
+        Map<EmailOutbox, String> failures = new IdentityHashMap<>();
+        Map<EmailOutbox, String> abandoned = new IdentityHashMap<>();
+
+        for (EmailOutbox email : batch) {
+            try {
+                Map<String, Object> variables = resolveVariables(email);
+                if (variables == null) {
+                    abandoned.put(email, "Password reset request is no longer valid");
+                    continue;
+                }
+                messages.put(render(email, variables), email);
+            } catch (Exception e) {
+                failures.put(email, "Rendering failed: " + e.getMessage());
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(email -> failures.put(email, e.getMessage()));
+                }
+                e.getFailedMessages().forEach((message, cause) -> {
+                    EmailOutbox email = messages.get(message);
+                    if (email != null) {
+                        failures.put(email, cause.getMessage());
+                    }
+                });
+            } catch (MailException e) {
+                messages.values().forEach(email -> failures.put(email, e.getMessage()));
+            }
+        }
+
+        recordOutcome(batch, failures, abandoned);
+    }
+
+    /**
+     * The variables to render with, or null if the email must not be sent anymore.
+     */
+    private Map<String, Object> resolveVariables(EmailOutbox email) {
+        Map<String, Object> variables = email.getVariables();
+        Object resetTokenId = variables.get(EmailService.RESET_TOKEN_ID);
+        if (resetTokenId == null) {
+            return variables;
+        }
+        return passwordResetService.issueResetLink(UUID.fromString(resetTokenId.toString()))
+                .map(link -> {
+                    Map<String, Object> resolved = new HashMap<>(variables);
+                    resolved.put("resetLink", link);
+                    return resolved;
+                })
+                .orElse(null);
+    }
+
+    private MimeMessage render(EmailOutbox email, Map<String, Object> variables) throws MessagingException {
+        String htmlContent = emailTemplateRenderer.render(email.getTemplateName(), variables);
+
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "UTF-8");
+        helper.setTo(email.getRecipient());
+        helper.setFrom(mailFrom);
+        helper.setSubject(email.getSubject());
+        helper.setText(htmlContent, true);
+        return mimeMessage;
+    }
+
+    private void recordOutcome(List<EmailOutbox> batch, Map<EmailOutbox, String> failures,
+                               Map<EmailOutbox, String> abandoned) {
+        OffsetDateTime now = OffsetDateTime.now();
+
+        for (EmailOutbox email : batch) {
+            if (abandoned.containsKey(email)) {
+                email.setStatus(EmailOutbox.EmailStatus.DEAD);
+                email.setLastError(abandoned.get(email));
+                email.setVariables(null);
+                continue;
+            }
+
+            String error = failures.get(email);
+            if (error == null) {
+                email.setStatus(EmailOutbox.EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                email.setVariables(null);
+                continue;
+            }
+
+            int attempts = email.getAttempts() + 1;
+            email.setAttempts(attempts);
+            email.setLastError(error);
+            if (attempts >= maxAttempts) {
+                email.setStatus(EmailOutbox.EmailStatus.DEAD);
+                email.setVariables(null);
+                log.warn("Email {} to {} moved to dead letter after {} attempts: {}",
+                        email.getId(), email.getRecipient(), attempts, error);
+            } else {
+                email.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+    }
+
+    /**
+     * Exponential backoff capped at {@code max-delay}, with "equal jitter": half of the delay is
+     * fixed and half is random, so messages that failed together do not retry together.
+     */
+    private Duration backoff(int attempts) {
+        long exponential = baseDelay.toMillis() * (1L << Math.min(attempts - 1, 20));
+        long capped = Math.min(exponential, maxDelay.toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskifyApplication.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.Map;
+
+/**
+ * Renders email templates for the outbox worker.
+ * <p>
+ * Parsed templates live in Thymeleaf's own template cache ({@code spring.thymeleaf.cache}); every
+ * email template is parsed once at startup so the first email after a deploy does not pay for it.
+ * Output is not cached: every email carries the recipient's name and links, so two renders are
+ * practically never identical.
+ */
+@Slf4j
+@Service
+public class EmailTemplateRenderer {
+
+    private static final String TEMPLATE_LOCATION = "classpath:templates/*.html";
+
+    private final TemplateEngine templateEngine;
+
+    public EmailTemplateRenderer(TemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+
+    public String render(String templateName, Map<String, Object> variables) {
+        Context context = new Context();
+        context.setVariables(variables);
+        return templateEngine.process(templateName, context);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)) {
+                String filename = resource.getFilename();
+                if (filename == null) {
+                    continue;
+                }
+                // Rendering with no variables is enough to parse and cache the template
+                templateEngine.process(filename.substring(0, filename.length() - ".html".length()), new Context());
+            }
+        } catch (Exception e) {
+            log.warn("Email template warm-up failed", e);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.taskifyApplication.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskifyApplication.exception.BadRequestException;
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.exception.ResourceNotFoundException;
+import com.taskifyApplication.model.Workspace;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams workspace data out as CSV or NDJSON without loading it.
+ * <p>
+ * Each export is one forward-only, read-only query whose rows are pulled through a JDBC cursor
+ * {@code fetch-size} at a time (PostgreSQL only uses a cursor outside auto-commit) and written as
+ * they arrive, optionally through gzip. Nothing is mapped to entities or DTOs, so memory use does
+ * not grow with the number of rows. The output is spooled to a temporary file and only then copied
+ * to the response, so the pooled connection is held for as long as the database takes to read,
+ * not for as long as a slow client takes to download. Access is checked on the request thread,
+ * before the body starts on the async one.
+ * <p>
+ * CSV text fields starting with {@code = + - @}, tab or carriage return get a leading {@code '}
+ * so spreadsheets do not evaluate them as formulas.
+ */
+@Service
+public class ExportService {
+
+    private final DataSource dataSource;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final WorkspaceService workspaceService;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public ExportService(DataSource dataSource,
+                         WorkspaceRepository workspaceRepository,
+                         WorkspaceService workspaceService,
+                         ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.workspaceRepository = workspaceRepository;
+        this.workspaceService = workspaceService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param from first day included, in UTC; open-ended when null
+     * @param to   last day included, in UTC; open-ended when null
+     */
+    public StreamingResponseBody export(Long workspaceId, Dataset dataset, Format format,
+                                        LocalDate from, LocalDate to, boolean gzip) {
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
+        if (!workspaceService.canUserManageWorkspace(workspace)) {
+            throw new ForbiddenException("Only workspace owners and admins can export data");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BadRequestException("'from' must not be after 'to'");
+        }
+
+        return outputStream -> {
+            Path spool = Files.createTempFile("export-" + dataset.path() + "-", "." + format.extension() + (gzip ? ".gz" : ""));
+            try {
+                try (OutputStream file = Files.newOutputStream(spool);
+                     OutputStream target = gzip ? new GZIPOutputStream(file, 8192) : file;
+                     Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 16384)) {
+                    stream(workspaceId, dataset, format, from, to, writer);
+                } catch (SQLException e) {
+                    throw new IOException("Export of " + dataset.path() + " failed: " + e.getMessage(), e);
+                }
+                Files.copy(spool, outputStream);
+            } finally {
+                Files.deleteIfExists(spool);
+            }
+        };
+    }
+
+    private void stream(Long workspaceId, Dataset dataset, Format format,
+                        LocalDate from, LocalDate to, Writer writer) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        params.add(workspaceId);
+        StringBuilder sql = new StringBuilder(dataset.select).append(" WHERE ").append(dataset.workspaceColumn).append(" = ?");
+        if (from != null) {
+            sql.append(" AND ").append(dataset.timeColumn).append(" >= ?");
+            params.add(dataset.boundary(from));
+        }
+        if (to != null) {
+            sql.append(" AND ").append(dataset.timeColumn).append(" < ?");
+            params.add(dataset.boundary(to.plusDays(1)));
+        }
+        sql.append(" ORDER BY ").append(dataset.timeColumn).append(", ").append(dataset.idColumn);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(
+                    sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (format == Format.CSV) {
+                        writeCsv(rs, dataset, writer);
+                    } else {
+                        writeNdjson(rs, dataset, writer);
+                    }
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private void writeCsv(ResultSet rs, Dataset dataset, Writer writer) throws SQLException, IOException {
+        writer.write(String.join(",", dataset.columns));
+        writer.write("\r\n");
+        int[] types = columnTypes(rs.getMetaData());
+        while (rs.next()) {
+            for (int i = 0; i < types.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = read(rs, i + 1, types[i]);
+                if (value != null) {
+                    writeCsvField(writer, value.toString(), value instanceof String);
+                }
+            }
+            writer.write("\r\n");
+        }
+    }
+
+    private void writeNdjson(ResultSet rs, Dataset dataset, Writer writer) throws SQLException, IOException {
+        int[] types = columnTypes(rs.getMetaData());
+        // The generator must not close the response writer; one generator serves every line
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        while (rs.next()) {
+            generator.writeStartObject();
+            for (int i = 0; i < types.length; i++) {
+                String name = dataset.columns.get(i);
+                Object value = read(rs, i + 1, types[i]);
+                if (value == null) {
+                    generator.writeNullField(name);
+                } else if (value instanceof Long number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof Integer number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof Double number) {
+                    generator.writeNumberField(name, number);
+                } else if (value instanceof Boolean flag) {
+                    generator.writeBooleanField(name, flag);
+                } else {
+                    generator.writeStringField(name, value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    private static int[] columnTypes(ResultSetMetaData metaData) throws SQLException {
+        int[] types = new int[metaData.getColumnCount()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = metaData.getColumnType(i + 1);
+        }
+        return types;
+    }
+
+    /**
+     * Reads a column as a type with a stable text form: ISO-8601 for timestamps, which
+     * {@link java.sql.Timestamp#toString()} is not.
+     */
+    private static Object read(ResultSet rs, int index, int type) throws SQLException {
+        Object value = switch (type) {
+            case Types.TIMESTAMP_WITH_TIMEZONE -> rs.getObject(index, OffsetDateTime.class);
+            case Types.TIMESTAMP -> rs.getObject(index, LocalDateTime.class);
+            case Types.DATE -> rs.getObject(index, LocalDate.class);
+            case Types.BIGINT -> rs.getLong(index);
+            case Types.INTEGER, Types.SMALLINT, Types.TINYINT -> rs.getInt(index);
+            case Types.DOUBLE, Types.FLOAT, Types.REAL -> rs.getDouble(index);
+            case Types.BOOLEAN, Types.BIT -> rs.getBoolean(index);
+            default -> rs.getString(index);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    private static void writeCsvField(Writer writer, String value, boolean text) throws IOException {
+        if (text && !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format fromParam(String value) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException("Format must be 'csv' or 'ndjson'"));
+        }
+    }
+
+    /**
+     * What can be exported, with the query behind each. The time column is what the date range
+     * filters and the export is ordered by.
+     */
+    public enum Dataset {
+        TASKS("tasks",
+                "SELECT t.id, t.title, s.name, t.priority, u.email, t.due_date, t.estimated_hours, t.actual_hours, " +
+                "t.progress, t.created_at, t.updated_at, t.completed_at " +
+                "FROM tasks t LEFT JOIN task_statuses s ON s.id = t.status_id LEFT JOIN users u ON u.id = t.assigned_to",
+                "t.workspace_id", "t.created_at", "t.id", false,
+                List.of("id", "title", "status", "priority", "assignee", "due_date", "estimated_hours", "actual_hours",
+                        "progress", "created_at", "updated_at", "completed_at")),
+        TIME_ENTRIES("time-entries",
+                "SELECT tt.id, tt.task_id, t.title, u.email, tt.start_time, tt.end_time, tt.duration, " +
+                "tt.description, tt.is_active " +
+                "FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id JOIN users u ON u.id = tt.user_id",
+                "t.workspace_id", "tt.start_time", "tt.id", false,
+                List.of("id", "task_id", "task_title", "user", "start_time", "end_time", "duration_minutes",
+                        "description", "active")),
+        ACTIVITIES("activities",
+                "SELECT a.id, a.created_at, a.type, a.title, a.description, u.email, a.task_id, a.metadata " +
+                "FROM activities a JOIN users u ON u.id = a.user_id",
+                "a.workspace_id", "a.created_at", "a.id", true,
+                List.of("id", "created_at", "type", "title", "description", "user", "task_id", "metadata")),
+        HISTORY("history",
+                "SELECT h.id, h.changed_at, h.task_id, t.title, h.field_changed, h.old_value, h.new_value, " +
+                "h.description, u.email " +
+                "FROM task_history h JOIN tasks t ON t.id = h.task_id JOIN users u ON u.id = h.changed_by",
+                "t.workspace_id", "h.changed_at", "h.id", false,
+                List.of("id", "changed_at", "task_id", "task_title", "field_changed", "old_value", "new_value",
+                        "description", "changed_by"));
+
+        private final String path;
+        private final String select;
+        private final String workspaceColumn;
+        private final String timeColumn;
+        private final String idColumn;
+        // activities.created_at has no time zone
+        private final boolean localTime;
+        private final List<String> columns;
+
+        Dataset(String path, String select, String workspaceColumn, String timeColumn, String idColumn,
+                boolean localTime, List<String> columns) {
+            this.path = path;
+            this.select = select;
+            this.workspaceColumn = workspaceColumn;
+            this.timeColumn = timeColumn;
+            this.idColumn = idColumn;
+            this.localTime = localTime;
+            this.columns = columns;
+        }
+
+        public String path() {
+            return path;
+        }
+
+        private Object boundary(LocalDate day) {
+            return localTime ? day.atStartOfDay() : day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        }
+
+        public static Dataset fromPath(String value) {
+            return Arrays.stream(values())
+                    .filter(dataset -> dataset.path.equalsIgnoreCase(value))
+                    .findFirst()
+                    .orElseThrow(() -> new BadRequestException(
+                            "Unknown export '" + value + "'; expected tasks, time-entries, activities or history"));
+        }
+    }
+}
@@ -1,44 +0,0 @@
-package com.taskifyApplication.service;
-
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.util.UUID;
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.BlobInfo;
-import com.google.cloud.storage.Storage;
-
-
-@Service
-@RequiredArgsConstructor
-public class FileService {
-
-
-    private final Storage storage;
-
-    @Value("${gcs.bucket.name}")
-    private String bucketName;
-
-
-    public String uploadFile(MultipartFile file) throws IOException {
-        String fileName = UUID.randomUUID() + "-" + file.getOriginalFilename();
-
-        BlobId blobId = BlobId.of(bucketName, fileName);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
-
-        storage.create(blobInfo, file.getBytes());
-
-        return "https://storage.googleapis.com/" + bucketName + "/" + fileName;
-    }
-
-    public void deleteFile(String fileUrl) {
-        String fileName = fileUrl.substring(fileUrl.lastIndexOf("/") + 1);
-        BlobId blobId = BlobId.of(bucketName, fileName);
-        storage.delete(blobId);
-    }
-}
\ No newline at end of file
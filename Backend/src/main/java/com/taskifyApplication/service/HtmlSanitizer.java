@@ -0,0 +1,108 @@
+package com.taskifyApplication.service;
+
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sanitizes user-written HTML (task descriptions and notes, time entry descriptions, workspace and
+ * category descriptions) with one shared OWASP policy.
+ * <p>
+ * Most writes do not need the full parser. Plain text made only of characters the policy leaves
+ * untouched is returned as is. Longer input whose SHA-256 is in a small LRU of known fixed points
+ * (strings the policy returned unchanged) is returned as is too, so resaving a task without editing
+ * its description parses it once at most.
+ */
+@Service
+public class HtmlSanitizer {
+
+    private static final PolicyFactory POLICY = Sanitizers.FORMATTING
+            .and(Sanitizers.LINKS)
+            .and(Sanitizers.BLOCKS);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final int minCachedLength;
+
+    private final Map<String, Boolean> sanitizedDigests;
+
+    public HtmlSanitizer(@Value("${app.sanitizer.cache.max-entries:10000}") int maxEntries,
+                         @Value("${app.sanitizer.cache.min-length:256}") int minCachedLength) {
+        this.minCachedLength = minCachedLength;
+        this.sanitizedDigests = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public String sanitize(String input) {
+        if (input == null) return null;
+        if (isPassThrough(input)) {
+            return input;
+        }
+        // Hashing costs less than parsing only once the input is a few hundred characters long
+        if (input.length() < minCachedLength) {
+            return POLICY.sanitize(input);
+        }
+
+        String digest = sha256(input);
+        if (sanitizedDigests.get(digest) != null) {
+            return input;
+        }
+        String sanitized = POLICY.sanitize(input);
+        if (sanitized.equals(input)) {
+            sanitizedDigests.put(digest, Boolean.TRUE);
+        }
+        return sanitized;
+    }
+
+    /**
+     * Whether the policy would return {@code input} unchanged without having to parse it. This is
+     * stricter than "no {@code <} or {@code &}": the encoder also escapes quotes, {@code + = @ `}
+     * and braces, and drops control characters, so only letters, digits, whitespace, the
+     * punctuation below and non-ASCII text from the Basic Multilingual Plane qualify. U+1FEF
+     * (Greek varia) is encoded by the policy too; a test checks every BMP character against it.
+     */
+    static boolean isPassThrough(String input) {
+        for (int i = 0, n = input.length(); i < n; i++) {
+            char c = input.charAt(i);
+            if (c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9') {
+                continue;
+            }
+            switch (c) {
+                case ' ', '\t', '\n', '.', ',', ';', ':', '!', '?', '-', '_', '(', ')', '[', ']', '/', '\\',
+                     '*', '#', '%', '$', '~', '^', '|' -> {
+                    continue;
+                }
+                default -> {
+                    // Latin-1 letters up to the surrogates, minus the line and paragraph separators
+                    // and the varia, which the encoder escapes like a backtick
+                    if (c < 0xA0 || c >= 0xD800 || c == 0x2028 || c == 0x2029 || c == 0x1FEF) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String sha256(String input) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(input.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
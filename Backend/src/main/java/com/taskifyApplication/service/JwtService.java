@@ -24,6 +24,8 @@ public class JwtService {
 
     @Value("${jwt.expiration:86400}")
     private long jwtExpiration;
+
+    private SecretKey signInKey;
     // endregion
 
     // region PUBLIC FUNCTIONS
@@ -48,6 +50,19 @@ public class JwtService {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
     }
+
+    /**
+     * Parses and verifies the token once, returning its subject. Signature and expiration
+     * are checked by the parser itself, so callers that do not need a {@link UserDetails}
+     * comparison can skip {@link #isTokenValid} and its extra parses.
+     */
+    public String extractValidSubject(String token) {
+        Claims claims = extractAllClaims(token);
+        if (claims.getExpiration() != null && claims.getExpiration().before(new Date())) {
+            return null;
+        }
+        return claims.getSubject();
+    }
     // endregion
 
     // region PRIVATE FUNCTIONS
@@ -82,8 +97,11 @@ public class JwtService {
     }
 
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        if (signInKey == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            signInKey = Keys.hmacShaKeyFor(keyBytes);
+        }
+        return signInKey;
     }
     // endregion
 }
\ No newline at end of file
@@ -0,0 +1,395 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.NotificationDto.NotificationDigestGroupDTO;
+import com.taskifyApplication.dto.NotificationDto.NotificationDraftDTO;
+import com.taskifyApplication.model.Notification.NotificationType;
+import com.taskifyApplication.model.NotificationPreferences;
+import com.taskifyApplication.model.NotificationPreferences.DigestFrequency;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.repository.NotificationPreferencesRepository;
+import com.taskifyApplication.repository.NotificationRepository;
+import com.taskifyApplication.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces notifications per user before they are stored and delivered.
+ * <p>
+ * Events are buffered per recipient for {@code app.notifications.digest.window}; when the window
+ * closes, events of the same type in the same workspace collapse into one row (e.g. "12 tarefas
+ * atribuídas a você no workspace 'X'"), and the user gets a single push. Transactional types
+ * ({@link #TRANSACTIONAL_TYPES}) are also emailed when the window closes whatever the user's
+ * {@link DigestFrequency}, one line and link per event; a workspace invite is never buffered at all.
+ * Everything else reaches the inbox only through the DAILY or WEEKLY summary email, built from
+ * the user's unread notifications.
+ * <p>
+ * The buffer lives in memory. A crash loses the events of the window that was open (a graceful
+ * shutdown flushes it) and pushes arrive up to one window plus one flush interval late; that is
+ * the price of coalescing, and why invites, whose email carries the only usable join link, skip it.
+ * Digests leave the buffer only once their rows are stored: when storing fails they are put back
+ * (a failed batch is retried one user at a time) and given up after {@link #MAX_ATTEMPTS} flushes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NotificationDigestService {
+
+    /** Emailed as soon as their window closes, never held for the DAILY or WEEKLY summary. */
+    static final Set<NotificationType> TRANSACTIONAL_TYPES =
+            EnumSet.of(NotificationType.TASK_ASSIGNED, NotificationType.WORKSPACE_INVITE);
+
+    /** Delivered on their own as soon as they are enqueued. */
+    private static final Set<NotificationType> IMMEDIATE_TYPES = EnumSet.of(NotificationType.WORKSPACE_INVITE);
+
+    static final int MAX_ATTEMPTS = 3;
+
+    // A scheduled run that fires slightly before a full period has elapsed still counts as due
+    private static final Duration DUE_TOLERANCE = Duration.ofHours(1);
+
+    private final NotificationFanOutService notificationFanOutService;
+
+    private final NotificationRepository notificationRepository;
+
+    private final NotificationPreferencesRepository notificationPreferencesRepository;
+
+    private final UserRepository userRepository;
+
+    private final WebSocketService webSocketService;
+
+    private final SimpUserRegistry simpUserRegistry;
+
+    private final EmailService emailService;
+
+    @Value("${app.notifications.digest.window:PT2M}")
+    private Duration window;
+
+    @Value("${app.frontendBaseUrl}")
+    private String frontendBaseUrl;
+
+    private final Map<Long, PendingDigest> pending = new ConcurrentHashMap<>();
+
+    /**
+     * A single notification event for one recipient.
+     *
+     * @param singleEmail sends the regular per-event email; used when the window holds only this
+     *                    transactional event, may be null for types that are not emailed
+     */
+    public record DigestItem(Long userId, String email, String firstName,
+                             NotificationType type, String title, String message,
+                             Long workspaceId, String workspaceName, Long taskId, String actionUrl,
+                             Runnable singleEmail) {
+    }
+
+    private record PendingDigest(Instant openedAt, List<DigestItem> items, int attempts) {
+    }
+
+    private record GroupKey(NotificationType type, Long workspaceId) {
+    }
+
+    public void enqueue(DigestItem item) {
+        if (IMMEDIATE_TYPES.contains(item.type())) {
+            deliverOrRequeue(List.of(new PendingDigest(Instant.now(), List.of(item), 0)));
+            return;
+        }
+        pending.compute(item.userId(), (userId, digest) -> {
+            PendingDigest target = digest != null ? digest : new PendingDigest(Instant.now(), new ArrayList<>(), 0);
+            target.items().add(item);
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.digest.flush-interval:PT10S}")
+    public void flushDueDigests() {
+        try {
+            flush(Instant.now().minus(window));
+        } catch (Exception e) {
+            log.error("Error flushing notification digests", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(Instant.MAX);
+    }
+
+    /**
+     * Sends the DAILY and WEEKLY email digests that are due, built from each user's unread notifications.
+     */
+    @Scheduled(cron = "${app.notifications.digest.cron:0 0 8 * * *}")
+    public void sendScheduledDigests() {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<Long> userIds = notificationRepository.findUserIdsWithUnreadSince(now.minusWeeks(1));
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        for (NotificationPreferences preferences : loadPreferences(userIds).values()) {
+            Duration period = digestPeriod(preferences.getDigestEmail());
+            if (period == null || !isEnabled(preferences.getEmailNotifications())) {
+                continue;
+            }
+
+            OffsetDateTime periodStart = now.minus(period);
+            OffsetDateTime lastSent = preferences.getLastDigestSentAt();
+            if (lastSent != null && lastSent.isAfter(periodStart.plus(DUE_TOLERANCE))) {
+                continue;
+            }
+            OffsetDateTime since = lastSent != null && lastSent.isAfter(periodStart) ? lastSent : periodStart;
+
+            User user = preferences.getUser();
+            // Transactional notifications were already emailed when their window closed
+            List<Map<String, String>> lines = notificationRepository.summarizeUnreadSince(user.getId(), since).stream()
+                    .filter(group -> !TRANSACTIONAL_TYPES.contains(group.getType()) && allows(preferences, group.getType()))
+                    .map(group -> EmailService.digestLine(summarize(group), null))
+                    .toList();
+
+            if (!lines.isEmpty()) {
+                emailService.sendNotificationDigestEmail(user.getEmail(), user.getFirstName(),
+                        preferences.getDigestEmail() == DigestFrequency.WEEKLY ? "na última semana" : "nas últimas 24 horas",
+                        lines);
+            }
+
+            preferences.setLastDigestSentAt(now);
+            notificationPreferencesRepository.save(preferences);
+        }
+    }
+
+    private void flush(Instant openedBefore) {
+        List<PendingDigest> due = new ArrayList<>();
+        for (Map.Entry<Long, PendingDigest> entry : pending.entrySet()) {
+            PendingDigest digest = entry.getValue();
+            if (!digest.openedAt().isAfter(openedBefore) && pending.remove(entry.getKey(), digest)) {
+                due.add(digest);
+            }
+        }
+        if (!due.isEmpty()) {
+            deliverOrRequeue(due);
+        }
+    }
+
+    private void deliverOrRequeue(List<PendingDigest> due) {
+        try {
+            deliverDigests(due);
+        } catch (RuntimeException e) {
+            if (due.size() == 1) {
+                requeue(due.get(0), e);
+                return;
+            }
+            // Nothing of the batch was stored; retry per user so one bad digest cannot hold back the rest
+            log.warn("Storing {} notification digests failed, retrying one at a time", due.size(), e);
+            for (PendingDigest digest : due) {
+                try {
+                    deliverDigests(List.of(digest));
+                } catch (RuntimeException single) {
+                    requeue(digest, single);
+                }
+            }
+        }
+    }
+
+    private void requeue(PendingDigest digest, RuntimeException cause) {
+        DigestItem first = digest.items().get(0);
+        int attempts = digest.attempts() + 1;
+        if (attempts >= MAX_ATTEMPTS) {
+            log.error("Dropping {} notifications for {} after {} failed attempts",
+                    digest.items().size(), first.email(), attempts, cause);
+            return;
+        }
+        log.warn("Storing {} notifications for {} failed, keeping them for the next flush",
+                digest.items().size(), first.email(), cause);
+        // Events buffered meanwhile join the failed ones, which keep their original window
+        pending.merge(first.userId(), new PendingDigest(digest.openedAt(), digest.items(), attempts),
+                (current, failed) -> {
+                    List<DigestItem> items = new ArrayList<>(failed.items());
+                    items.addAll(current.items());
+                    return new PendingDigest(failed.openedAt(), items, failed.attempts());
+                });
+    }
+
+    private void deliverDigests(List<PendingDigest> due) {
+        Map<Long, NotificationPreferences> preferencesByUser = loadPreferences(
+                due.stream().map(digest -> digest.items().get(0).userId()).toList());
+
+        // Rows for every due user are written in one batch before anything is delivered
+        List<NotificationDraftDTO> drafts = new ArrayList<>();
+        Map<PendingDigest, Map<GroupKey, List<DigestItem>>> groupedDigests = new IdentityHashMap<>();
+        for (PendingDigest digest : due) {
+            Map<GroupKey, List<DigestItem>> groups = digest.items().stream()
+                    .collect(Collectors.groupingBy(item -> new GroupKey(item.type(), item.workspaceId()),
+                            LinkedHashMap::new, Collectors.toList()));
+            groupedDigests.put(digest, groups);
+            for (List<DigestItem> items : groups.values()) {
+                drafts.add(toDraft(items));
+            }
+        }
+        notificationFanOutService.persist(drafts);
+
+        for (PendingDigest digest : due) {
+            DigestItem first = digest.items().get(0);
+            NotificationPreferences preferences = preferencesByUser.getOrDefault(first.userId(),
+                    NotificationPreferences.builder().build());
+            deliver(first, groupedDigests.get(digest), preferences);
+        }
+    }
+
+    private void deliver(DigestItem recipient, Map<GroupKey, List<DigestItem>> groups, NotificationPreferences preferences) {
+        List<List<DigestItem>> allowed = groups.values().stream()
+                .filter(items -> allows(preferences, items.get(0).type()))
+                .toList();
+        if (allowed.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (isEnabled(preferences.getPushNotifications()) && simpUserRegistry.getUser(recipient.email()) != null) {
+                webSocketService.notifyUser(recipient.email(), toPush(allowed));
+            }
+
+            if (isEnabled(preferences.getEmailNotifications())) {
+                List<DigestItem> emailed = allowed.stream()
+                        .filter(items -> TRANSACTIONAL_TYPES.contains(items.get(0).type()))
+                        .flatMap(List::stream)
+                        .toList();
+                if (emailed.size() == 1 && emailed.get(0).singleEmail() != null) {
+                    emailed.get(0).singleEmail().run();
+                } else if (!emailed.isEmpty()) {
+                    // One line per event so every task keeps its own link
+                    List<Map<String, String>> lines = emailed.stream()
+                            .map(item -> EmailService.digestLine(item.message(), linkFor(item)))
+                            .toList();
+                    emailService.sendNotificationDigestEmail(recipient.email(),
+                            recipient.firstName() != null ? recipient.firstName() : recipient.email(),
+                            "nos últimos minutos", lines);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error delivering notification digest to {}", recipient.email(), e);
+        }
+    }
+
+    private String linkFor(DigestItem item) {
+        if (item.workspaceId() == null) {
+            return frontendBaseUrl;
+        }
+        String workspaceLink = frontendBaseUrl + "/workspaces/" + item.workspaceId();
+        return item.taskId() != null ? workspaceLink + "/tasks/" + item.taskId() : workspaceLink;
+    }
+
+    private Map<String, Object> toPush(List<List<DigestItem>> groups) {
+        Map<String, Object> push = new HashMap<>();
+        int count = groups.stream().mapToInt(List::size).sum();
+        if (groups.size() == 1) {
+            List<DigestItem> items = groups.get(0);
+            DigestItem first = items.get(0);
+            push.put("action", first.type().name());
+            push.put("title", first.title());
+            push.put("workspaceId", first.workspaceId());
+            push.put("taskId", items.size() == 1 ? first.taskId() : null);
+        } else {
+            push.put("action", "DIGEST");
+            push.put("title", "Taskify");
+        }
+        push.put("message", groups.stream().map(NotificationDigestService::describe).collect(Collectors.joining("\n")));
+        push.put("count", count);
+        push.put("timestamp", System.currentTimeMillis());
+        return push;
+    }
+
+    private static NotificationDraftDTO toDraft(List<DigestItem> items) {
+        DigestItem first = items.get(0);
+        boolean single = items.size() == 1;
+        return NotificationDraftDTO.builder()
+                .type(first.type())
+                .title(first.title())
+                .message(describe(items))
+                .userId(first.userId())
+                .email(first.email())
+                .workspaceId(first.workspaceId())
+                .taskId(single ? first.taskId() : null)
+                .actionUrl(single ? first.actionUrl() : null)
+                .build();
+    }
+
+    private static String describe(List<DigestItem> items) {
+        DigestItem first = items.get(0);
+        return items.size() == 1 ? first.message() : summarize(first.type(), items.size(), first.workspaceName());
+    }
+
+    private String summarize(NotificationDigestGroupDTO group) {
+        return summarize(group.getType(), group.getCount(), group.getWorkspaceName());
+    }
+
+    private static String summarize(NotificationType type, long count, String workspaceName) {
+        boolean one = count == 1;
+        String where = workspaceName != null ? " no workspace '" + workspaceName + "'" : "";
+        return switch (type) {
+            case TASK_ASSIGNED -> count + (one ? " tarefa atribuída a você" : " tarefas atribuídas a você") + where + ".";
+            case WORKSPACE_INVITE -> count + (one ? " convite" : " convites")
+                    + (workspaceName != null ? " para o workspace '" + workspaceName + "'" : "") + ".";
+            case MEMBER_JOINED -> count + (one ? " novo membro entrou" : " novos membros entraram") + where + ".";
+            default -> count + (one ? " nova notificação" : " novas notificações") + where + ".";
+        };
+    }
+
+    /**
+     * Preferences for the given users, falling back to the defaults for users that never saved any.
+     */
+    private Map<Long, NotificationPreferences> loadPreferences(Collection<Long> userIds) {
+        Map<Long, NotificationPreferences> preferences = notificationPreferencesRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.toMap(p -> p.getUser().getId(), Function.identity()));
+
+        List<Long> missing = userIds.stream().filter(id -> !preferences.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            for (User user : userRepository.findAllById(missing)) {
+                preferences.put(user.getId(), NotificationPreferences.builder().user(user).build());
+            }
+        }
+        return preferences;
+    }
+
+    private static boolean allows(NotificationPreferences preferences, NotificationType type) {
+        return switch (type) {
+            case TASK_ASSIGNED -> isEnabled(preferences.getTaskAssignments());
+            case TASK_UPDATED, TASK_COMPLETED, DEPENDENCY_RESOLVED -> isEnabled(preferences.getTaskUpdates());
+            case TASK_DUE, TIME_TRACKING_REMINDER -> isEnabled(preferences.getDueDates());
+            case WORKSPACE_INVITE, MEMBER_JOINED -> isEnabled(preferences.getWorkspaceUpdates());
+            case COMMENT_ADDED -> isEnabled(preferences.getComments());
+        };
+    }
+
+    private static Duration digestPeriod(DigestFrequency frequency) {
+        if (frequency == null) {
+            return null;
+        }
+        return switch (frequency) {
+            case DAILY -> Duration.ofDays(1);
+            case WEEKLY -> Duration.ofDays(7);
+            case NONE -> null;
+        };
+    }
+
+    private static boolean isEnabled(Boolean flag) {
+        return !Boolean.FALSE.equals(flag);
+    }
+}
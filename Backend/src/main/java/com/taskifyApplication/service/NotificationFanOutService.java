@@ -0,0 +1,105 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.NotificationDto.NotificationDraftDTO;
+import com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO;
+import com.taskifyApplication.repository.WorkspaceMemberRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes notifications for many users at once: rows are written with JDBC batch inserts
+ * (notifications use IDENTITY keys, so Hibernate cannot batch them). Used by
+ * {@link NotificationDigestService} when it flushes a window of coalesced notifications.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationFanOutService {
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (type, title, message, user_id, workspace_id, task_id, action_url, is_read, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final WorkspaceMemberRepository workspaceMemberRepository;
+
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    @Value("${app.notifications.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Owner and members of a workspace, de-duplicated, resolved by projection without loading entities.
+     */
+    public List<NotificationRecipientDTO> resolveWorkspaceRecipients(Long workspaceId, Long excludedUserId) {
+        Map<Long, NotificationRecipientDTO> recipients = new LinkedHashMap<>();
+        workspaceRepository.findOwnerRecipient(workspaceId)
+                .ifPresent(owner -> recipients.put(owner.getId(), owner));
+        for (NotificationRecipientDTO member : workspaceMemberRepository.findRecipientsByWorkspaceId(workspaceId)) {
+            recipients.putIfAbsent(member.getId(), member);
+        }
+        if (excludedUserId != null) {
+            recipients.remove(excludedUserId);
+        }
+        return new ArrayList<>(recipients.values());
+    }
+
+    /**
+     * Persists the given notifications in one transaction using JDBC batches and bumps the unread
+     * counters of their owners. Delivery (push, email) is left to the caller.
+     *
+     * @return number of notification rows written
+     */
+    public int persist(List<NotificationDraftDTO> drafts) {
+        if (drafts == null || drafts.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, drafts, batchSize, (ps, draft) -> {
+                    ps.setString(1, draft.getType().name());
+                    ps.setString(2, draft.getTitle());
+                    ps.setString(3, draft.getMessage());
+                    ps.setLong(4, draft.getUserId());
+                    setNullableLong(ps, 5, draft.getWorkspaceId());
+                    setNullableLong(ps, 6, draft.getTaskId());
+                    ps.setString(7, draft.getActionUrl());
+                    ps.setBoolean(8, false);
+                    ps.setTimestamp(9, draft.getCreatedAt() != null ? Timestamp.from(draft.getCreatedAt()) : now);
+                }));
+
+        for (NotificationDraftDTO draft : drafts) {
+            unreadNotificationCounter.increment(draft.getEmail());
+        }
+
+        return drafts.size();
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
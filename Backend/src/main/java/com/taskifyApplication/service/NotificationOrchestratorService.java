@@ -1,21 +1,22 @@
 package com.taskifyApplication.service;
 
+import com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO;
 import com.taskifyApplication.model.Notification;
 import com.taskifyApplication.model.Task;
 import com.taskifyApplication.model.User;
 import com.taskifyApplication.model.Workspace;
-import com.taskifyApplication.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
+@Slf4j
 @Service
 public class NotificationOrchestratorService {
 
-    @Autowired
-    private NotificationRepository notificationRepository;
-
     @Autowired
     private EmailService emailService;
 
@@ -23,49 +24,48 @@ public class NotificationOrchestratorService {
     private String frontendBaseUrl;
     @Autowired
     private WebSocketService webSocketService;
+    @Autowired
+    private NotificationFanOutService notificationFanOutService;
+    @Autowired
+    private NotificationDigestService notificationDigestService;
 
     @Async("notificationExecutor")
     public void notifyUserOfTaskAssignment(User assigner, User assignee, Task task) {
         try {
             String title = "Task Assigned";
             String message = assigner.getFirstName() + " atribuiu a tarefa '" + task.getTitle() + "' a você.";
-            Notification notification = new Notification();
-            notification.setType(Notification.NotificationType.TASK_ASSIGNED);
-            notification.setTitle(title);
-            notification.setUser(assignee);
-            notification.setTask(task);
-            notification.setWorkspace(task.getWorkspace());
-            notification.setMessage(message);
-            notification.setRead(false);
-            notificationRepository.save(notification);
-            webSocketService.notifyTaskAssignment(task, assignee, assigner);
-            sendTaskAssignmentEmail(assignee, assigner, task);
+            Workspace workspace = task.getWorkspace();
+
+            // Rows, push and email are produced by the digest engine once the user's window closes
+            notificationDigestService.enqueue(new NotificationDigestService.DigestItem(
+                    assignee.getId(), assignee.getEmail(), assignee.getFirstName(),
+                    Notification.NotificationType.TASK_ASSIGNED, title, message,
+                    workspace.getId(), workspace.getName(), task.getId(), null,
+                    taskAssignmentEmail(assignee, assigner, task)
+            ));
 
         } catch (Exception e) {
-            System.err.println("Error processing task assignment notification: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error processing task assignment notification", e);
         }
     }
 
-    @Async("emailExecutor")
-    protected void sendTaskAssignmentEmail(User assignee, User assigner, Task task) {
-        try {
-            String dueDate = (task.getDueDate() != null) ? task.getDueDate().toString() : "N/A";
-            String taskLink = frontendBaseUrl + "/workspaces/" + task.getWorkspace().getId() + "/tasks/" + task.getId();
-
-            emailService.sendTaskAssignedEmail(
-                    assignee.getEmail(),
-                    assignee.getFirstName(),
-                    assigner.getFirstName(),
-                    task.getWorkspace().getName(),
-                    task.getTitle(),
-                    dueDate,
-                    taskLink
-            );
-        } catch (Exception e) {
-            System.err.println("Error sending task assignment email: " + e.getMessage());
-            e.printStackTrace();
-        }
+    // Email arguments are captured now; the digest may send the email after the entities are detached
+    private Runnable taskAssignmentEmail(User assignee, User assigner, Task task) {
+        String to = assignee.getEmail();
+        String assigneeName = assignee.getFirstName();
+        String assignerName = assigner.getFirstName();
+        String workspaceName = task.getWorkspace().getName();
+        String taskTitle = task.getTitle();
+        String dueDate = (task.getDueDate() != null) ? task.getDueDate().toString() : "N/A";
+        String taskLink = frontendBaseUrl + "/workspaces/" + task.getWorkspace().getId() + "/tasks/" + task.getId();
+
+        return () -> {
+            try {
+                emailService.sendTaskAssignedEmail(to, assigneeName, assignerName, workspaceName, taskTitle, dueDate, taskLink);
+            } catch (Exception e) {
+                log.error("Error sending task assignment email", e);
+            }
+        };
     }
 
     @Async("notificationExecutor")
@@ -73,69 +73,55 @@ public class NotificationOrchestratorService {
         try {
             String title = "Workspace Invite";
             String message = inviter.getFirstName() + " convidou você para o workspace '" + workspace.getName() + "'.";
-            Notification notification = new Notification();
-            notification.setType(Notification.NotificationType.WORKSPACE_INVITE);
-            notification.setTitle(title);
-            notification.setUser(invitedUser);
-            notification.setMessage(message);
-            notification.setWorkspace(workspace);
-            notification.setRead(false);
-            notificationRepository.save(notification);
-            webSocketService.notifyWorkspaceInvite(workspace, invitedUser, inviter);
-
-            // Send email notification asynchronously
-            sendWorkspaceInviteEmail(invitedUser, inviter, workspace);
+
+            notificationDigestService.enqueue(new NotificationDigestService.DigestItem(
+                    invitedUser.getId(), invitedUser.getEmail(), invitedUser.getFirstName(),
+                    Notification.NotificationType.WORKSPACE_INVITE, title, message,
+                    workspace.getId(), workspace.getName(), null, null,
+                    workspaceInviteEmail(invitedUser, inviter, workspace)
+            ));
 
         } catch (Exception e) {
-            System.err.println("Error processing workspace invite notification: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error processing workspace invite notification", e);
         }
     }
 
-    @Async("emailExecutor")
-    protected void sendWorkspaceInviteEmail(User invitedUser, User inviter, Workspace workspace) {
-        try {
-            String inviteLink = frontendBaseUrl + "/workspaces/join?code=" + workspace.getInviteCode();
-
-            emailService.sendWorkspaceInviteEmail(
-                    invitedUser.getEmail(),
-                    inviter.getFirstName(),
-                    workspace.getName(),
-                    inviteLink
-            );
-        } catch (Exception e) {
-            System.err.println("Error sending workspace invite email: " + e.getMessage());
-            e.printStackTrace();
-        }
+    private Runnable workspaceInviteEmail(User invitedUser, User inviter, Workspace workspace) {
+        String to = invitedUser.getEmail();
+        String inviterName = inviter.getFirstName();
+        String workspaceName = workspace.getName();
+        String inviteLink = frontendBaseUrl + "/workspaces/join?code=" + workspace.getInviteCode();
+
+        return () -> {
+            try {
+                emailService.sendWorkspaceInviteEmail(to, inviterName, workspaceName, inviteLink);
+            } catch (Exception e) {
+                log.error("Error sending workspace invite email", e);
+            }
+        };
     }
 
     @Async("notificationExecutor")
     public void notifyMembersOfNewJoinee(Workspace workspace, User newMember) {
         try {
             String message = newMember.getFirstName() + " " + newMember.getLastName() + " entrou no workspace.";
-            if (!workspace.getOwner().equals(newMember)) {
-                createAndSaveNotification(workspace.getOwner(), message);
+            Long workspaceId = workspace.getId();
+
+            // Recipients come from an id/email projection; the workspace graph is never walked here
+            List<NotificationRecipientDTO> recipients =
+                    notificationFanOutService.resolveWorkspaceRecipients(workspaceId, newMember.getId());
+            for (NotificationRecipientDTO recipient : recipients) {
+                notificationDigestService.enqueue(new NotificationDigestService.DigestItem(
+                        recipient.getId(), recipient.getEmail(), null,
+                        Notification.NotificationType.MEMBER_JOINED, "New Member", message,
+                        workspaceId, workspace.getName(), null, null,
+                        null
+                ));
             }
-            workspace.getMembers().forEach(member -> {
-                if (!member.getUser().equals(newMember)) {
-                    createAndSaveNotification(member.getUser(), message);
-                }
-            });
-            webSocketService.notifyWorkspaceActivity(workspace.getId(), message, newMember);
+            webSocketService.notifyWorkspaceActivity(workspaceId, message, newMember);
 
         } catch (Exception e) {
-            System.err.println("Error processing new joinee notification: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error processing new joinee notification", e);
         }
     }
-
-    private void createAndSaveNotification(User user, String message) {
-        Notification notification = new Notification();
-        notification.setType(Notification.NotificationType.MEMBER_JOINED);
-        notification.setTitle("New Member");
-        notification.setUser(user);
-        notification.setMessage(message);
-        notification.setRead(false);
-        notificationRepository.save(notification);
-    }
 }
\ No newline at end of file
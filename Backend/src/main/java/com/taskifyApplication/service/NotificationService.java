@@ -12,6 +12,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
@@ -26,6 +27,7 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserService userService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     public void createNotification(Notification.NotificationType type, String title, String message,
                                    User user, Workspace workspace, Task task, String actionUrl,
@@ -43,6 +45,7 @@ public class NotificationService {
                 .build();
 
         notificationRepository.save(notification);
+        unreadNotificationCounter.increment(user.getEmail());
     }
 
     public Page<Notification> getUserNotifications(Boolean read, String type, Long workspaceId, Pageable pageable) {
@@ -59,8 +62,9 @@ public class NotificationService {
     }
 
     public Long getUnreadCount() {
-        User currentUser = userService.getCurrentUser();
-        return notificationRepository.countUnreadByUser(currentUser);
+        // Served from the maintained counter; the authentication name is the user's email
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return unreadNotificationCounter.getUnreadCount(email);
     }
 
     public void markAsRead(Long notificationId) {
@@ -72,13 +76,16 @@ public class NotificationService {
             throw new ForbiddenException("You do not have permission to access this notification.");
         }
 
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        // Only the request that actually flips the flag decrements, so concurrent reads cannot double count
+        if (notificationRepository.markAsReadIfUnread(notificationId) == 1) {
+            unreadNotificationCounter.decrement(currentUser.getEmail());
+        }
     }
 
     public void markAllAsRead() {
         User currentUser = userService.getCurrentUser();
         notificationRepository.markAllAsReadForUser(currentUser);
+        unreadNotificationCounter.reset(currentUser.getEmail());
     }
 
     public void deleteNotification(Long notificationId) {
@@ -90,6 +97,10 @@ public class NotificationService {
             throw new ForbiddenException("You do not have permission to delete this notification.");
         }
 
-        notificationRepository.delete(notification);
+        if (notificationRepository.deleteIfUnread(notificationId) == 1) {
+            unreadNotificationCounter.decrement(currentUser.getEmail());
+        } else {
+            notificationRepository.removeById(notificationId);
+        }
     }
 }
\ No newline at end of file
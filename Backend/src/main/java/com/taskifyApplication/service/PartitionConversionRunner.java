@@ -0,0 +1,47 @@
+package com.taskifyApplication.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admin command that converts {@code activities} and {@code task_history} to partitioned tables,
+ * then stops the application:
+ * <pre>
+ * java -jar taskify.jar --spring.main.web-application-type=none --convert-partitions
+ * </pre>
+ * The copy locks both tables for its whole duration, so run it while the application is down.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionConversionRunner implements ApplicationRunner {
+
+    static final String OPTION = "convert-partitions";
+
+    private final PartitionMaintenanceService partitionMaintenanceService;
+
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        int exitCode = 0;
+        try {
+            partitionMaintenanceService.convertTables();
+            log.info("Partition conversion finished");
+        } catch (Exception e) {
+            log.error("Partition conversion failed", e);
+            exitCode = 1;
+        }
+        int status = exitCode;
+        System.exit(SpringApplication.exit(context, () -> status));
+    }
+}
@@ -0,0 +1,354 @@
+package com.taskifyApplication.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code activities} and {@code task_history} as monthly range-partitioned tables on
+ * PostgreSQL.
+ * <p>
+ * Hibernate creates both as plain tables. Converting them (rows copied into monthly partitions,
+ * the primary key widened to include the partition column as PostgreSQL requires) holds an
+ * ACCESS EXCLUSIVE lock for the whole copy, so it never happens on its own: an operator runs it
+ * once, during a maintenance window, with {@code --convert-partitions} (see
+ * {@link PartitionConversionRunner}).
+ * <p>
+ * Once a table is partitioned, every run makes sure partitions exist a few months ahead. Retention
+ * is opt-in: with {@code retention-months} set for a table, partitions that fall out of the window
+ * are written to {@code <archive-dir>/<table>/<partition>.csv.gz}, detached and dropped, and the
+ * archive directory must then be given as an absolute path on durable storage. Dropping a whole
+ * partition is a metadata operation, so retention never turns into a large DELETE, and queries
+ * bounded by time only scan the partitions they cover.
+ * <p>
+ * Other databases (H2 in tests) are left alone.
+ */
+@Slf4j
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_p(\\d{4})_(\\d{2})$");
+
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    // Arbitrary key shared by every instance so only one runs maintenance at a time
+    private static final long ADVISORY_LOCK_KEY = 0x7461736b70617274L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final List<PartitionedTable> tables;
+
+    @Value("${app.partitions.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    private final String archiveDir;
+
+    @Value("${app.partitions.archive-fetch-size:1000}")
+    private int archiveFetchSize;
+
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${app.partitions.activities.retention-months:0}") int activitiesRetention,
+                                       @Value("${app.partitions.task-history.retention-months:0}") int historyRetention,
+                                       @Value("${app.partitions.archive-dir:}") String archiveDir) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tables = List.of(
+                new PartitionedTable("activities", "created_at", activitiesRetention),
+                new PartitionedTable("task_history", "changed_at", historyRetention));
+        this.archiveDir = archiveDir;
+
+        // Dropped partitions only survive in the archive, so it must not land on a relative, ephemeral path
+        boolean retention = tables.stream().anyMatch(table -> table.retentionMonths() > 0);
+        if (retention && (archiveDir.isBlank() || !Paths.get(archiveDir).isAbsolute())) {
+            throw new IllegalStateException(
+                    "app.partitions.archive-dir must be an absolute path when partition retention is enabled");
+        }
+    }
+
+    @Scheduled(cron = "${app.partitions.cron:0 30 3 * * *}")
+    public void runMaintenance() {
+        if (!enabled || !isPostgres()) {
+            return;
+        }
+        for (PartitionedTable table : tables) {
+            try {
+                Boolean locked = transactionTemplate.execute(tx -> {
+                    if (!tryLock()) {
+                        return false;
+                    }
+                    ensurePartitions(table);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(locked)) {
+                    applyRetention(table);
+                }
+            } catch (Exception e) {
+                log.error("Partition maintenance failed for {}", table.name(), e);
+            }
+        }
+    }
+
+    /**
+     * Converts every table that is still a plain table. Each conversion runs in its own
+     * transaction, so a failure leaves that table as it was.
+     *
+     * @throws IllegalStateException if another instance is running maintenance
+     */
+    public void convertTables() {
+        if (!isPostgres()) {
+            log.info("Partition conversion only applies to PostgreSQL");
+            return;
+        }
+        for (PartitionedTable table : tables) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (!tryLock()) {
+                    throw new IllegalStateException("Partition maintenance is running on another instance");
+                }
+                convertIfNeeded(table);
+                ensurePartitions(table);
+            });
+        }
+    }
+
+    /**
+     * One-off migration of a plain Hibernate-created table to a partitioned one. Runs inside the
+     * caller's transaction, so a failure leaves the original table untouched.
+     */
+    private void convertIfNeeded(PartitionedTable table) {
+        String kind = jdbcTemplate.query("SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)",
+                rs -> rs.next() ? rs.getString(1) : null, table.name());
+        if (!"r".equals(kind)) {
+            // Missing (nothing to convert yet) or already partitioned
+            return;
+        }
+
+        String legacy = table.name() + "_legacy";
+        log.info("Converting {} to a partitioned table", table.name());
+
+        jdbcTemplate.execute("LOCK TABLE " + table.name() + " IN ACCESS EXCLUSIVE MODE");
+
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT 'CONSTRAINT ' || quote_ident(conname) || ' ' || pg_get_constraintdef(oid) " +
+                "FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'f'",
+                String.class, table.name());
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT i.indexdef FROM pg_indexes i " +
+                "WHERE i.tablename = ? AND i.schemaname = current_schema() AND NOT EXISTS (" +
+                "  SELECT 1 FROM pg_constraint c WHERE c.conindid = to_regclass(quote_ident(i.indexname)))",
+                String.class, table.name());
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table.name(), Long.class);
+        LocalDate oldest = jdbcTemplate.queryForObject(
+                "SELECT CAST(MIN(" + table.column() + ") AS date) FROM " + table.name(), LocalDate.class);
+
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " RENAME TO " + legacy);
+        jdbcTemplate.execute("CREATE TABLE " + table.name() + " (LIKE " + legacy + " INCLUDING DEFAULTS) " +
+                "PARTITION BY RANGE (" + table.column() + ")");
+
+        YearMonth from = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        createMonthlyPartitions(table, from, YearMonth.now().plusMonths(premakeMonths));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.name() + "_default PARTITION OF " + table.name() + " DEFAULT");
+
+        jdbcTemplate.execute("INSERT INTO " + table.name() + " SELECT * FROM " + legacy);
+        jdbcTemplate.execute("DROP TABLE " + legacy);
+
+        // The identity sequence went with the old table; ids continue from where it stopped
+        String sequence = table.name() + "_id_seq";
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " OWNED BY " + table.name() + ".id");
+        jdbcTemplate.queryForObject("SELECT setval(CAST(? AS regclass), ?, ?)", Long.class, sequence, Math.max(maxId, 1), maxId > 0);
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+
+        // Unique constraints on a partitioned table must contain the partition column
+        jdbcTemplate.execute("ALTER TABLE " + table.name() + " ADD PRIMARY KEY (id, " + table.column() + ")");
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + table.name() + " ADD " + foreignKey);
+        }
+        // Read before the rename, so the definitions already name the new parent; indexes on it
+        // cascade to every partition
+        for (String index : indexes) {
+            jdbcTemplate.execute(index);
+        }
+    }
+
+    private void ensurePartitions(PartitionedTable table) {
+        if (!isPartitioned(table)) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        createMonthlyPartitions(table, current.minusMonths(1), current.plusMonths(premakeMonths));
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table.name() + "_default PARTITION OF " + table.name() + " DEFAULT");
+    }
+
+    private void createMonthlyPartitions(PartitionedTable table, YearMonth from, YearMonth to) {
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            jdbcTemplate.execute(createPartitionSql(table.name(), month));
+        }
+    }
+
+    static String createPartitionSql(String table, YearMonth month) {
+        return "CREATE TABLE IF NOT EXISTS " + partitionName(table, month) + " PARTITION OF " + table +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    /**
+     * Archives and drops every monthly partition entirely older than the retention window. Each
+     * partition is handled in its own transaction: the archive file is complete on disk before
+     * the partition is dropped, and a failed archive keeps the data.
+     */
+    private void applyRetention(PartitionedTable table) {
+        if (table.retentionMonths() <= 0 || !isPartitioned(table)) {
+            return;
+        }
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = to_regclass(?)", String.class, table.name());
+
+        for (String name : expiredPartitions(partitions, YearMonth.now(), table.retentionMonths())) {
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    if (!tryLock()) {
+                        return;
+                    }
+                    Path archive = archivePartition(table, name);
+                    jdbcTemplate.execute("ALTER TABLE " + table.name() + " DETACH PARTITION " + name);
+                    jdbcTemplate.execute("DROP TABLE " + name);
+                    log.info("Dropped partition {} (archived to {})", name, archive);
+                });
+            } catch (Exception e) {
+                log.error("Failed to expire partition {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * Monthly partitions whose whole month lies before the retention window, oldest first. The
+     * default partition and anything not named like a monthly partition are never selected.
+     */
+    static List<String> expiredPartitions(List<String> partitions, YearMonth current, int retentionMonths) {
+        YearMonth cutoff = current.minusMonths(retentionMonths);
+        Map<YearMonth, String> expired = new TreeMap<>();
+        for (String name : partitions) {
+            Matcher matcher = PARTITION_SUFFIX.matcher(name);
+            if (matcher.find()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (month.isBefore(cutoff)) {
+                    expired.put(month, name);
+                }
+            }
+        }
+        return List.copyOf(expired.values());
+    }
+
+    /**
+     * Streams the partition to a gzipped CSV with a server-side cursor, so memory use does not
+     * depend on partition size. The file only appears under its final name once fully written.
+     */
+    private Path archivePartition(PartitionedTable table, String partition) {
+        Path directory = Paths.get(archiveDir, table.name());
+        Path target = directory.resolve(partition + ".csv.gz");
+        Path temp = directory.resolve(partition + ".csv.gz.part");
+
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(temp)), StandardCharsets.UTF_8))) {
+
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    try (var statement = connection.createStatement()) {
+                        statement.setFetchSize(archiveFetchSize);
+                        try (var rs = statement.executeQuery("SELECT * FROM " + partition + " ORDER BY id")) {
+                            ResultSetMetaData meta = rs.getMetaData();
+                            int columns = meta.getColumnCount();
+                            for (int i = 1; i <= columns; i++) {
+                                writeCsvValue(writer, meta.getColumnName(i), i == columns);
+                            }
+                            while (rs.next()) {
+                                for (int i = 1; i <= columns; i++) {
+                                    writeCsvValue(writer, rs.getString(i), i == columns);
+                                }
+                            }
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return target;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // The next run overwrites it
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvValue(Writer writer, String value, boolean last) throws IOException {
+        if (value != null) {
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write(last ? '\n' : ',');
+    }
+
+    private boolean isPartitioned(PartitionedTable table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(?))",
+                Boolean.class, table.name()));
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ADVISORY_LOCK_KEY));
+    }
+
+    private boolean isPostgres() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equalsIgnoreCase(product);
+    }
+
+    static String partitionName(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX_FORMAT);
+    }
+
+    private record PartitionedTable(String name, String column, int retentionMonths) {}
+}
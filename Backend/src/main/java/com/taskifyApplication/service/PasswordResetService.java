@@ -19,6 +19,7 @@ import java.security.SecureRandom;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
+import java.util.Optional;
 import java.util.UUID;
 
 @Transactional
@@ -58,17 +59,32 @@ public class PasswordResetService {
 
         tokens.deleteAllByUser(user);
 
-        String rawToken = generateToken();
-        String tokenHash = sha256Hex(rawToken);
-
+        // Placeholder hash; the token that gets emailed is minted by issueResetLink when the email is sent
         var entity = new PasswordResetToken();
         entity.setUser(user);
-        entity.setTokenHash(tokenHash);
+        entity.setTokenHash(sha256Hex(generateToken()));
         entity.setExpiresAt(Instant.now().plusSeconds(tokenTtlMinutes * 60L));
         tokens.save(entity);
 
         // Use the EmailService for HTML template-based email
-        emailService.sendPasswordResetEmail(user.getEmail(), user.getFirstName(), rawToken);
+        emailService.sendPasswordResetEmail(user.getEmail(), user.getFirstName(), entity.getId());
+    }
+
+    /**
+     * Mints a fresh raw token for a still-valid reset request and returns the link to email. Only
+     * the hash is stored, so each call invalidates the link of the previous one.
+     *
+     * @return empty if the request was used, expired or replaced by a newer one
+     */
+    public Optional<String> issueResetLink(UUID tokenId) {
+        return tokens.findById(tokenId)
+                .filter(token -> token.getUsedAt() == null && Instant.now().isBefore(token.getExpiresAt()))
+                .map(token -> {
+                    String rawToken = generateToken();
+                    token.setTokenHash(sha256Hex(rawToken));
+                    tokens.save(token);
+                    return frontendBaseUrl + "/reset-password?token=" + rawToken;
+                });
     }
 
     public void finishReset(String rawToken, String newPassword) {
@@ -129,6 +145,6 @@ public class PasswordResetService {
         myToken.setTokenHash(passwordEncoder.encode(token));
         myToken.setExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS));
         passwordResetTokenRepository.save(myToken);
-        emailService.sendPasswordResetEmail(user.getEmail(), user.getFirstName(), token);
+        emailService.sendPasswordResetEmail(user.getEmail(), user.getFirstName(), myToken.getId());
     }
 }
\ No newline at end of file
@@ -2,16 +2,27 @@ package com.taskifyApplication.service;
 
 import com.taskifyApplication.dto.TaskDto.TaskHistoryDTO;
 import com.taskifyApplication.dto.UserDto.UserSummaryDTO;
+import com.taskifyApplication.dto.common.PurgeResultDTO;
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.exception.ResourceNotFoundException;
 import com.taskifyApplication.model.Task;
 import com.taskifyApplication.model.TaskHistory;
 import com.taskifyApplication.model.User;
+import com.taskifyApplication.model.Workspace;
 import com.taskifyApplication.repository.TaskHistoryRepository;
+import com.taskifyApplication.repository.TaskRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,9 +33,27 @@ public class TaskHistoryService {
     @Autowired
     private TaskHistoryRepository taskHistoryRepository;
 
+    @Autowired
+    private TaskRepository taskRepository;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private WorkspaceService workspaceService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.history.purge-batch-size:5000}")
+    private int purgeBatchSize;
+
+    @Value("${app.history.feed-window:P365D}")
+    private Duration feedWindow;
+
     public void recordChange(Task task, String fieldChanged, String oldValue, String newValue, String description) {
         User currentUser = userService.getCurrentUser();
         
@@ -52,22 +81,50 @@ public class TaskHistoryService {
         return history.map(this::convertToDTO);
     }
 
-    public Page<TaskHistoryDTO> getWorkspaceHistory(Long workspaceId, Pageable pageable) {
-        Page<TaskHistory> history = taskHistoryRepository.findByWorkspaceIdOrderByChangedAtDesc(workspaceId, pageable);
+    /**
+     * Workspace history since the given time, or over the last {@code app.history.feed-window}.
+     */
+    public Page<TaskHistoryDTO> getWorkspaceHistory(Long workspaceId, OffsetDateTime since, Pageable pageable) {
+        OffsetDateTime from = since != null ? since : OffsetDateTime.now().minus(feedWindow);
+        Page<TaskHistory> history = taskHistoryRepository.findByWorkspaceIdSince(workspaceId, from, pageable);
         return history.map(this::convertToDTO);
     }
 
-    public void clearTaskHistory(Long taskId) {
-        List<TaskHistory> historyEntries = taskHistoryRepository.findByTaskIdOrderByChangedAtDesc(taskId);
-        taskHistoryRepository.deleteAll(historyEntries);
+    public PurgeResultDTO clearTaskHistory(Long taskId) {
+        Task task = taskRepository.findById(taskId)
+            .orElseThrow(() -> new ResourceNotFoundException("Task not found"));
+        if (!workspaceService.canUserManageWorkspace(task.getWorkspace())) {
+            throw new ForbiddenException("Only workspace owners and admins can clear task history.");
+        }
+
+        int deleted = taskHistoryRepository.deleteAllByTaskId(taskId);
+        return new PurgeResultDTO(deleted, 1);
     }
 
-    public void clearWorkspaceHistory(Long workspaceId) {
-        List<TaskHistory> allHistory = taskHistoryRepository.findAll();
-        List<TaskHistory> workspaceHistory = allHistory.stream()
-            .filter(h -> h.getTask().getWorkspace().getId().equals(workspaceId))
-            .toList();
-        taskHistoryRepository.deleteAll(workspaceHistory);
+    /**
+     * Deletes the workspace's history with set-based DELETEs joined through tasks, one bounded
+     * batch per transaction so locks and undo stay small however large the workspace is.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PurgeResultDTO clearWorkspaceHistory(Long workspaceId) {
+        Workspace workspace = workspaceRepository.findById(workspaceId)
+            .orElseThrow(() -> new ResourceNotFoundException("Workspace not found"));
+        if (!workspaceService.canUserManageWorkspace(workspace)) {
+            throw new ForbiddenException("Only workspace owners and admins can clear its history.");
+        }
+
+        long deleted = 0;
+        int batches = 0;
+        int removed;
+        do {
+            Integer batch = transactionTemplate.execute(tx ->
+                taskHistoryRepository.deleteWorkspaceHistoryBatch(workspaceId, purgeBatchSize));
+            removed = batch != null ? batch : 0;
+            deleted += removed;
+            batches++;
+        } while (removed == purgeBatchSize);
+
+        return new PurgeResultDTO(deleted, batches);
     }
 
     private TaskHistoryDTO convertToDTO(TaskHistory history) {
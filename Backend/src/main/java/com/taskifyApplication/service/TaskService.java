@@ -16,6 +16,7 @@ import com.taskifyApplication.repository.*;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -32,6 +33,7 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed(value = "taskify.task.service", description = "TaskService method calls")
 public class TaskService {
     // region REPOSITORIES
     @Autowired
@@ -53,8 +55,14 @@ public class TaskService {
     @Autowired
     private AttachmentService attachmentService;
     @Autowired
+    private AttachmentBlobService attachmentBlobService;
+    @Autowired
     private TimeTrackingRepository timeTrackingRepository;
     @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+    @Autowired
+    private TimeAggregateService timeAggregateService;
+    @Autowired
     private TaskStatusRepository taskStatusRepository;
     @PersistenceContext
     private EntityManager entityManager;
@@ -222,7 +230,9 @@ public class TaskService {
 
         List<TimeTracking> timeTrackings = timeTrackingRepository.findByTaskIdOrderByCreatedAtDesc(taskId);
         if(!timeTrackings.isEmpty()){
+            timeAggregateService.removeTasks(List.of(taskId));
             timeTrackingRepository.deleteByTaskId(taskId);
+            activeTimerRegistry.removeTasks(List.of(taskId));
         }
         
         try {
@@ -230,6 +240,7 @@ public class TaskService {
                     .setParameter("taskId", taskId)
                     .executeUpdate();
 
+            attachmentBlobService.releaseAll(task.getAttachments());
             taskRepository.deleteById(taskId);
             
         } catch (Exception e) {
@@ -489,7 +500,7 @@ public class TaskService {
         return dto;
     }
 
-    private TaskDetailDTO convertToTaskDetailDto(Task task) {
+    TaskDetailDTO convertToTaskDetailDto(Task task) {
         TaskDetailDTO dto = new TaskDetailDTO();
         dto.setId(task.getId());
         dto.setTitle(task.getTitle());
@@ -566,6 +577,7 @@ public class TaskService {
         dto.setMimeType(attachment.getMimeType());
         dto.setSize(attachment.getSize());
         dto.setUploadedAt(attachment.getUploadedAt());
+        dto.setThumbnailUrl(attachment.getThumbnailPath());
 
         if (attachment.getUploadedBy() != null) {
             User uploadedBy = attachment.getUploadedBy();
@@ -801,7 +813,12 @@ public class TaskService {
                 currentUser
             );
         }
-        
+
+        tasks.forEach(task -> attachmentBlobService.releaseAll(task.getAttachments()));
+        List<Long> deletedIds = tasks.stream().map(Task::getId).toList();
+        timeAggregateService.removeTasks(deletedIds);
+        timeTrackingRepository.deleteByTaskIdIn(deletedIds);
+        activeTimerRegistry.removeTasks(deletedIds);
         taskRepository.deleteAll(tasks);
     }
 
@@ -0,0 +1,257 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.storage.BlobStorage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Generates small previews for image attachments in the background.
+ * <p>
+ * Work is submitted after the upload commits to the bounded {@code thumbnailExecutor}. When its
+ * queue is full the job is simply not taken: the attachment stays {@code PENDING} and the periodic
+ * sweep offers it again later, so a burst of uploads degrades into slower previews rather than
+ * unbounded memory or blocked request threads. Thumbnails are stored next to the original under
+ * {@code <key>.thumb} and shared by every attachment with the same content.
+ * <p>
+ * Only formats the running JDK has an ImageIO reader for get a thumbnail; the rest (WebP on a
+ * stock JDK) are left without one instead of being marked failed.
+ */
+@Slf4j
+@Service
+public class ThumbnailService {
+
+    private static final String THUMBNAIL_SUFFIX = ".thumb";
+
+    private static final Set<String> SUPPORTED_TYPES = readableTypes("image/jpeg", "image/png", "image/gif", "image/webp");
+
+    private final AttachmentRepository attachmentRepository;
+
+    private final BlobStorage blobStorage;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Executor thumbnailExecutor;
+
+    // Storage keys being processed; deduplicated content is rendered once
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.thumbnails.max-dimension:320}")
+    private int maxDimension;
+
+    @Value("${app.thumbnails.sweep-batch-size:50}")
+    private int sweepBatchSize;
+
+    public ThumbnailService(AttachmentRepository attachmentRepository,
+                            BlobStorage blobStorage,
+                            TransactionTemplate transactionTemplate,
+                            @Qualifier("thumbnailExecutor") Executor thumbnailExecutor) {
+        this.attachmentRepository = attachmentRepository;
+        this.blobStorage = blobStorage;
+        this.transactionTemplate = transactionTemplate;
+        this.thumbnailExecutor = thumbnailExecutor;
+    }
+
+    public boolean supports(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        String type = mimeType.toLowerCase();
+        return SUPPORTED_TYPES.contains("image/jpg".equals(type) ? "image/jpeg" : type);
+    }
+
+    /**
+     * Prepares a new attachment: reuses an existing thumbnail of the same content, or marks it
+     * pending and schedules generation once the surrounding transaction commits.
+     */
+    public void prepare(Attachment attachment) {
+        if (!supports(attachment.getMimeType())) {
+            return;
+        }
+
+        List<String> existing = attachmentRepository.findReadyThumbnailPaths(attachment.getFilename(), PageRequest.of(0, 1));
+        if (!existing.isEmpty()) {
+            attachment.setThumbnailStatus(Attachment.ThumbnailStatus.READY);
+            attachment.setThumbnailPath(existing.get(0));
+            return;
+        }
+
+        attachment.setThumbnailStatus(Attachment.ThumbnailStatus.PENDING);
+        String storageKey = attachment.getFilename();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(storageKey);
+                }
+            });
+        } else {
+            submit(storageKey);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.thumbnails.sweep-interval:PT1M}")
+    public void sweepPending() {
+        try {
+            // Skip very recent uploads; their after-commit submission is probably still queued
+            List<Attachment> pending = attachmentRepository.findByThumbnailStatus(
+                    Attachment.ThumbnailStatus.PENDING,
+                    OffsetDateTime.now().minus(Duration.ofMinutes(1)),
+                    PageRequest.of(0, sweepBatchSize));
+            for (Attachment attachment : pending) {
+                if (!submit(attachment.getFilename())) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Thumbnail sweep failed", e);
+        }
+    }
+
+    private static Set<String> readableTypes(String... mimeTypes) {
+        return Arrays.stream(mimeTypes)
+                .filter(type -> ImageIO.getImageReadersByMIMEType(type).hasNext())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public static String thumbnailKey(String storageKey) {
+        return storageKey + THUMBNAIL_SUFFIX;
+    }
+
+    /**
+     * @return false when the executor is saturated and the job was left for a later sweep
+     */
+    private boolean submit(String storageKey) {
+        if (!inFlight.add(storageKey)) {
+            return true;
+        }
+        try {
+            thumbnailExecutor.execute(() -> {
+                try {
+                    generate(storageKey);
+                } finally {
+                    inFlight.remove(storageKey);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(storageKey);
+            return false;
+        }
+    }
+
+    private void generate(String storageKey) {
+        Attachment.ThumbnailStatus status;
+        String thumbnailPath = null;
+
+        try {
+            BufferedImage source = readDownsampled(storageKey);
+            if (source == null) {
+                // The content does not decode as any readable format, whatever its declared type
+                status = Attachment.ThumbnailStatus.FAILED;
+            } else {
+                byte[] thumbnail = encode(resize(source));
+                String key = thumbnailKey(storageKey);
+                blobStorage.storeAt(key, new ByteArrayInputStream(thumbnail), "image/jpeg");
+                status = Attachment.ThumbnailStatus.READY;
+                thumbnailPath = blobStorage.publicUrl(key);
+            }
+        } catch (Exception e) {
+            log.warn("Thumbnail generation failed for {}", storageKey, e);
+            status = Attachment.ThumbnailStatus.FAILED;
+        }
+
+        Attachment.ThumbnailStatus finalStatus = status;
+        String finalPath = thumbnailPath;
+        transactionTemplate.executeWithoutResult(tx ->
+                attachmentRepository.updateThumbnail(storageKey, finalStatus, finalPath));
+    }
+
+    /**
+     * Decodes the image with source subsampling so a huge original is never fully expanded in memory.
+     */
+    private BufferedImage readDownsampled(String storageKey) throws IOException {
+        try (InputStream in = blobStorage.open(storageKey);
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            if (imageInput == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int largestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, largestSide / (maxDimension * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source) {
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG has no alpha; transparent areas become white
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg", out)) {
+            throw new IOException("No JPEG writer available");
+        }
+        return out.toByteArray();
+    }
+}
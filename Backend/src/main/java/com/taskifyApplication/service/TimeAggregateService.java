@@ -0,0 +1,193 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.TimeTrackingDto.TimesheetDTO;
+import com.taskifyApplication.dto.TimeTrackingDto.TimesheetRowDTO;
+import com.taskifyApplication.exception.BadRequestException;
+import com.taskifyApplication.model.TaskTimeTotal;
+import com.taskifyApplication.model.TimesheetBucket;
+import com.taskifyApplication.model.Workspace;
+import com.taskifyApplication.repository.TaskTimeTotalRepository;
+import com.taskifyApplication.repository.TimesheetBucketRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Maintained time aggregates: a running total per task and per-user/workspace/day timesheet
+ * buckets. Both are adjusted with atomic upserts in the same transaction that closes, edits or
+ * deletes a session, so they always agree with {@code time_tracking} without summing it.
+ * Only closed sessions count; running timers are added by the caller from
+ * {@link ActiveTimerRegistry}.
+ */
+@Slf4j
+@Service
+public class TimeAggregateService {
+
+    private final TaskTimeTotalRepository taskTimeTotalRepository;
+
+    private final TimesheetBucketRepository timesheetBucketRepository;
+
+    private final WorkspaceRepository workspaceRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ZoneId zone;
+
+    private final boolean backfillOnStartup;
+
+    public TimeAggregateService(TaskTimeTotalRepository taskTimeTotalRepository,
+                                TimesheetBucketRepository timesheetBucketRepository,
+                                WorkspaceRepository workspaceRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${app.timesheet.zone:UTC}") String zone,
+                                @Value("${app.time-aggregates.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.taskTimeTotalRepository = taskTimeTotalRepository;
+        this.timesheetBucketRepository = timesheetBucketRepository;
+        this.workspaceRepository = workspaceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.zone = ZoneId.of(zone);
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    public void addSession(Long userId, Long workspaceId, Long taskId, OffsetDateTime startTime, long minutes) {
+        apply(userId, workspaceId, taskId, startTime, minutes, 1);
+    }
+
+    public void removeSession(Long userId, Long workspaceId, Long taskId, OffsetDateTime startTime, long minutes) {
+        apply(userId, workspaceId, taskId, startTime, -minutes, -1);
+    }
+
+    /**
+     * Takes tasks about to be deleted out of the aggregates; call before their sessions are removed.
+     */
+    public void removeTasks(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        timesheetBucketRepository.subtractTasks(taskIds, zone.getId());
+        taskTimeTotalRepository.deleteByTaskIdIn(taskIds);
+    }
+
+    public void removeWorkspace(Long workspaceId, List<Long> taskIds) {
+        timesheetBucketRepository.deleteByWorkspaceId(workspaceId);
+        if (!taskIds.isEmpty()) {
+            taskTimeTotalRepository.deleteByTaskIdIn(taskIds);
+        }
+    }
+
+    public Optional<TaskTimeTotal> getTaskTotal(Long taskId) {
+        return taskTimeTotalRepository.findById(taskId);
+    }
+
+    /**
+     * @param period {@code week} (Monday to Sunday) or {@code month}, containing {@code date}
+     */
+    public TimesheetDTO getTimesheet(Long userId, String period, LocalDate date, Long workspaceId) {
+        LocalDate anchor = date != null ? date : LocalDate.now(zone);
+        LocalDate from;
+        LocalDate to;
+        if ("week".equalsIgnoreCase(period)) {
+            from = anchor.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            to = from.plusDays(6);
+        } else if ("month".equalsIgnoreCase(period)) {
+            from = anchor.withDayOfMonth(1);
+            to = anchor.with(TemporalAdjusters.lastDayOfMonth());
+        } else {
+            throw new BadRequestException("Period must be 'week' or 'month'");
+        }
+
+        int dayCount = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        List<LocalDate> days = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            days.add(from.plusDays(i));
+        }
+
+        List<TimesheetBucket> buckets = timesheetBucketRepository.findForUser(userId, from, to, workspaceId);
+
+        Map<Long, long[]> minutesByWorkspace = new LinkedHashMap<>();
+        for (TimesheetBucket bucket : buckets) {
+            long[] row = minutesByWorkspace.computeIfAbsent(bucket.getWorkspaceId(), id -> new long[dayCount]);
+            int index = (int) ChronoUnit.DAYS.between(from, bucket.getBucketDate());
+            row[index] += bucket.getMinutes();
+        }
+
+        Map<Long, String> names = workspaceRepository.findAllById(minutesByWorkspace.keySet()).stream()
+                .collect(Collectors.toMap(Workspace::getId, Workspace::getName));
+
+        long[] dailyTotals = new long[dayCount];
+        List<TimesheetRowDTO> rows = new ArrayList<>();
+        for (Map.Entry<Long, long[]> entry : minutesByWorkspace.entrySet()) {
+            long[] minutes = entry.getValue();
+            long rowTotal = 0;
+            for (int i = 0; i < dayCount; i++) {
+                dailyTotals[i] += minutes[i];
+                rowTotal += minutes[i];
+            }
+            TimesheetRowDTO row = new TimesheetRowDTO();
+            row.setWorkspaceId(entry.getKey());
+            row.setWorkspaceName(names.get(entry.getKey()));
+            row.setMinutesPerDay(Arrays.stream(minutes).boxed().toList());
+            row.setTotalMinutes(rowTotal);
+            rows.add(row);
+        }
+
+        TimesheetDTO timesheet = new TimesheetDTO();
+        timesheet.setPeriod(period.toLowerCase());
+        timesheet.setFrom(from);
+        timesheet.setTo(to);
+        timesheet.setDays(days);
+        timesheet.setRows(rows);
+        timesheet.setDailyTotals(Arrays.stream(dailyTotals).boxed().toList());
+        timesheet.setTotalMinutes(rows.stream().mapToLong(TimesheetRowDTO::getTotalMinutes).sum());
+        return timesheet;
+    }
+
+    /**
+     * Builds both aggregates from {@code time_tracking} the first time the application runs with
+     * them, so existing history shows up in timesheets. Runs while the context starts, before the
+     * web server takes requests and before the timer registry reconciles, so no session can be
+     * closed on this instance first. Other instances are held off by a table lock taken before the
+     * emptiness check: their upserts wait for the backfill, and a second instance starting at the
+     * same time finds the tables filled. A failure aborts startup.
+     */
+    @PostConstruct
+    public void backfillIfEmpty() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            taskTimeTotalRepository.lockForBackfill();
+            if (taskTimeTotalRepository.count() > 0 || timesheetBucketRepository.count() > 0) {
+                return;
+            }
+            int tasks = taskTimeTotalRepository.rebuild();
+            int buckets = timesheetBucketRepository.rebuild(zone.getId());
+            if (tasks > 0 || buckets > 0) {
+                log.info("Built time aggregates: {} task totals, {} timesheet buckets", tasks, buckets);
+            }
+        });
+    }
+
+    private void apply(Long userId, Long workspaceId, Long taskId, OffsetDateTime startTime, long minutes, long sessions) {
+        LocalDate day = startTime.atZoneSameInstant(zone).toLocalDate();
+        taskTimeTotalRepository.add(taskId, minutes, sessions);
+        timesheetBucketRepository.add(userId, workspaceId, day, minutes, sessions);
+    }
+}
@@ -8,6 +8,7 @@ import com.taskifyApplication.exception.BadRequestException;
 import com.taskifyApplication.exception.ForbiddenException;
 import com.taskifyApplication.exception.ResourceNotFoundException;
 import com.taskifyApplication.model.TaskStatus;
+import com.taskifyApplication.model.TaskTimeTotal;
 import com.taskifyApplication.model.TimeTracking;
 import com.taskifyApplication.model.Task;
 import com.taskifyApplication.model.User;
@@ -20,6 +21,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -41,6 +44,12 @@ public class TimeTrackingService {
     @Autowired
     private ValidationService validationService;
 
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    @Autowired
+    private TimeAggregateService timeAggregateService;
+
     public TimeTrackingResponseDTO startTracking(TimeTrackingRequestDTO request) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String userEmail = auth.getName();
@@ -54,19 +63,27 @@ public class TimeTrackingService {
             throw new ForbiddenException("Access denied to this workspace");
         }
 
-        stopAllActiveSessionsForUser(user.getId());
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // A user has at most one running timer; starting another closes it
+        activeTimerRegistry.find(user.getId()).ifPresent(previous -> {
+            activeTimerRegistry.close(previous, now);
+            activeTimerRegistry.deactivate(previous);
+        });
 
         String sanitizedDescription = validationService.sanitizeHtml(request.getDescription());
 
         TimeTracking timeTracking = TimeTracking.builder()
                 .task(task)
                 .user(user)
-                .startTime(OffsetDateTime.now())
+                .startTime(now)
                 .description(sanitizedDescription)
                 .isActive(true)
                 .build();
 
         timeTracking = timeTrackingRepository.save(timeTracking);
+        activeTimerRegistry.activate(new ActiveTimerRegistry.ActiveTimer(
+                timeTracking.getId(), user.getId(), task.getId(), task.getWorkspace().getId(), timeTracking.getStartTime()));
         return convertToResponseDTO(timeTracking);
     }
 
@@ -76,6 +93,16 @@ public class TimeTrackingService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
+        // Fast path: the user's own running timer is closed with one conditional UPDATE
+        Optional<ActiveTimerRegistry.ActiveTimer> running = activeTimerRegistry.find(user.getId())
+                .filter(timer -> timer.sessionId().equals(timeTrackingId));
+        if (running.isPresent() && activeTimerRegistry.close(running.get(), OffsetDateTime.now())) {
+            activeTimerRegistry.deactivate(running.get());
+            TimeTracking stopped = timeTrackingRepository.findById(timeTrackingId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Time tracking session not found"));
+            return convertToResponseDTO(stopped);
+        }
+
         TimeTracking timeTracking = timeTrackingRepository.findById(timeTrackingId)
                 .orElseThrow(() -> new ResourceNotFoundException("Time tracking session not found"));
 
@@ -87,10 +114,14 @@ public class TimeTrackingService {
             throw new BadRequestException("Session is already stopped");
         }
 
+        // Active in the table but not in the registry; close it the slow way
         timeTracking.setEndTime(OffsetDateTime.now());
         timeTracking.setIsActive(false);
+        timeTracking.setDuration(minutesBetween(timeTracking.getStartTime(), timeTracking.getEndTime()));
         
         timeTracking = timeTrackingRepository.save(timeTracking);
+        addToAggregates(timeTracking);
+        activeTimerRegistry.deactivate(toActiveTimer(timeTracking));
         return convertToResponseDTO(timeTracking);
     }
 
@@ -126,6 +157,10 @@ public class TimeTrackingService {
             throw new ForbiddenException("Access denied");
         }
 
+        boolean wasActive = Boolean.TRUE.equals(timeTracking.getIsActive());
+        OffsetDateTime previousStart = timeTracking.getStartTime();
+        Integer previousDuration = timeTracking.getDuration();
+
         if (updateDTO.getStartTime() != null) {
             timeTracking.setStartTime(updateDTO.getStartTime());
         }
@@ -140,7 +175,35 @@ public class TimeTrackingService {
             timeTracking.setDescription(sanitizedDescription);
         }
 
+        boolean closed = !Boolean.TRUE.equals(timeTracking.getIsActive());
+        if (closed && timeTracking.getEndTime() != null) {
+            timeTracking.setDuration(minutesBetween(timeTracking.getStartTime(), timeTracking.getEndTime()));
+        }
+
+        // Move the session's contribution in the aggregates if its day or length changed
+        boolean countedBefore = !wasActive && previousDuration != null;
+        boolean countedAfter = closed && timeTracking.getDuration() != null;
+        boolean unchanged = countedBefore && countedAfter
+                && previousStart.equals(timeTracking.getStartTime())
+                && previousDuration.equals(timeTracking.getDuration());
+        if (!unchanged) {
+            if (countedBefore) {
+                timeAggregateService.removeSession(user.getId(), timeTracking.getTask().getWorkspace().getId(),
+                        timeTracking.getTask().getId(), previousStart, previousDuration);
+            }
+            if (countedAfter) {
+                addToAggregates(timeTracking);
+            }
+        }
+
         timeTracking = timeTrackingRepository.save(timeTracking);
+        if (wasActive) {
+            if (Boolean.TRUE.equals(timeTracking.getIsActive())) {
+                activeTimerRegistry.activate(toActiveTimer(timeTracking));
+            } else {
+                activeTimerRegistry.deactivate(toActiveTimer(timeTracking));
+            }
+        }
         return convertToResponseDTO(timeTracking);
     }
 
@@ -157,6 +220,12 @@ public class TimeTrackingService {
             throw new ForbiddenException("Access denied");
         }
 
+        if (Boolean.TRUE.equals(timeTracking.getIsActive())) {
+            activeTimerRegistry.deactivate(toActiveTimer(timeTracking));
+        } else if (timeTracking.getDuration() != null) {
+            timeAggregateService.removeSession(user.getId(), timeTracking.getTask().getWorkspace().getId(),
+                    timeTracking.getTask().getId(), timeTracking.getStartTime(), timeTracking.getDuration());
+        }
         timeTrackingRepository.delete(timeTracking);
     }
 
@@ -173,12 +242,26 @@ public class TimeTrackingService {
             throw new ForbiddenException("Access denied to this workspace");
         }
 
-        Integer totalMinutes = timeTrackingRepository.getTotalDurationByTask(taskId);
-        List<TimeTracking> allEntries = timeTrackingRepository.findByTaskIdOrderByCreatedAtDesc(taskId);
-        int sessionsCount = allEntries.size();
-        int activeSessionsCount = (int) allEntries.stream().filter(TimeTracking::getIsActive).count();
+        // Closed sessions come from the maintained total, running ones from the registry
+        Optional<TaskTimeTotal> total = timeAggregateService.getTaskTotal(taskId);
+        int totalMinutes = total.map(t -> t.getTotalMinutes().intValue()).orElse(0);
+        int closedSessions = total.map(t -> t.getSessionCount().intValue()).orElse(0);
+        int activeSessionsCount = activeTimerRegistry.activeCountForTask(taskId);
 
-        return new TimeTrackingSummaryDTO(totalMinutes, sessionsCount, activeSessionsCount);
+        return new TimeTrackingSummaryDTO(totalMinutes, closedSessions + activeSessionsCount, activeSessionsCount);
+    }
+
+    public TimesheetDTO getTimesheet(String period, LocalDate date, Long workspaceId) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String userEmail = auth.getName();
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        if (workspaceId != null && !hasAccessToWorkspace(user, workspaceId)) {
+            throw new ForbiddenException("Access denied to this workspace");
+        }
+
+        return timeAggregateService.getTimesheet(user.getId(), period, date, workspaceId);
     }
 
     public List<TimeTrackingResponseDTO> getActiveSessionsForUser() {
@@ -187,9 +270,10 @@ public class TimeTrackingService {
         User user = userRepository.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        List<TimeTracking> activeSessions = timeTrackingRepository.findActiveSessionsByUser(user.getId());
-        return activeSessions.stream()
+        return activeTimerRegistry.find(user.getId())
+                .flatMap(timer -> timeTrackingRepository.findById(timer.sessionId()))
                 .map(this::convertToResponseDTO)
+                .stream()
                 .collect(Collectors.toList());
     }
 
@@ -208,13 +292,18 @@ public class TimeTrackingService {
                 .collect(Collectors.toList());
     }
 
-    private void stopAllActiveSessionsForUser(Long userId) {
-        List<TimeTracking> activeSessions = timeTrackingRepository.findActiveSessionsByUser(userId);
-        for (TimeTracking session : activeSessions) {
-            session.setEndTime(OffsetDateTime.now());
-            session.setIsActive(false);
-            timeTrackingRepository.save(session);
-        }
+    private ActiveTimerRegistry.ActiveTimer toActiveTimer(TimeTracking timeTracking) {
+        return new ActiveTimerRegistry.ActiveTimer(timeTracking.getId(), timeTracking.getUser().getId(),
+                timeTracking.getTask().getId(), timeTracking.getTask().getWorkspace().getId(), timeTracking.getStartTime());
+    }
+
+    private void addToAggregates(TimeTracking timeTracking) {
+        timeAggregateService.addSession(timeTracking.getUser().getId(), timeTracking.getTask().getWorkspace().getId(),
+                timeTracking.getTask().getId(), timeTracking.getStartTime(), timeTracking.getDuration());
+    }
+
+    private static int minutesBetween(OffsetDateTime start, OffsetDateTime end) {
+        return (int) Duration.between(start, end).toMinutes();
     }
     public TaskStatusDTO convertToTaskStatusDto(TaskStatus status) {
         TaskStatusDTO taskStatusDTO = new TaskStatusDTO();
@@ -0,0 +1,123 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory unread notification counters keyed by user email (the authentication name).
+ * <p>
+ * A counter is seeded with a single COUNT the first time it is read and then kept up to date
+ * by the notification write paths, so polling the badge does not hit the database. Users whose
+ * counter was never read are not tracked; their next read seeds it from the table. Every change
+ * is pushed to {@code /user/queue/unread-count}. Changes made inside a transaction are applied
+ * after commit so a rollback cannot skew the counter.
+ * <p>
+ * A change that lands while a counter is being seeded may or may not be part of the COUNT, so
+ * that seed is thrown away and the next read counts again.
+ */
+@Service
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private final WebSocketService webSocketService;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private static final class Counter {
+
+        private long value;
+
+        private boolean seeded;
+
+        /** Changes seen while not seeded; a seed is only kept if none arrived during its COUNT. */
+        private long missedChanges;
+    }
+
+    public long getUnreadCount(String email) {
+        Counter counter = counters.computeIfAbsent(email, key -> new Counter());
+        long missedBefore;
+        synchronized (counter) {
+            if (counter.seeded) {
+                return counter.value;
+            }
+            missedBefore = counter.missedChanges;
+        }
+
+        long count = notificationRepository.countUnreadByUserEmail(email);
+        synchronized (counter) {
+            if (!counter.seeded && counter.missedChanges == missedBefore) {
+                counter.value = count;
+                counter.seeded = true;
+            }
+            return counter.seeded ? counter.value : count;
+        }
+    }
+
+    public void increment(String email) {
+        adjust(email, 1);
+    }
+
+    public void decrement(String email) {
+        adjust(email, -1);
+    }
+
+    public void reset(String email) {
+        afterCommit(() -> {
+            Counter counter = counters.computeIfAbsent(email, key -> new Counter());
+            synchronized (counter) {
+                counter.missedChanges++;
+                counter.value = 0;
+                counter.seeded = true;
+            }
+            webSocketService.notifyUnreadCount(email, 0);
+        });
+    }
+
+    /**
+     * Drops the counters of the given users; used after bulk deletes. Their next read seeds them again.
+     */
+    public void invalidate(Collection<String> emails) {
+        afterCommit(() -> emails.forEach(counters::remove));
+    }
+
+    private void adjust(String email, long delta) {
+        afterCommit(() -> {
+            Counter counter = counters.get(email);
+            if (counter == null) {
+                // Not tracked; the next read counts rows that already include this change
+                return;
+            }
+            long value;
+            synchronized (counter) {
+                if (!counter.seeded) {
+                    counter.missedChanges++;
+                    return;
+                }
+                counter.value = Math.max(0, counter.value + delta);
+                value = counter.value;
+            }
+            webSocketService.notifyUnreadCount(email, value);
+        });
+    }
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -12,6 +12,7 @@ import com.taskifyApplication.model.User;
 import com.taskifyApplication.model.UserSettings;
 import com.taskifyApplication.repository.UserRepository;
 import com.taskifyApplication.repository.UserSettingsRepository;
+import com.taskifyApplication.repository.WorkspaceMemberRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -32,6 +33,9 @@ public class UserService {
     
     @Autowired
     private UserSettingsRepository userSettingsRepository;
+
+    @Autowired
+    private WorkspaceMemberRepository workspaceMemberRepository;
     
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -89,11 +93,11 @@ public class UserService {
         stats.setTasksCompleted((int) user.getAssignedTasks().stream()
                 .filter(task -> "COMPLETED".equals(task.getStatus()))
                 .count());
-        stats.setProjectsActive(user.getWorkspaceMemberships().size());
-        stats.setTeamMembers((int) user.getWorkspaceMemberships().stream()
-                .mapToInt(membership -> membership.getWorkspace().getMembers().size())
-                .sum());
-        stats.setTotalWorkspaces(user.getWorkspaceMemberships().size());
+        // Counted in the database; walking the memberships loaded every workspace and its members
+        int memberships = (int) workspaceMemberRepository.countByUser(user);
+        stats.setProjectsActive(memberships);
+        stats.setTeamMembers((int) workspaceMemberRepository.countMembersOfUserWorkspaces(user));
+        stats.setTotalWorkspaces(memberships);
         
         return stats;
     }
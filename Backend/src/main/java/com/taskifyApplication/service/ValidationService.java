@@ -3,21 +3,20 @@
 package com.taskifyApplication.service;
 
 import org.springframework.stereotype.Service;
-import org.owasp.html.PolicyFactory;
-import org.owasp.html.Sanitizers;
 
 import java.util.regex.Pattern;
 
 @Service
 public class ValidationService {
 
-    private final PolicyFactory policy = Sanitizers.FORMATTING
-            .and(Sanitizers.LINKS)
-            .and(Sanitizers.BLOCKS);
+    private final HtmlSanitizer htmlSanitizer;
+
+    public ValidationService(HtmlSanitizer htmlSanitizer) {
+        this.htmlSanitizer = htmlSanitizer;
+    }
 
     public String sanitizeHtml(String input) {
-        if (input == null) return null;
-        return policy.sanitize(input);
+        return htmlSanitizer.sanitize(input);
     }
 
     public String sanitizeString(String input) {
@@ -67,5 +67,11 @@ public class WebSocketService {
         );
     }
 
-    
+    public void notifyUser(String email, Map<String, Object> message) {
+        simpMessagingTemplate.convertAndSendToUser(email, "/queue/notifications", message);
+    }
+
+    public void notifyUnreadCount(String email, long count) {
+        simpMessagingTemplate.convertAndSendToUser(email, "/queue/unread-count", Map.of("count", count));
+    }
 }
\ No newline at end of file
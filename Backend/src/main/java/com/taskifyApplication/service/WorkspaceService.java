@@ -53,6 +53,18 @@ public class WorkspaceService {
     private ValidationService validationService;
     @Autowired
     private NotificationOrchestratorService notifier;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private UnreadNotificationCounter unreadNotificationCounter;
+    @Autowired
+    private AttachmentRepository attachmentRepository;
+    @Autowired
+    private AttachmentBlobService attachmentBlobService;
+    @Autowired
+    private ActiveTimerRegistry activeTimerRegistry;
+    @Autowired
+    private TimeAggregateService timeAggregateService;
 
     // region CRUD
     public Page<WorkspaceNameDTO> getUserWorkspaces(Pageable pageable) {
@@ -122,6 +134,10 @@ public class WorkspaceService {
             throw new ForbiddenException("Cannot delete workspace if you are not the OWNER");
         }
 
+        // Task attachments go with their tasks; both they and workspace-level ones release their content
+        attachmentBlobService.releaseAll(attachmentRepository.findAllInWorkspace(workspaceId));
+        attachmentRepository.deleteWorkspaceLevelAttachments(workspaceId);
+
         List<Task> tasks = taskRepository.findByWorkspace(workspace);
         if (!tasks.isEmpty()) {
             List<Long> taskIds = tasks.stream().map(Task::getId).collect(Collectors.toList());
@@ -129,7 +145,9 @@ public class WorkspaceService {
             entityManager.createQuery("UPDATE Activity a SET a.task = null WHERE a.task.id IN :taskIds")
                     .setParameter("taskIds", taskIds)
                     .executeUpdate();
+            timeAggregateService.removeWorkspace(workspaceId, taskIds);
             timeTrackingRepository.deleteByTaskIdIn(taskIds);
+            activeTimerRegistry.removeTasks(taskIds);
 
             taskHistoryRepository.deleteByTaskIdIn(taskIds);
 
@@ -143,9 +161,11 @@ public class WorkspaceService {
             categoryRepository.deleteAll(categories);
         }
 
+        List<String> notifiedEmails = notificationRepository.findRecipientEmailsByWorkspaceId(workspaceId);
         entityManager.createQuery("DELETE FROM Notification n WHERE n.workspace.id = :workspaceId")
                 .setParameter("workspaceId", workspaceId)
                 .executeUpdate();
+        unreadNotificationCounter.invalidate(notifiedEmails);
 
         workspaceRepository.delete(workspace);
     }
@@ -0,0 +1,134 @@
+package com.taskifyApplication.sql;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The JDBC statements run on the current thread since {@link #begin()}: how many, how long they
+ * took in total, and a breakdown by {@link SqlFingerprint fingerprint}. One is open per HTTP
+ * request ({@link SqlStatsFilter}); tests can open their own with {@link #capture}.
+ * <p>
+ * Statements on other threads (the activity writer, executors, streamed exports) are not counted
+ * towards the request that caused them.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    // Bounds the breakdown of a pathological request; the totals are still exact
+    private static final int MAX_FINGERPRINTS = 200;
+
+    private final SqlStatementStats previous;
+
+    private final Map<String, Fingerprint> fingerprints = new HashMap<>();
+
+    private int statements;
+
+    private long jdbcMillis;
+
+    private SqlStatementStats(SqlStatementStats previous) {
+        this.previous = previous;
+    }
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs {@code action} and returns what it executed, e.g. to assert a statement budget.
+     */
+    public static <T> Captured<T> capture(Supplier<T> action) {
+        SqlStatementStats stats = begin();
+        try {
+            return new Captured<>(action.get(), stats);
+        } finally {
+            stats.end();
+        }
+    }
+
+    /**
+     * Stops collecting on this thread, restoring any enclosing stats.
+     */
+    public void end() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void record(String sql, long elapsedMillis) {
+        statements++;
+        jdbcMillis += elapsedMillis;
+        if (previous != null) {
+            previous.record(sql, elapsedMillis);
+        }
+
+        String fingerprint = SqlFingerprint.of(sql);
+        Fingerprint entry = fingerprints.get(fingerprint);
+        if (entry == null) {
+            if (fingerprints.size() >= MAX_FINGERPRINTS) {
+                return;
+            }
+            entry = new Fingerprint(fingerprint);
+            fingerprints.put(fingerprint, entry);
+        }
+        entry.count++;
+        entry.millis += elapsedMillis;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcMillis;
+    }
+
+    /**
+     * The most frequently executed fingerprints first; a high count is the signature of an N+1.
+     */
+    public List<Fingerprint> topFingerprints(int limit) {
+        return fingerprints.values().stream()
+                .sorted(Comparator.comparingInt(Fingerprint::getCount).reversed()
+                        .thenComparing(Comparator.comparingLong(Fingerprint::getMillis).reversed()))
+                .limit(limit)
+                .toList();
+    }
+
+    public static final class Fingerprint {
+
+        private final String sql;
+
+        private int count;
+
+        private long millis;
+
+        private Fingerprint(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    public record Captured<T>(T result, SqlStatementStats stats) {}
+}
@@ -0,0 +1,59 @@
+package com.taskifyApplication.sql;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps the connection pool in a datasource-proxy that reports every executed statement to the
+ * {@link SqlStatementStats} open on the executing thread. Statements run with nothing open cost
+ * one thread-local lookup.
+ */
+@Component
+public class SqlStatsDataSourceWrapper implements BeanPostProcessor {
+
+    private final boolean enabled;
+
+    public SqlStatsDataSourceWrapper(@Value("${app.sql-stats.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new StatementListener())
+                .build();
+    }
+
+    private static final class StatementListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats == null || queryInfoList.isEmpty()) {
+                return;
+            }
+            // A JDBC batch is one round trip; its time is charged to its first statement
+            long elapsed = execInfo.getElapsedTime();
+            for (QueryInfo queryInfo : queryInfoList) {
+                stats.record(queryInfo.getQuery(), elapsed);
+                elapsed = 0;
+            }
+        }
+    }
+}
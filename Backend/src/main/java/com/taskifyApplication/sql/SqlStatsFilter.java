@@ -0,0 +1,112 @@
+package com.taskifyApplication.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens a {@link SqlStatementStats} for each HTTP request, ahead of the security chain so the
+ * user lookup is included. When the request completes, statement count and JDBC time are
+ * recorded per endpoint ({@code taskify.http.sql.statements}, {@code taskify.http.sql.time}),
+ * and a request over any threshold is logged with its most repeated statement fingerprints.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.sql-stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.sql-stats.slow.statements:50}")
+    private int statementThreshold;
+
+    @Value("${app.sql-stats.slow.jdbc-time:PT0.5S}")
+    private Duration jdbcTimeThreshold;
+
+    @Value("${app.sql-stats.slow.request-time:PT2S}")
+    private Duration requestTimeThreshold;
+
+    @Value("${app.sql-stats.log-top:10}")
+    private int logTop;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long started = System.nanoTime();
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            stats.end();
+            record(request, response, stats, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response,
+                        SqlStatementStats stats, long requestMillis) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("taskify.http.sql.statements")
+                .description("JDBC statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder("taskify.http.sql.time")
+                .description("Time spent in JDBC per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getJdbcMillis(), TimeUnit.MILLISECONDS);
+
+        boolean slow = stats.getStatements() >= statementThreshold
+                || stats.getJdbcMillis() >= jdbcTimeThreshold.toMillis()
+                || requestMillis >= requestTimeThreshold.toMillis();
+        if (!slow) {
+            return;
+        }
+
+        StringBuilder message = new StringBuilder()
+                .append(request.getMethod()).append(' ').append(uri)
+                .append(" -> ").append(response.getStatus())
+                .append(" in ").append(requestMillis).append(" ms: ")
+                .append(stats.getStatements()).append(" statements, ")
+                .append(stats.getJdbcMillis()).append(" ms in JDBC");
+        for (SqlStatementStats.Fingerprint fingerprint : stats.topFingerprints(logTop)) {
+            message.append("\n  ").append(fingerprint.getCount()).append("x ")
+                    .append(fingerprint.getMillis()).append(" ms  ").append(fingerprint.getSql());
+        }
+        log.warn("Slow request {}", message);
+    }
+}
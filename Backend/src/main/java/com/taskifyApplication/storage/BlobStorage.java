@@ -0,0 +1,73 @@
+package com.taskifyApplication.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Where attachment content lives. Exactly one implementation is active, chosen with
+ * {@code app.storage.backend} ({@code gcs} by default, or {@code local}).
+ * <p>
+ * Keys are opaque to callers: they are returned by {@link #store} and kept on the
+ * {@code Attachment} row, and the same key is passed back to read or delete the content.
+ */
+public interface BlobStorage {
+
+    /**
+     * Prefix of direct uploads that have not been checked yet. Nothing under it may be served.
+     */
+    String STAGING_PREFIX = "direct/";
+
+    /**
+     * Streams the content into storage without holding it in memory.
+     */
+    StoredBlob store(InputStream content, String filename, String contentType) throws IOException;
+
+    /**
+     * Stores derived content (such as a thumbnail) under a key chosen by the caller, replacing
+     * anything already there.
+     */
+    void storeAt(String key, InputStream content, String contentType) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Copies {@code count} bytes starting at {@code position} to the target without staging the
+     * whole range in memory.
+     */
+    void transferTo(String key, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * Size in bytes of the content under a key, or empty if nothing is stored there.
+     */
+    Optional<Long> size(String key) throws IOException;
+
+    /**
+     * A URL the client can upload to without going through the application, if the backend has
+     * native signed URLs. The local backend returns empty and the application's own signed
+     * endpoint stands in for it.
+     */
+    default Optional<SignedUpload> signUpload(String key, String contentType, Duration ttl) {
+        return Optional.empty();
+    }
+
+    /**
+     * The file backing a key when content lives on local disk, so it can be handed to the
+     * container for sendfile. Remote backends return empty.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    /**
+     * Moves content to a new key; nothing is left under the old one.
+     */
+    void move(String sourceKey, String targetKey) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    String publicUrl(String key);
+}
@@ -0,0 +1,152 @@
+package com.taskifyApplication.storage;
+
+import com.google.cloud.ReadChannel;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.HttpMethod;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Google Cloud Storage backend. Uploads go through a resumable {@link WriteChannel} in
+ * fixed-size chunks; objects are public and addressed by their object name.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "gcs", matchIfMissing = true)
+public class GcsBlobStorage implements BlobStorage {
+
+    private final Storage storage;
+
+    private final String bucketName;
+
+    private final int chunkSize;
+
+    public GcsBlobStorage(Storage storage,
+                          @Value("${gcs.bucket.name}") String bucketName,
+                          @Value("${app.upload.chunk-size:262144}") int chunkSize) {
+        this.storage = storage;
+        this.bucketName = bucketName;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public StoredBlob store(InputStream content, String filename, String contentType) throws IOException {
+        String key = UUID.randomUUID() + "-" + filename;
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                .setContentType(contentType)
+                .build();
+
+        MessageDigest digest = StorageDigests.sha256();
+        long size = 0;
+        try (InputStream in = new DigestInputStream(content, digest);
+             WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(chunkSize);
+            byte[] chunk = new byte[chunkSize];
+            int read;
+            while ((read = in.readNBytes(chunk, 0, chunk.length)) > 0) {
+                ByteBuffer buffer = ByteBuffer.wrap(chunk, 0, read);
+                while (buffer.hasRemaining()) {
+                    writer.write(buffer);
+                }
+                size += read;
+            }
+        }
+
+        return new StoredBlob(key, size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public void storeAt(String key, InputStream content, String contentType) throws IOException {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                .setContentType(contentType)
+                .build();
+        try (WriteChannel writer = storage.writer(blobInfo)) {
+            writer.setChunkSize(chunkSize);
+            content.transferTo(Channels.newOutputStream(writer));
+        }
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return Channels.newInputStream(storage.reader(BlobId.of(bucketName, key)));
+    }
+
+    @Override
+    public void transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (ReadChannel reader = storage.reader(BlobId.of(bucketName, key))) {
+            reader.setChunkSize(chunkSize);
+            reader.seek(position);
+            reader.limit(position + count);
+
+            ByteBuffer buffer = ByteBuffer.allocate(chunkSize);
+            while (reader.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+    }
+
+    @Override
+    public Optional<Long> size(String key) {
+        Blob blob = storage.get(BlobId.of(bucketName, key));
+        return blob != null ? Optional.of(blob.getSize()) : Optional.empty();
+    }
+
+    /**
+     * V4 signed PUT URL bound to the content type, so the client cannot store something else.
+     */
+    @Override
+    public Optional<SignedUpload> signUpload(String key, String contentType, Duration ttl) {
+        BlobInfo blobInfo = BlobInfo.newBuilder(BlobId.of(bucketName, key))
+                .setContentType(contentType)
+                .build();
+        URL url = storage.signUrl(blobInfo, ttl.toSeconds(), TimeUnit.SECONDS,
+                Storage.SignUrlOption.httpMethod(HttpMethod.PUT),
+                Storage.SignUrlOption.withContentType(),
+                Storage.SignUrlOption.withV4Signature());
+        return Optional.of(new SignedUpload(url.toString(), "PUT",
+                Map.of("Content-Type", contentType), Instant.now().plus(ttl)));
+    }
+
+    /**
+     * GCS has no rename: the object is copied server-side, then the source is deleted.
+     */
+    @Override
+    public void move(String sourceKey, String targetKey) {
+        storage.copy(Storage.CopyRequest.of(bucketName, sourceKey, BlobId.of(bucketName, targetKey))).getResult();
+        storage.delete(BlobId.of(bucketName, sourceKey));
+    }
+
+    @Override
+    public void delete(String key) {
+        storage.delete(BlobId.of(bucketName, key));
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return "https://storage.googleapis.com/" + bucketName + "/" + key;
+    }
+}
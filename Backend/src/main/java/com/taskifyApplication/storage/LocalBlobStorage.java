@@ -0,0 +1,180 @@
+package com.taskifyApplication.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Local-disk backend under {@code app.upload.dir}.
+ * <p>
+ * Content is addressed by its SHA-256 and sharded two levels deep ({@code ab/cd/abcd...}) so no
+ * directory grows too large. An upload is streamed into {@code tmp/} with
+ * {@link FileChannel#transferFrom}, hashed on the way, and then atomically renamed to its final
+ * path, so readers never see a partially written file. Storing content that already exists just
+ * drops the temporary file.
+ */
+@Component
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalBlobStorage implements BlobStorage {
+
+    public static final String TMP_DIR = "tmp";
+
+    private final Path root;
+
+    private final Path tmpDir;
+
+    private final String publicBaseUrl;
+
+    private final int chunkSize;
+
+    public LocalBlobStorage(@Value("${app.upload.dir}") String uploadDir,
+                            @Value("${app.upload.public-base-url:http://localhost:8080/uploads}") String publicBaseUrl,
+                            @Value("${app.upload.chunk-size:262144}") int chunkSize) throws IOException {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.tmpDir = root.resolve(TMP_DIR);
+        this.publicBaseUrl = publicBaseUrl;
+        this.chunkSize = chunkSize;
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredBlob store(InputStream content, String filename, String contentType) throws IOException {
+        Path temp = tmpDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = StorageDigests.sha256();
+
+        long size = 0;
+        try (ReadableByteChannel source = Channels.newChannel(new DigestInputStream(content, digest));
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            while ((transferred = target.transferFrom(source, size, chunkSize)) > 0) {
+                size += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        String key = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+        Path destination = resolve(key);
+
+        try {
+            Files.createDirectories(destination.getParent());
+            if (Files.exists(destination)) {
+                Files.delete(temp);
+            } else {
+                Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Same content stored concurrently by another upload
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        return new StoredBlob(key, size, sha256);
+    }
+
+    @Override
+    public void storeAt(String key, InputStream content, String contentType) throws IOException {
+        Path destination = resolve(key);
+        Path temp = tmpDir.resolve(UUID.randomUUID() + ".part");
+
+        try (ReadableByteChannel source = Channels.newChannel(content);
+             FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = target.transferFrom(source, position, chunkSize)) > 0) {
+                position += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        try {
+            Files.createDirectories(destination.getParent());
+            Files.move(temp, destination, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public void transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel source = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long end = position + count;
+            while (position < end) {
+                long transferred = source.transferTo(position, end - position, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    @Override
+    public Optional<Long> size(String key) throws IOException {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? Optional.of(Files.size(path)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void move(String sourceKey, String targetKey) throws IOException {
+        Path destination = resolve(targetKey);
+        Files.createDirectories(destination.getParent());
+        Files.move(resolve(sourceKey), destination, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String publicUrl(String key) {
+        return publicBaseUrl + "/" + key;
+    }
+
+    /**
+     * Path of a stored blob; keys can never escape the upload directory.
+     */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.startsWith(tmpDir)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+}
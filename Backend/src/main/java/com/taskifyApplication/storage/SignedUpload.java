@@ -0,0 +1,11 @@
+package com.taskifyApplication.storage;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A time-limited URL the client can send the file to directly, with the method and headers the
+ * signature was issued for.
+ */
+public record SignedUpload(String url, String method, Map<String, String> headers, Instant expiresAt) {
+}
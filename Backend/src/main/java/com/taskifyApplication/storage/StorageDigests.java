@@ -0,0 +1,18 @@
+package com.taskifyApplication.storage;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+final class StorageDigests {
+
+    private StorageDigests() {
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
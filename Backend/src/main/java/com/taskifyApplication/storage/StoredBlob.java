@@ -0,0 +1,8 @@
+package com.taskifyApplication.storage;
+
+/**
+ * Result of {@link BlobStorage#store}: the key to address the content with, its size in bytes
+ * and its SHA-256 as lowercase hex.
+ */
+public record StoredBlob(String key, long size, String sha256) {
+}
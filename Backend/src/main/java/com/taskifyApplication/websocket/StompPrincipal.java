@@ -0,0 +1,29 @@
+package com.taskifyApplication.websocket;
+
+import com.taskifyApplication.model.User;
+
+import java.security.Principal;
+
+/**
+ * Authenticated user attached to a STOMP session at CONNECT time.
+ * The name is the user's email so that user destinations (/user/queue/...) keep
+ * resolving the same way as the REST side, where the JWT subject is the email.
+ */
+public record StompPrincipal(Long id, String email, String username, String firstName, String lastName)
+        implements Principal {
+
+    public static StompPrincipal of(User user) {
+        return new StompPrincipal(
+                user.getId(),
+                user.getEmail(),
+                user.getUsername(),
+                user.getFirstName(),
+                user.getLastName()
+        );
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -2,23 +2,39 @@ package com.taskifyApplication.websocket;
 
 import com.taskifyApplication.service.JwtService;
 import com.taskifyApplication.service.UserService;
-import com.taskifyApplication.model.User;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.server.HandshakeInterceptor;
 
-import java.security.Principal;
 import java.util.Map;
-import java.util.Optional;
 
+/**
+ * Resolves the authenticated user exactly once per WebSocket session.
+ * <p>
+ * If the HTTP handshake carries a bearer token the principal is resolved there and kept in
+ * the session attributes; otherwise (SockJS clients can only send it in the STOMP headers)
+ * it is resolved from the CONNECT frame. Either way the resulting {@link StompPrincipal} is
+ * set as the session user, so {@code @MessageMapping} handlers receive it directly and never
+ * go back to the database.
+ */
+@Slf4j
 @Component
-public class WebSocketAuthInterceptor implements HandshakeInterceptor {
+public class WebSocketAuthInterceptor implements HandshakeInterceptor, ChannelInterceptor {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "principal";
+
+    private static final String BEARER_PREFIX = "Bearer ";
 
     @Autowired
     private JwtService jwtService;
@@ -34,40 +50,17 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
 
         String authorizationHeader = request.getHeaders().getFirst("Authorization");
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            String token = authorizationHeader.substring(7);
-
-            try {
-                String username = jwtService.extractUsername(token);
-
-                if (username != null && jwtService.isTokenValid(token, getUserDetails(username))) {
-                    Optional<User> userOptional = userService.findByUsername(username);
-
-                    if (userOptional.isPresent()) {
-                        User user = userOptional.get();
-
-                        // Create authenticated principal
-                        UserDetails userDetails = getUserDetails(username);
-                        Authentication authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities()
-                        );
-
-                        // Store user information in WebSocket session attributes
-                        attributes.put("user", user);
-                        attributes.put("authentication", authentication);
-                        attributes.put("principal", userDetails);
-
-                        return true;
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("WebSocket authentication failed: " + e.getMessage());
+        if (authorizationHeader != null) {
+            StompPrincipal principal = authenticate(authorizationHeader);
+            if (principal == null) {
+                // A token was sent but is invalid
                 return false;
             }
+            attributes.put(PRINCIPAL_ATTRIBUTE, principal);
         }
 
-        // Reject connection if no valid token
-        return false;
+        // Connections without a handshake token are authenticated on STOMP CONNECT
+        return true;
     }
 
     @Override
@@ -78,13 +71,51 @@ public class WebSocketAuthInterceptor implements HandshakeInterceptor {
         // Nothing to do after handshake
     }
 
-    private UserDetails getUserDetails(String username) {
-        return userService.findByUsername(username)
-            .map(user -> org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities("ROLE_USER")
-                .build())
-            .orElse(null);
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        StompPrincipal principal = sessionAttributes != null
+                ? (StompPrincipal) sessionAttributes.get(PRINCIPAL_ATTRIBUTE)
+                : null;
+
+        if (principal == null) {
+            principal = authenticate(accessor.getFirstNativeHeader("Authorization"));
+        }
+
+        if (principal == null) {
+            throw new MessageDeliveryException("WebSocket authentication failed");
+        }
+
+        if (sessionAttributes != null) {
+            sessionAttributes.put(PRINCIPAL_ATTRIBUTE, principal);
+        }
+        accessor.setUser(principal);
+
+        return message;
+    }
+
+    private StompPrincipal authenticate(String authorizationHeader) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+
+        try {
+            String email = jwtService.extractValidSubject(authorizationHeader.substring(BEARER_PREFIX.length()));
+            if (email == null) {
+                return null;
+            }
+            return userService.findByEmail(email)
+                    .map(StompPrincipal::of)
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("WebSocket authentication failed", e);
+            return null;
+        }
     }
-}
\ No newline at end of file
+}
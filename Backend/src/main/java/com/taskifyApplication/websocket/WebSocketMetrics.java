@@ -0,0 +1,93 @@
+package com.taskifyApplication.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broker meters: connected STOMP sessions, and messages per direction and message type.
+ * Registered on both client channels by {@code WebSocketConfig}; outbound messages are counted
+ * per session, so a broadcast to a workspace counts once for every subscriber it reaches.
+ */
+@Component
+public class WebSocketMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ChannelInterceptor inbound = new CountingInterceptor("inbound");
+
+    private final ChannelInterceptor outbound = new CountingInterceptor("outbound");
+
+    public WebSocketMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("taskify.websocket.sessions", sessions, Set::size)
+                .description("Connected STOMP sessions")
+                .register(registry);
+    }
+
+    public ChannelInterceptor inbound() {
+        return inbound;
+    }
+
+    public ChannelInterceptor outbound() {
+        return outbound;
+    }
+
+    // A disconnect may be published more than once for a session, so sessions are tracked by id
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            sessions.add(sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        sessions.remove(event.getSessionId());
+    }
+
+    private void count(String direction, Message<?> message) {
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(message.getHeaders());
+        String typeName = type != null ? type.name() : "OTHER";
+        counters.computeIfAbsent(direction + ":" + typeName, key -> Counter.builder("taskify.websocket.messages")
+                .tag("direction", direction)
+                .tag("type", typeName)
+                .register(registry))
+                .increment();
+    }
+
+    private final class CountingInterceptor implements ChannelInterceptor {
+
+        private final String direction;
+
+        CountingInterceptor(String direction) {
+            this.direction = direction;
+        }
+
+        @Override
+        public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+            if (sent) {
+                count(direction, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskifyApplication.benchmark;
+
+import com.google.cloud.storage.StorageOptions;
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.GcsBlobStorage;
+import com.taskifyApplication.storage.LocalBlobStorage;
+import com.taskifyApplication.storage.StoredBlob;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Upload and download throughput (MB/s) of the storage backends.
+ * <p>
+ * Not a unit test; run the main method. The local backend always runs against a temporary
+ * directory. GCS runs only when {@code BENCHMARK_GCS_BUCKET} is set, using application default
+ * credentials; objects written there are deleted afterwards.
+ */
+public class StorageThroughputBenchmark {
+
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final int[] FILE_SIZES_MB = {1, 10, 50};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        Path localDir = Files.createTempDirectory("taskify-storage-benchmark");
+        run("local", new LocalBlobStorage(localDir.toString(), "http://localhost:8080/uploads", CHUNK_SIZE));
+
+        String bucket = System.getenv("BENCHMARK_GCS_BUCKET");
+        if (bucket != null && !bucket.isBlank()) {
+            run("gcs", new GcsBlobStorage(StorageOptions.getDefaultInstance().getService(), bucket, CHUNK_SIZE));
+        } else {
+            System.out.println("BENCHMARK_GCS_BUCKET not set, skipping GCS");
+        }
+    }
+
+    private static void run(String name, BlobStorage storage) throws IOException {
+        System.out.printf("%n[%s]%n%-10s %14s %14s%n", name, "size", "upload", "download");
+        Random random = new Random(42);
+
+        for (int sizeMb : FILE_SIZES_MB) {
+            long uploadNanos = 0;
+            long downloadNanos = 0;
+            List<String> keys = new ArrayList<>();
+
+            for (int round = 0; round < ROUNDS; round++) {
+                // Fresh content each round so content-addressed backends cannot short-circuit
+                byte[] content = new byte[sizeMb * 1024 * 1024];
+                random.nextBytes(content);
+
+                long start = System.nanoTime();
+                StoredBlob blob = storage.store(new ByteArrayInputStream(content), "benchmark.bin", "application/octet-stream");
+                uploadNanos += System.nanoTime() - start;
+                keys.add(blob.key());
+
+                start = System.nanoTime();
+                try (InputStream in = storage.open(blob.key())) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+                downloadNanos += System.nanoTime() - start;
+            }
+
+            double totalMb = (double) sizeMb * ROUNDS;
+            System.out.printf("%-10s %9.1f MB/s %9.1f MB/s%n", sizeMb + " MB",
+                    totalMb / (uploadNanos / 1e9), totalMb / (downloadNanos / 1e9));
+
+            for (String key : keys) {
+                storage.delete(key);
+            }
+        }
+    }
+}
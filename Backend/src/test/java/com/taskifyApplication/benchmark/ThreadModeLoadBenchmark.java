@@ -0,0 +1,155 @@
+package com.taskifyApplication.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskifyApplication.loadtest.ClosedLoop;
+import com.taskifyApplication.loadtest.LatencyRecorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Throughput and p50/p99 latency of a running server under the closed-loop load of
+ * {@link ClosedLoop}, for comparing platform-thread and virtual-thread request handling
+ * ({@code app.threads.virtual}).
+ * <p>
+ * Not a unit test; run the main method against a server started in one mode, then again after
+ * restarting it in the other, passing the mode as the first argument ({@code platform} or
+ * {@code virtual}). Results are appended to {@code target/load-test/thread-modes.csv}, and once both
+ * modes are in it a side-by-side comparison is printed.
+ * <p>
+ * Environment: {@code BENCHMARK_BASE_URL} (default {@code http://localhost:8080}),
+ * {@code BENCHMARK_EMAIL} and {@code BENCHMARK_PASSWORD} of an existing user, and optionally
+ * {@code BENCHMARK_PATHS}, a comma-separated list of GET paths to pick from.
+ */
+public class ThreadModeLoadBenchmark {
+
+    private static final int[] CONCURRENCY_LEVELS = {16, 64, 256, 1024};
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    private static final List<String> DEFAULT_PATHS = List.of(
+            "/api/workspace/list",
+            "/api/tasks/dashboard/stats",
+            "/api/notifications/unread-count",
+            "/api/tasks/time-tracking/active");
+    private static final Path RESULTS = Path.of("target", "load-test", "thread-modes.csv");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "unknown";
+        String baseUrl = env("BENCHMARK_BASE_URL", "http://localhost:8080");
+        List<String> paths = System.getenv("BENCHMARK_PATHS") != null
+                ? Arrays.stream(System.getenv("BENCHMARK_PATHS").split(",")).map(String::trim).toList()
+                : DEFAULT_PATHS;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            String token = login(http, baseUrl);
+
+            System.out.printf("[%s] %s%n%-12s %12s %10s %10s %8s%n", mode, baseUrl,
+                    "concurrency", "throughput", "p50", "p99", "errors");
+            for (int concurrency : CONCURRENCY_LEVELS) {
+                run(http, clients, baseUrl, paths, token, concurrency, WARMUP);
+                LatencyRecorder.Summary result = run(http, clients, baseUrl, paths, token, concurrency, MEASUREMENT);
+                System.out.printf("%-12d %8.0f r/s %7.1f ms %7.1f ms %8d%n", concurrency,
+                        result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+                record(mode, concurrency, result);
+            }
+        }
+        compare();
+    }
+
+    private static String login(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of(
+                "email", env("BENCHMARK_EMAIL", "loadtest@taskify.local"),
+                "password", env("BENCHMARK_PASSWORD", "LoadTest#2024")));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = MAPPER.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private static LatencyRecorder.Summary run(HttpClient http, ExecutorService clients, String baseUrl,
+                                               List<String> paths, String token, int concurrency,
+                                               Duration duration) throws Exception {
+        return ClosedLoop.run(http, clients, "thread-mode", concurrency, duration, random ->
+                HttpRequest.newBuilder(URI.create(baseUrl + paths.get(random.nextInt(paths.size()))))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build());
+    }
+
+    private static void record(String mode, int concurrency, LatencyRecorder.Summary result) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, "mode,concurrency,throughput,p50_ms,p99_ms,errors\n");
+        }
+        Files.writeString(RESULTS, String.format(Locale.ROOT, "%s,%d,%.1f,%.2f,%.2f,%d%n", mode, concurrency,
+                result.throughput(), result.p50Millis(), result.p99Millis(), result.errors()),
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Prints the latest platform and virtual results per concurrency level, if both exist.
+     */
+    private static void compare() throws IOException {
+        Map<Integer, String[]> platform = new LinkedHashMap<>();
+        Map<Integer, String[]> virtual = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(RESULTS);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] fields = line.split(",");
+            Map<Integer, String[]> target = switch (fields[0]) {
+                case "platform" -> platform;
+                case "virtual" -> virtual;
+                default -> null;
+            };
+            if (target != null) {
+                target.put(Integer.parseInt(fields[1]), fields);
+            }
+        }
+        if (platform.isEmpty() || virtual.isEmpty()) {
+            return;
+        }
+
+        System.out.printf("%n%-12s %22s %22s %22s%n", "concurrency",
+                "throughput (plat/virt)", "p99 ms (plat/virt)", "errors (plat/virt)");
+        for (Map.Entry<Integer, String[]> entry : platform.entrySet()) {
+            String[] v = virtual.get(entry.getKey());
+            if (v == null) {
+                continue;
+            }
+            String[] p = entry.getValue();
+            System.out.printf("%-12d %22s %22s %22s%n", entry.getKey(),
+                    p[2] + " / " + v[2], p[4] + " / " + v[4], p[5] + " / " + v[5]);
+        }
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
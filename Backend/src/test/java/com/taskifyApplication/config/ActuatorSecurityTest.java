@@ -0,0 +1,78 @@
+package com.taskifyApplication.config;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ActuatorSecurityTest {
+
+    @Nested
+    @SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics,prometheus")
+    @AutoConfigureMockMvc
+    class SharedPort {
+
+        @MockBean
+        private JavaMailSender javaMailSender;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        @WithMockUser
+        void onlyHealthIsOpen() throws Exception {
+            // Up or down depending on the test environment, but never refused
+            mockMvc.perform(get("/actuator/health"))
+                    .andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()));
+            mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+            mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @AutoConfigureObservability
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"management.server.port=0", "management.server.address=127.0.0.1",
+                    "management.endpoints.web.exposure.include=health,metrics,prometheus"})
+    class SeparatePort {
+
+        @MockBean
+        private JavaMailSender javaMailSender;
+
+        @LocalServerPort
+        private int serverPort;
+
+        @LocalManagementPort
+        private int managementPort;
+
+        @Test
+        void metricsAreOnlyServedOnTheManagementPort() throws Exception {
+            assertEquals(200, statusOf(managementPort, "/actuator/prometheus"));
+            assertEquals(200, statusOf(managementPort, "/actuator/metrics"));
+            assertNotEquals(200, statusOf(serverPort, "/actuator/prometheus"));
+            assertNotEquals(200, statusOf(serverPort, "/actuator/metrics"));
+        }
+
+        private static int statusOf(int port, String path) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path)).build();
+            return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+}
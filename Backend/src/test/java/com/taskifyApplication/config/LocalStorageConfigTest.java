@@ -0,0 +1,72 @@
+package com.taskifyApplication.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class LocalStorageConfigTest {
+
+    @TempDir
+    static Path uploadDir;
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void localStorage(DynamicPropertyRegistry registry) {
+        registry.add("app.storage.backend", () -> "local");
+        registry.add("app.upload.dir", () -> uploadDir.toString());
+    }
+
+    @Test
+    void finalizedFilesAreServed() throws Exception {
+        write("attachments/report.txt");
+
+        mockMvc.perform(get("/uploads/attachments/report.txt"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("content"));
+    }
+
+    @Test
+    void pendingDirectUploadsAreNotReachable() throws Exception {
+        write("direct/0b8f3c1e-token");
+
+        mockMvc.perform(get("/uploads/direct/0b8f3c1e-token")).andExpect(status().isNotFound());
+        // Other spellings of the same path are refused too, whether by the firewall or the resolver
+        mockMvc.perform(get("/uploads/attachments/../direct/0b8f3c1e-token")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/uploads//direct/0b8f3c1e-token")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/uploads/%64irect/0b8f3c1e-token")).andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void partialFilesAreNotReachable() throws Exception {
+        write("tmp/upload.part");
+
+        mockMvc.perform(get("/uploads/tmp/upload.part")).andExpect(status().isNotFound());
+    }
+
+    private static void write(String key) throws Exception {
+        Path file = uploadDir.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "content");
+    }
+}
@@ -0,0 +1,131 @@
+package com.taskifyApplication.controller;
+
+import com.taskifyApplication.model.Category;
+import com.taskifyApplication.model.RoleEnum;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.model.TaskStatus;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.model.Workspace;
+import com.taskifyApplication.model.WorkspaceMember;
+import com.taskifyApplication.repository.CategoryRepository;
+import com.taskifyApplication.repository.TaskRepository;
+import com.taskifyApplication.repository.TaskStatusRepository;
+import com.taskifyApplication.repository.UserRepository;
+import com.taskifyApplication.repository.WorkspaceMemberRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import com.taskifyApplication.sql.SqlStatsResponseAdvice;
+import com.taskifyApplication.support.SqlStatementBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StatementBudgetTest {
+
+    @MockBean
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+
+    @Autowired
+    private WorkspaceMemberRepository workspaceMemberRepository;
+
+    @Autowired
+    private TaskStatusRepository taskStatusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    // The context, and its database, is shared by every test
+    private static int seeded;
+
+    private record Seed(User user, Workspace workspace) {}
+
+    private User newUser() {
+        int n = ++seeded;
+        return userRepository.save(User.builder().email("user" + n + "@example.com").username("user" + n)
+                .password("secret").firstName("First" + n).lastName("Last" + n).build());
+    }
+
+    private Seed seed(int size) {
+        User owner = newUser();
+        Workspace first = null;
+        for (int w = 0; w < size; w++) {
+            Workspace workspace = workspaceRepository.save(Workspace.builder().name("Workspace " + w).owner(owner).build());
+            workspaceMemberRepository.save(WorkspaceMember.builder().workspace(workspace).user(owner).role(RoleEnum.OWNER).build());
+            workspaceMemberRepository.save(WorkspaceMember.builder().workspace(workspace).user(newUser()).role(RoleEnum.MEMBER).build());
+            if (first == null) {
+                first = workspace;
+            }
+        }
+        TaskStatus todo = taskStatusRepository.save(TaskStatus.builder().name("To Do").workspace(first).order(0).build());
+        List<Category> categories = new ArrayList<>();
+        for (int c = 0; c < size; c++) {
+            categories.add(categoryRepository.save(Category.builder().name("Category " + c).workspace(first).build()));
+        }
+        for (int t = 0; t < size; t++) {
+            User assignee = newUser();
+            taskRepository.save(Task.builder().title("Task " + t).workspace(first).status(todo).assignedTo(assignee)
+                    .categories(new ArrayList<>(List.of(categories.get(t)))).build());
+        }
+        return new Seed(owner, first);
+    }
+
+    private int statements(Seed seed, String uri) throws Exception {
+        return Integer.parseInt(mockMvc.perform(get(uri).with(user(seed.user().getEmail())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(SqlStatsResponseAdvice.STATEMENTS_HEADER));
+    }
+
+    /**
+     * Asserts the budget on the larger data set, and that the count does not grow with the rows
+     * (which is what an N+1 does).
+     */
+    private void assertBudget(String uri, int budget) throws Exception {
+        Seed small = seed(2);
+        Seed large = seed(6);
+        int smallCount = statements(small, uri.formatted(small.workspace().getId()));
+
+        mockMvc.perform(get(uri.formatted(large.workspace().getId())).with(user(large.user().getEmail())))
+                .andExpect(status().isOk())
+                .andExpect(SqlStatementBudget.atMost(budget))
+                .andExpect(SqlStatementBudget.atMost(smallCount));
+    }
+
+    @Test
+    void taskListingLoadsAssigneesCategoriesAndAttachmentsPerPage() throws Exception {
+        assertBudget("/api/tasks?size=20", 7);
+    }
+
+    @Test
+    void categoryTaskCountsComeFromOneQuery() throws Exception {
+        assertBudget("/api/category/workspace/%d", 4);
+    }
+
+    @Test
+    void userStatsAreCountedInTheDatabase() throws Exception {
+        assertBudget("/api/users/stats", 4);
+    }
+}
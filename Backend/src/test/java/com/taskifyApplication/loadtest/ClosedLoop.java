@@ -0,0 +1,60 @@
+package com.taskifyApplication.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load: each client sends its next request as soon as the previous one completes,
+ * until the duration is up. Shared by {@link LoadTestRunner} and the thread-mode comparison in
+ * {@code benchmark}; responses of 400 and above and I/O failures count as errors.
+ */
+public final class ClosedLoop {
+
+    private ClosedLoop() {
+    }
+
+    @FunctionalInterface
+    public interface Requests {
+
+        HttpRequest next(ThreadLocalRandom random);
+    }
+
+    public static LatencyRecorder.Summary run(HttpClient http, ExecutorService clients, String scenario,
+                                              int concurrency, Duration duration, Requests requests) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long started = System.nanoTime();
+        long deadline = started + duration.toNanos();
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int client = 0; client < concurrency; client++) {
+            futures.add(clients.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = requests.next(random);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            recorder.error();
+                        }
+                    } catch (IOException e) {
+                        recorder.error();
+                    }
+                    recorder.record(System.nanoTime() - start);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return recorder.summarize(scenario, concurrency, Duration.ofNanos(System.nanoTime() - started), "requests");
+    }
+}
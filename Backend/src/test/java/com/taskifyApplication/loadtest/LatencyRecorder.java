@@ -0,0 +1,52 @@
+package com.taskifyApplication.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects every latency of one scenario run (load tests run for seconds, not hours, so keeping
+ * raw samples is cheap and the percentiles are exact) plus an error count.
+ */
+public final class LatencyRecorder {
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private long[] samples = new long[4096];
+
+    private int count;
+
+    synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    void error() {
+        errors.incrementAndGet();
+    }
+
+    /**
+     * @param operations what the throughput counts, e.g. requests or deliveries
+     */
+    synchronized Summary summarize(String scenario, int concurrency, Duration elapsed, String operations) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(scenario, concurrency, operations, count, errors.get(),
+                count / (elapsed.toNanos() / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * quantile))] / 1e6;
+    }
+
+    public record Summary(String scenario, int concurrency, String operations, long count, long errors,
+                   double throughput, double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,433 @@
+package com.taskifyApplication.loadtest;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Seeds a Postgres database with a production-sized dataset for {@link LoadTestRunner}: users,
+ * workspaces with members, statuses and categories, tasks, time entries and activities. Rows
+ * are written with batched JDBC inserts under a run tag, so it can be run again on the same
+ * database and earlier data is left alone.
+ * <p>
+ * The schema has to exist, so start the application once against the database first (the
+ * {@code postgres} service in {@code docker-compose.yml} is the default target). Stop it before
+ * seeding: ids are allocated from the current maximum and the sequences moved past them at the
+ * end. Time aggregates ({@code task_time_totals}, {@code timesheet_buckets}) are filled for the
+ * seeded entries, so the application can be started straight afterwards.
+ * <p>
+ * Not a unit test; run
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.taskifyApplication.loadtest.LoadTestDataGenerator -Dexec.classpathScope=test}.
+ * What was seeded is written to {@code target/load-test/dataset.json}.
+ * <p>
+ * Environment (defaults in brackets): {@code LOADTEST_DB_URL} [{@code jdbc:postgresql://localhost:5433/taskify}],
+ * {@code LOADTEST_DB_USER} [{@code admin}], {@code LOADTEST_DB_PASSWORD} [{@code admin123}],
+ * {@code LOADTEST_USERS} [2000], {@code LOADTEST_WORKSPACES} [100], {@code LOADTEST_MEMBERS_PER_WORKSPACE} [25],
+ * {@code LOADTEST_CATEGORIES_PER_WORKSPACE} [12], {@code LOADTEST_TASKS_PER_WORKSPACE} [2000],
+ * {@code LOADTEST_TIME_ENTRIES_PER_TASK} [3], {@code LOADTEST_ACTIVITIES_PER_TASK} [4],
+ * {@code LOADTEST_PASSWORD} [{@code LoadTest#2024}], {@code LOADTEST_SEED} [42] and
+ * {@code TIMESHEET_ZONE} [UTC], which must match the server's.
+ */
+public class LoadTestDataGenerator {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int HISTORY_DAYS = 180;
+
+    private static final String[] WORDS = {
+            "campanha", "relatório", "cliente", "reunião", "contrato", "orçamento", "lançamento", "revisão",
+            "design", "backend", "frontend", "deploy", "migração", "fatura", "suporte", "pesquisa",
+            "onboarding", "integração", "auditoria", "treinamento", "roadmap", "sprint", "bug", "release"};
+    private static final String[][] STATUSES = {
+            {"To Do", "#3B82F6"}, {"In Progress", "#F59E0B"}, {"Completed", "#10B981"}, {"Cancelled", "#EF4444"}};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] ACTIVITY_TYPES = {"task_created", "task_updated", "task_updated", "task_completed"};
+
+    public static void main(String[] args) throws Exception {
+        int users = intEnv("LOADTEST_USERS", 2000);
+        int workspaces = intEnv("LOADTEST_WORKSPACES", 100);
+        int membersPerWorkspace = Math.min(intEnv("LOADTEST_MEMBERS_PER_WORKSPACE", 25), users);
+        int categoriesPerWorkspace = intEnv("LOADTEST_CATEGORIES_PER_WORKSPACE", 12);
+        int tasksPerWorkspace = intEnv("LOADTEST_TASKS_PER_WORKSPACE", 2000);
+        int timeEntriesPerTask = intEnv("LOADTEST_TIME_ENTRIES_PER_TASK", 3);
+        int activitiesPerTask = intEnv("LOADTEST_ACTIVITIES_PER_TASK", 4);
+        String password = env("LOADTEST_PASSWORD", "LoadTest#2024");
+        String zone = env("TIMESHEET_ZONE", "UTC");
+        Random random = new Random(intEnv("LOADTEST_SEED", 42));
+        String runTag = Long.toString(System.currentTimeMillis() / 1000, 36);
+
+        String url = env("LOADTEST_DB_URL", "jdbc:postgresql://localhost:5433/taskify");
+        // Lets the driver send each batch as multi-row inserts
+        String batchedUrl = url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        long started = System.nanoTime();
+
+        try (Connection connection = DriverManager.getConnection(batchedUrl,
+                env("LOADTEST_DB_USER", "admin"), env("LOADTEST_DB_PASSWORD", "admin123"))) {
+            connection.setAutoCommit(false);
+            requireSchema(connection);
+
+            long firstUserId = nextId(connection, "users");
+            Ids ids = new Ids(firstUserId, nextId(connection, "workspaces"), nextId(connection, "task_statuses"),
+                    nextId(connection, "categories"), nextId(connection, "workspace_members"),
+                    nextId(connection, "tasks"), nextId(connection, "time_tracking"));
+            long firstTaskId = ids.task;
+
+            System.out.printf("Seeding run %s: %d users, %d workspaces x %d tasks%n",
+                    runTag, users, workspaces, tasksPerWorkspace);
+            List<String> emails = insertUsers(connection, ids, runTag, users, new BCryptPasswordEncoder().encode(password));
+            connection.commit();
+
+            List<LoadTestDataset.SeededWorkspace> seeded = new ArrayList<>(workspaces);
+            try (Batch workspaceRows = new Batch(connection,
+                         "INSERT INTO workspaces (id, name, description, created_at, updated_at, owner_id, invite_code) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 Batch statusRows = new Batch(connection,
+                         "INSERT INTO task_statuses (id, name, color, workspace_id, status_order) VALUES (?, ?, ?, ?, ?)");
+                 Batch memberRows = new Batch(connection,
+                         "INSERT INTO workspace_members (id, workspace_id, user_id, role, joined_at) VALUES (?, ?, ?, ?, ?)");
+                 Batch categoryRows = new Batch(connection,
+                         "INSERT INTO categories (id, name, description, workspace_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)");
+                 Batch taskRows = new Batch(connection,
+                         "INSERT INTO tasks (id, title, description, notes, created_at, updated_at, completed_at, status_id, priority, "
+                                 + "due_date, assigned_to, estimated_hours, actual_hours, workspace_id, progress) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                 Batch taskCategoryRows = new Batch(connection, taskRows,
+                         "INSERT INTO task_categories (task_id, category_id) VALUES (?, ?)");
+                 Batch timeEntryRows = new Batch(connection, taskRows,
+                         "INSERT INTO time_tracking (id, task_id, user_id, start_time, end_time, duration, description, is_active, created_at, updated_at) "
+                                 + "VALUES (?, ?, ?, ?, ?, ?, ?, false, ?, ?)");
+                 Batch activityRows = new Batch(connection, taskRows,
+                         "INSERT INTO activities (type, title, description, user_id, workspace_id, task_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+
+                for (int w = 0; w < workspaces; w++) {
+                    long workspaceId = ids.workspace++;
+                    OffsetDateTime workspaceCreated = OffsetDateTime.now(ZoneOffset.UTC).minusDays(HISTORY_DAYS + 30);
+
+                    // Owner first, then distinct members; the one after the owner is an admin
+                    Set<Integer> memberIndexes = new LinkedHashSet<>();
+                    memberIndexes.add(w % users);
+                    while (memberIndexes.size() < membersPerWorkspace) {
+                        memberIndexes.add(random.nextInt(users));
+                    }
+                    List<Long> memberIds = new ArrayList<>();
+                    List<String> memberEmails = new ArrayList<>();
+                    for (int index : memberIndexes) {
+                        memberIds.add(firstUserId + index);
+                        memberEmails.add(emails.get(index));
+                    }
+                    long ownerId = memberIds.get(0);
+
+                    workspaceRows.set(workspaceId, "Workspace " + runTag + "-" + w, "Carga de teste " + runTag,
+                            workspaceCreated, workspaceCreated, ownerId, runTag + "-" + w);
+                    for (int m = 0; m < memberIds.size(); m++) {
+                        String role = m == 0 ? "OWNER" : m == 1 ? "ADMIN" : "MEMBER";
+                        memberRows.set(ids.member++, workspaceId, memberIds.get(m), role, workspaceCreated);
+                    }
+
+                    List<Long> statusIds = new ArrayList<>();
+                    for (int s = 0; s < STATUSES.length; s++) {
+                        long statusId = ids.status++;
+                        statusRows.set(statusId, STATUSES[s][0], STATUSES[s][1], workspaceId, s);
+                        statusIds.add(statusId);
+                    }
+                    List<Long> categoryIds = new ArrayList<>();
+                    for (int c = 0; c < categoriesPerWorkspace; c++) {
+                        long categoryId = ids.category++;
+                        categoryRows.set(categoryId, WORDS[c % WORDS.length] + " " + (c + 1), "Categoria de teste",
+                                workspaceId, workspaceCreated, workspaceCreated);
+                        categoryIds.add(categoryId);
+                    }
+
+                    workspaceRows.flush();
+                    statusRows.flush();
+                    memberRows.flush();
+                    categoryRows.flush();
+
+                    long workspaceFirstTask = ids.task;
+                    for (int t = 0; t < tasksPerWorkspace; t++) {
+                        long taskId = ids.task++;
+                        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC)
+                                .minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60));
+                        int statusIndex = pickStatus(random);
+                        OffsetDateTime completed = statusIndex == 2
+                                ? created.plusHours(1 + random.nextInt(24 * 14)) : null;
+                        if (completed != null && completed.isAfter(OffsetDateTime.now(ZoneOffset.UTC))) {
+                            completed = OffsetDateTime.now(ZoneOffset.UTC);
+                        }
+                        Long assignee = random.nextInt(5) == 0 ? null : memberIds.get(random.nextInt(memberIds.size()));
+                        taskRows.set(taskId,
+                                sentence(random, 3) + " #" + (t + 1),
+                                "<p>" + sentence(random, 20) + "</p>",
+                                random.nextBoolean() ? sentence(random, 8) : null,
+                                created,
+                                completed != null ? completed : created,
+                                completed,
+                                statusIds.get(statusIndex),
+                                PRIORITIES[random.nextInt(PRIORITIES.length)],
+                                random.nextInt(4) == 0 ? null : created.toLocalDateTime().plusDays(1 + random.nextInt(60)),
+                                assignee,
+                                1 + random.nextInt(40),
+                                random.nextInt(40),
+                                workspaceId,
+                                statusIndex == 2 ? 100 : random.nextInt(10) * 10);
+
+                        int taskCategories = categoryIds.isEmpty() ? 0 : random.nextInt(Math.min(4, categoryIds.size() + 1));
+                        int firstCategory = categoryIds.isEmpty() ? 0 : random.nextInt(categoryIds.size());
+                        for (int c = 0; c < taskCategories; c++) {
+                            taskCategoryRows.set(taskId, categoryIds.get((firstCategory + c) % categoryIds.size()));
+                        }
+
+                        int entries = timeEntriesPerTask == 0 ? 0 : random.nextInt(timeEntriesPerTask * 2 + 1);
+                        for (int e = 0; e < entries; e++) {
+                            long userId = assignee != null ? assignee : memberIds.get(random.nextInt(memberIds.size()));
+                            OffsetDateTime start = between(random, created, OffsetDateTime.now(ZoneOffset.UTC).minusHours(4));
+                            int minutes = 15 + random.nextInt(226);
+                            OffsetDateTime end = start.plusMinutes(minutes);
+                            timeEntryRows.set(ids.timeEntry++, taskId, userId, start, end, minutes,
+                                    random.nextBoolean() ? sentence(random, 5) : null, end, end);
+                        }
+
+                        int activities = activitiesPerTask == 0 ? 0 : 1 + random.nextInt(activitiesPerTask * 2);
+                        for (int a = 0; a < activities; a++) {
+                            String type = a == 0 ? "task_created" : ACTIVITY_TYPES[random.nextInt(ACTIVITY_TYPES.length)];
+                            LocalDateTime at = a == 0 ? created.toLocalDateTime()
+                                    : between(random, created, OffsetDateTime.now(ZoneOffset.UTC)).toLocalDateTime();
+                            activityRows.set(type, type.replace('_', ' '), sentence(random, 6),
+                                    memberIds.get(random.nextInt(memberIds.size())), workspaceId, taskId, at);
+                        }
+                    }
+
+                    seeded.add(new LoadTestDataset.SeededWorkspace(workspaceId, memberEmails.get(0), memberEmails,
+                            statusIds, categoryIds, workspaceFirstTask, ids.task - 1));
+
+                    // One transaction per workspace
+                    taskCategoryRows.flush();
+                    timeEntryRows.flush();
+                    activityRows.flush();
+                    connection.commit();
+                    if ((w + 1) % 10 == 0 || w + 1 == workspaces) {
+                        System.out.printf("  %d/%d workspaces, %d tasks, %d time entries, %d activities%n", w + 1, workspaces,
+                                taskRows.rows, timeEntryRows.rows, activityRows.rows);
+                    }
+                }
+            }
+
+            fillTimeAggregates(connection, firstTaskId, ids.task - 1, zone);
+            for (String table : List.of("users", "workspaces", "task_statuses", "categories", "workspace_members",
+                    "tasks", "time_tracking")) {
+                advanceSequence(connection, table);
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+            }
+
+            new LoadTestDataset(runTag, password, seeded).save();
+        }
+        System.out.printf("Seeded in %s; dataset written to %s%n",
+                Duration.ofNanos(System.nanoTime() - started).withNanos(0), LoadTestDataset.FILE);
+    }
+
+    private static void requireSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT to_regclass('tasks') IS NOT NULL AND to_regclass('task_time_totals') IS NOT NULL")) {
+            rs.next();
+            if (!rs.getBoolean(1)) {
+                throw new IllegalStateException("Schema not found; start the application once against this database first");
+            }
+        }
+    }
+
+    private static List<String> insertUsers(Connection connection, Ids ids, String runTag, int users,
+                                            String passwordHash) throws SQLException {
+        List<String> emails = new ArrayList<>(users);
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusDays(HISTORY_DAYS + 60);
+        try (Batch rows = new Batch(connection,
+                "INSERT INTO users (id, email, password, username, first_name, last_name, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < users; i++) {
+                String username = "lt" + runTag + "_" + i;
+                String email = username + "@loadtest.local";
+                rows.set(ids.user++, email, passwordHash, username, "Usuário", runTag + " " + i, created, created);
+                emails.add(email);
+            }
+        }
+        return emails;
+    }
+
+    /**
+     * Same statements as the repositories' rebuilds, limited to the seeded tasks and merged into
+     * existing rows.
+     */
+    private static void fillTimeAggregates(Connection connection, long firstTaskId, long lastTaskId,
+                                           String zone) throws SQLException {
+        try (PreparedStatement totals = connection.prepareStatement(
+                "INSERT INTO task_time_totals (task_id, total_minutes, session_count, updated_at) "
+                        + "SELECT task_id, SUM(duration), COUNT(*), now() FROM time_tracking "
+                        + "WHERE task_id BETWEEN ? AND ? AND is_active = false AND duration IS NOT NULL GROUP BY task_id");
+             PreparedStatement buckets = connection.prepareStatement(
+                     "INSERT INTO timesheet_buckets (user_id, workspace_id, bucket_date, minutes, session_count) "
+                             + "SELECT tt.user_id, t.workspace_id, CAST(tt.start_time AT TIME ZONE ? AS date), SUM(tt.duration), COUNT(*) "
+                             + "FROM time_tracking tt JOIN tasks t ON t.id = tt.task_id "
+                             + "WHERE tt.task_id BETWEEN ? AND ? AND tt.is_active = false AND tt.duration IS NOT NULL "
+                             + "GROUP BY 1, 2, 3 "
+                             + "ON CONFLICT (user_id, workspace_id, bucket_date) DO UPDATE SET "
+                             + "minutes = timesheet_buckets.minutes + EXCLUDED.minutes, "
+                             + "session_count = timesheet_buckets.session_count + EXCLUDED.session_count")) {
+            totals.setLong(1, firstTaskId);
+            totals.setLong(2, lastTaskId);
+            int taskTotals = totals.executeUpdate();
+            buckets.setString(1, zone);
+            buckets.setLong(2, firstTaskId);
+            buckets.setLong(3, lastTaskId);
+            int timesheetBuckets = buckets.executeUpdate();
+            System.out.printf("  %d task time totals, %d timesheet buckets%n", taskTotals, timesheetBuckets);
+        }
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void advanceSequence(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), (SELECT MAX(id) FROM " + table + "))");
+        }
+    }
+
+    /**
+     * Mostly open work, a third completed, a few cancelled.
+     */
+    private static int pickStatus(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 30 ? 0 : roll < 60 ? 1 : roll < 95 ? 2 : 3;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+
+    private static OffsetDateTime between(Random random, OffsetDateTime from, OffsetDateTime to) {
+        long seconds = Duration.between(from, to).toSeconds();
+        return seconds <= 0 ? from : from.plusSeconds((long) (random.nextDouble() * seconds));
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private static int intEnv(String name, int fallback) {
+        return Integer.parseInt(env(name, String.valueOf(fallback)).trim().replace("_", ""));
+    }
+
+    /**
+     * Next id to hand out per table.
+     */
+    private static final class Ids {
+
+        long user;
+        long workspace;
+        long status;
+        long category;
+        long member;
+        long task;
+        long timeEntry;
+
+        Ids(long user, long workspace, long status, long category, long member, long task, long timeEntry) {
+            this.user = user;
+            this.workspace = workspace;
+            this.status = status;
+            this.category = category;
+            this.member = member;
+            this.task = task;
+            this.timeEntry = timeEntry;
+        }
+    }
+
+    /**
+     * A prepared insert executed every {@link #BATCH_SIZE} rows. A batch of child rows flushes its
+     * parent batch first, so foreign keys always point at rows already sent.
+     */
+    private static final class Batch implements AutoCloseable {
+
+        private final PreparedStatement statement;
+
+        private final Batch parent;
+
+        private int pending;
+
+        long rows;
+
+        Batch(Connection connection, String sql) throws SQLException {
+            this(connection, null, sql);
+        }
+
+        Batch(Connection connection, Batch parent, String sql) throws SQLException {
+            this.statement = connection.prepareStatement(sql);
+            this.parent = parent;
+        }
+
+        void set(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    statement.setNull(i + 1, Types.NULL);
+                } else {
+                    statement.setObject(i + 1, value);
+                }
+            }
+            statement.addBatch();
+            rows++;
+            if (++pending == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (pending > 0) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
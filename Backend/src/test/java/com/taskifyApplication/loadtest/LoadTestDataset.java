@@ -0,0 +1,40 @@
+package com.taskifyApplication.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * What {@link LoadTestDataGenerator} seeded, saved next to the reports so {@link LoadTestRunner}
+ * can address real workspaces, tasks and members without querying the database.
+ */
+record LoadTestDataset(String runTag, String password, List<SeededWorkspace> workspaces) {
+
+    static final Path FILE = Path.of("target", "load-test", "dataset.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * One seeded workspace. The owner can edit every task in it; members can read everything.
+     * Task ids are contiguous, from {@code firstTaskId} to {@code lastTaskId} inclusive.
+     */
+    record SeededWorkspace(long id, String ownerEmail, List<String> memberEmails, List<Long> statusIds,
+                           List<Long> categoryIds, long firstTaskId, long lastTaskId) {
+    }
+
+    void save() throws IOException {
+        Files.createDirectories(FILE.getParent());
+        MAPPER.writeValue(FILE.toFile(), this);
+    }
+
+    static LoadTestDataset load() throws IOException {
+        if (Files.notExists(FILE)) {
+            throw new IllegalStateException(FILE + " not found; run LoadTestDataGenerator first");
+        }
+        return MAPPER.readValue(FILE.toFile(), LoadTestDataset.class);
+    }
+}
@@ -0,0 +1,253 @@
+package com.taskifyApplication.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskifyApplication.service.JwtService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runs scripted scenarios against a server holding a dataset from {@link LoadTestDataGenerator}
+ * and writes a throughput and latency report. HTTP scenarios are closed loop: each virtual user
+ * sends its next request as soon as the previous one completes, as a random member (or, for
+ * writes, the owner) of a random seeded workspace.
+ * <ul>
+ *     <li>{@code board}: a workspace's full task list, as the board loads it</li>
+ *     <li>{@code search}: advanced search for a word used in titles and descriptions</li>
+ *     <li>{@code bulk-update}: priority change on 25 consecutive tasks</li>
+ *     <li>{@code analytics}: overview, productivity and distribution for the last 30 days, in turn</li>
+ *     <li>{@code websocket}: fan-out to N STOMP clients, see {@link StompFanOutScenario}</li>
+ * </ul>
+ * Not a unit test; start the server against the seeded database, then run
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.taskifyApplication.loadtest.LoadTestRunner -Dexec.classpathScope=test}.
+ * Reports go to {@code target/load-test/report-<timestamp>.md} and {@code .csv}.
+ * <p>
+ * Tokens are signed locally for the seeded users (logins are rate limited), so {@code JWT_SECRET}
+ * must be the server's. Other environment (defaults in brackets): {@code BENCHMARK_BASE_URL}
+ * [{@code http://localhost:8080}], {@code LOADTEST_SCENARIOS} [all, comma-separated],
+ * {@code LOADTEST_CONCURRENCY} [32], {@code LOADTEST_WARMUP} [PT10S], {@code LOADTEST_DURATION} [PT30S],
+ * {@code LOADTEST_STOMP_CLIENTS} [200] and {@code LOADTEST_FANOUT_RATE} [20 updates per second].
+ */
+public class LoadTestRunner {
+
+    private static final List<String> ALL_SCENARIOS = List.of("board", "search", "bulk-update", "analytics", "websocket");
+    private static final int BULK_SIZE = 25;
+    private static final String[] SEARCH_TERMS = {"campanha", "cliente", "deploy", "fatura", "sprint", "auditoria"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] ANALYTICS_PATHS = {
+            "/api/analytics/overview", "/api/analytics/productivity", "/api/analytics/distribution"};
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestDataset dataset = LoadTestDataset.load();
+        String baseUrl = env("BENCHMARK_BASE_URL", "http://localhost:8080");
+        List<String> scenarios = Arrays.stream(env("LOADTEST_SCENARIOS", String.join(",", ALL_SCENARIOS)).split(","))
+                .map(String::trim)
+                .toList();
+        int concurrency = Integer.parseInt(env("LOADTEST_CONCURRENCY", "32"));
+        Duration warmup = Duration.parse(env("LOADTEST_WARMUP", "PT10S"));
+        Duration duration = Duration.parse(env("LOADTEST_DURATION", "PT30S"));
+        Tokens tokens = new Tokens(System.getenv("JWT_SECRET"));
+
+        List<LatencyRecorder.Summary> results = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            for (String scenario : scenarios) {
+                System.out.printf("Running %s%n", scenario);
+                LatencyRecorder.Summary summary;
+                if (scenario.equals("websocket")) {
+                    // The workspace with the most members, so sessions are spread over as many users as possible
+                    LoadTestDataset.SeededWorkspace workspace = dataset.workspaces().stream()
+                            .max((a, b) -> Integer.compare(a.memberEmails().size(), b.memberEmails().size()))
+                            .orElseThrow();
+                    summary = new StompFanOutScenario(baseUrl, http, workspace, tokens::forUser,
+                            Integer.parseInt(env("LOADTEST_STOMP_CLIENTS", "200")),
+                            Integer.parseInt(env("LOADTEST_FANOUT_RATE", "20"))).run(duration);
+                } else {
+                    HttpScenario httpScenario = HttpScenario.of(scenario);
+                    closedLoop(http, clients, baseUrl, dataset, tokens, httpScenario, concurrency, warmup);
+                    summary = closedLoop(http, clients, baseUrl, dataset, tokens, httpScenario, concurrency, duration);
+                }
+                results.add(summary);
+                print(summary);
+            }
+        }
+        report(baseUrl, dataset, duration, results);
+    }
+
+    private static LatencyRecorder.Summary closedLoop(HttpClient http, ExecutorService clients, String baseUrl,
+                                                      LoadTestDataset dataset, Tokens tokens, HttpScenario scenario,
+                                                      int concurrency, Duration duration) throws Exception {
+        return ClosedLoop.run(http, clients, scenario.id, concurrency, duration, random -> scenario.request(baseUrl,
+                dataset.workspaces().get(random.nextInt(dataset.workspaces().size())), tokens, random));
+    }
+
+    private static void print(LatencyRecorder.Summary summary) {
+        System.out.printf(Locale.ROOT, "  %-16s %6d %-10s %9.1f/s  p50 %7.1f ms  p90 %7.1f ms  p99 %7.1f ms  max %8.1f ms  errors %d%n",
+                summary.scenario(), summary.count(), summary.operations(), summary.throughput(),
+                summary.p50Millis(), summary.p90Millis(), summary.p99Millis(), summary.maxMillis(), summary.errors());
+    }
+
+    private static void report(String baseUrl, LoadTestDataset dataset, Duration duration,
+                               List<LatencyRecorder.Summary> results) throws IOException {
+        Path directory = Path.of("target", "load-test");
+        Files.createDirectories(directory);
+        String name = "report-" + LocalDateTime.now().format(FILE_TIMESTAMP);
+
+        StringBuilder csv = new StringBuilder("scenario,concurrency,operations,count,throughput_per_s,p50_ms,p90_ms,p99_ms,max_ms,errors\n");
+        StringBuilder markdown = new StringBuilder()
+                .append("# Load test ").append(LocalDateTime.now().withNano(0)).append("\n\n")
+                .append("Server ").append(baseUrl).append(", dataset ").append(dataset.runTag())
+                .append(" (").append(dataset.workspaces().size()).append(" workspaces), ")
+                .append(duration.toSeconds()).append(" s per scenario.\n\n")
+                .append("| Scenario | Concurrency | Count | Throughput | p50 ms | p90 ms | p99 ms | Max ms | Errors |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (LatencyRecorder.Summary s : results) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d%n", s.scenario(), s.concurrency(),
+                    s.operations(), s.count(), s.throughput(), s.p50Millis(), s.p90Millis(), s.p99Millis(),
+                    s.maxMillis(), s.errors()));
+            markdown.append(String.format(Locale.ROOT, "| %s | %d | %d %s | %.1f/s | %.1f | %.1f | %.1f | %.1f | %d |%n",
+                    s.scenario(), s.concurrency(), s.count(), s.operations(), s.throughput(), s.p50Millis(),
+                    s.p90Millis(), s.p99Millis(), s.maxMillis(), s.errors()));
+        }
+        Files.writeString(directory.resolve(name + ".csv"), csv);
+        Files.writeString(directory.resolve(name + ".md"), markdown);
+        System.out.println("Report written to " + directory.resolve(name + ".md"));
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+
+    private enum HttpScenario {
+
+        BOARD("board") {
+            @Override
+            HttpRequest request(String baseUrl, LoadTestDataset.SeededWorkspace workspace, Tokens tokens, ThreadLocalRandom random) {
+                return get(baseUrl + "/api/tasks/workspace/" + workspace.id() + "/list", tokens.forMember(workspace, random));
+            }
+        },
+        SEARCH("search") {
+            @Override
+            HttpRequest request(String baseUrl, LoadTestDataset.SeededWorkspace workspace, Tokens tokens, ThreadLocalRandom random) {
+                return json(baseUrl + "/api/tasks/search?size=20", "POST", tokens.forMember(workspace, random), Map.of(
+                        "searchTerm", SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)],
+                        "workspaceIds", List.of(workspace.id())));
+            }
+        },
+        BULK_UPDATE("bulk-update") {
+            @Override
+            HttpRequest request(String baseUrl, LoadTestDataset.SeededWorkspace workspace, Tokens tokens, ThreadLocalRandom random) {
+                long span = workspace.lastTaskId() - workspace.firstTaskId() + 1;
+                long first = workspace.firstTaskId() + random.nextLong(Math.max(1, span - BULK_SIZE + 1));
+                List<Long> taskIds = new ArrayList<>(BULK_SIZE);
+                for (long id = first; id < first + BULK_SIZE && id <= workspace.lastTaskId(); id++) {
+                    taskIds.add(id);
+                }
+                return json(baseUrl + "/api/tasks/bulk-update", "PUT", tokens.forUser(workspace.ownerEmail()), Map.of(
+                        "taskIds", taskIds,
+                        "priority", PRIORITIES[random.nextInt(PRIORITIES.length)]));
+            }
+        },
+        ANALYTICS("analytics") {
+            @Override
+            HttpRequest request(String baseUrl, LoadTestDataset.SeededWorkspace workspace, Tokens tokens, ThreadLocalRandom random) {
+                LocalDate today = LocalDate.now();
+                return get(baseUrl + ANALYTICS_PATHS[random.nextInt(ANALYTICS_PATHS.length)] + "?workspaceId=" + workspace.id()
+                        + "&startDate=" + today.minusDays(30) + "&endDate=" + today, tokens.forMember(workspace, random));
+            }
+        };
+
+        private final String id;
+
+        HttpScenario(String id) {
+            this.id = id;
+        }
+
+        abstract HttpRequest request(String baseUrl, LoadTestDataset.SeededWorkspace workspace, Tokens tokens,
+                                     ThreadLocalRandom random);
+
+        static HttpScenario of(String name) {
+            for (HttpScenario scenario : values()) {
+                if (scenario.id.equals(name)) {
+                    return scenario;
+                }
+            }
+            throw new IllegalArgumentException("Unknown scenario '" + name + "', expected one of " + ALL_SCENARIOS);
+        }
+
+        private static HttpRequest get(String url, String token) {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+
+        private static HttpRequest json(String url, String method, String token, Object body) {
+            try {
+                return HttpRequest.newBuilder(URI.create(url))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .method(method, HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Tokens for seeded users, signed with the server's secret and cached per user.
+     */
+    private static final class Tokens {
+
+        private final JwtService jwtService = new JwtService();
+
+        private final Map<String, String> byEmail = new ConcurrentHashMap<>();
+
+        Tokens(String secret) {
+            if (secret == null || secret.isBlank()) {
+                throw new IllegalStateException("JWT_SECRET must be set to the server's jwt.secret");
+            }
+            ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+            ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400L);
+        }
+
+        String forUser(String email) {
+            return byEmail.computeIfAbsent(email, key -> jwtService.generateToken(
+                    User.withUsername(key).password("unused").roles("USER").build()));
+        }
+
+        String forMember(LoadTestDataset.SeededWorkspace workspace, ThreadLocalRandom random) {
+            return forUser(workspace.memberEmails().get(random.nextInt(workspace.memberEmails().size())));
+        }
+    }
+}
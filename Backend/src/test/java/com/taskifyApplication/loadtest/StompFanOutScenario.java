@@ -0,0 +1,200 @@
+package com.taskifyApplication.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * N STOMP clients subscribed to one workspace's task topic while a driver updates tasks in it
+ * at a fixed rate; every update is broadcast to all of them. Latency is per delivery, from the
+ * driver sending the update to a client receiving the broadcast, so it includes the update
+ * request itself. Deliveries still missing after a short drain count as errors.
+ */
+final class StompFanOutScenario {
+
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration DRAIN = Duration.ofSeconds(5);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+
+    private final HttpClient http;
+
+    private final LoadTestDataset.SeededWorkspace workspace;
+
+    private final Function<String, String> tokens;
+
+    private final int clients;
+
+    private final int updatesPerSecond;
+
+    private final Map<Long, Long> sentAt = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean measuring = new AtomicBoolean();
+
+    private final AtomicLong delivered = new AtomicLong();
+
+    private final LatencyRecorder deliveries = new LatencyRecorder();
+
+    StompFanOutScenario(String baseUrl, HttpClient http, LoadTestDataset.SeededWorkspace workspace,
+                        Function<String, String> tokens, int clients, int updatesPerSecond) {
+        this.baseUrl = baseUrl;
+        this.http = http;
+        this.workspace = workspace;
+        this.tokens = tokens;
+        this.clients = clients;
+        this.updatesPerSecond = updatesPerSecond;
+    }
+
+    LatencyRecorder.Summary run(Duration duration) throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws/websocket";
+        String topic = "/topic/workspace/" + workspace.id() + "/tasks";
+
+        CountDownLatch ready = new CountDownLatch(clients);
+        List<StompSession> sessions = new ArrayList<>(clients);
+        try {
+            for (int i = 0; i < clients; i++) {
+                // Members take turns, so several sessions share a user when there are more clients than members
+                String email = workspace.memberEmails().get(i % workspace.memberEmails().size());
+                StompHeaders connectHeaders = new StompHeaders();
+                connectHeaders.add("Authorization", "Bearer " + tokens.apply(email));
+                StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), connectHeaders,
+                        new StompSessionHandlerAdapter() { }).get(CONNECT_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+                session.subscribe(topic, new DeliveryHandler(ready));
+                sessions.add(session);
+            }
+
+            // One broadcast everybody has to receive before measuring, so all subscriptions are live
+            if (!update(workspace.firstTaskId())) {
+                throw new IllegalStateException("Updating task " + workspace.firstTaskId() + " failed");
+            }
+            if (!ready.await(CONNECT_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                System.err.printf("websocket: only %d of %d clients received the first broadcast%n",
+                        clients - ready.getCount(), clients);
+            }
+
+            AtomicLong accepted = new AtomicLong();
+            AtomicLong sequence = new AtomicLong();
+            long span = workspace.lastTaskId() - workspace.firstTaskId() + 1;
+            measuring.set(true);
+            long started = System.nanoTime();
+            ScheduledExecutorService driver = Executors.newSingleThreadScheduledExecutor();
+            driver.scheduleAtFixedRate(() -> {
+                long taskId = workspace.firstTaskId() + sequence.getAndIncrement() % span;
+                Thread.ofVirtual().start(() -> {
+                    if (update(taskId)) {
+                        accepted.incrementAndGet();
+                    } else {
+                        deliveries.error();
+                    }
+                });
+            }, 0, TimeUnit.SECONDS.toNanos(1) / updatesPerSecond, TimeUnit.NANOSECONDS);
+            Thread.sleep(duration.toMillis());
+            driver.shutdownNow();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            long deadline = System.nanoTime() + DRAIN.toNanos();
+            while (delivered.get() < accepted.get() * clients && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            measuring.set(false);
+            long missing = Math.max(0, accepted.get() * clients - delivered.get());
+            for (long i = 0; i < missing; i++) {
+                deliveries.error();
+            }
+            return deliveries.summarize("websocket-fanout", clients, elapsed, "deliveries");
+        } finally {
+            sessions.forEach(StompSession::disconnect);
+            stompClient.stop();
+        }
+    }
+
+    /**
+     * Changes the task's priority as the workspace owner, which broadcasts it to the topic.
+     */
+    private boolean update(long taskId) {
+        try {
+            String body = MAPPER.writeValueAsString(Map.of("priority", PRIORITIES[(int) (taskId % PRIORITIES.length)]));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + taskId))
+                    .header("Authorization", "Bearer " + tokens.apply(workspace.ownerEmail()))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(30))
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            sentAt.put(taskId, System.nanoTime());
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() < 400) {
+                return true;
+            }
+        } catch (Exception e) {
+            // Reported by the caller
+        }
+        sentAt.remove(taskId);
+        return false;
+    }
+
+    private final class DeliveryHandler implements StompFrameHandler {
+
+        private final CountDownLatch ready;
+
+        private final AtomicBoolean counted = new AtomicBoolean();
+
+        DeliveryHandler(CountDownLatch ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        @NonNull
+        public Type getPayloadType(@NonNull StompHeaders headers) {
+            return Map.class;
+        }
+
+        @Override
+        public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+            long received = System.nanoTime();
+            if (!measuring.get()) {
+                if (counted.compareAndSet(false, true)) {
+                    ready.countDown();
+                }
+                return;
+            }
+            if (payload instanceof Map<?, ?> message && message.get("task") instanceof Map<?, ?> task
+                    && task.get("id") instanceof Number id) {
+                Long sent = sentAt.get(id.longValue());
+                if (sent != null) {
+                    delivered.incrementAndGet();
+                    deliveries.record(received - sent);
+                }
+            }
+        }
+    }
+}
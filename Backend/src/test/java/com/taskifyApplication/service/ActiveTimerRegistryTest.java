@@ -0,0 +1,124 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.repository.TimeTrackingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ActiveTimerRegistryTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 6, 3, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private TimeTrackingRepository timeTrackingRepository;
+
+    private TimeAggregateService timeAggregateService;
+
+    private ActiveTimerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        timeTrackingRepository = mock(TimeTrackingRepository.class);
+        timeAggregateService = mock(TimeAggregateService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        registry = new ActiveTimerRegistry(timeTrackingRepository, timeAggregateService, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static ActiveTimerRegistry.ActiveTimer timer(long sessionId, long userId, long taskId, OffsetDateTime start) {
+        return new ActiveTimerRegistry.ActiveTimer(sessionId, userId, taskId, 2L, start);
+    }
+
+    @Test
+    void startRegistersTheTimerOnlyOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        registry.activate(timer(5L, 1L, 3L, START));
+        assertTrue(registry.find(1L).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(5L, registry.find(1L).orElseThrow().sessionId());
+        assertEquals(1, registry.activeCountForTask(3L));
+    }
+
+    @Test
+    void stopClosesTheSessionOnceAndCountsItInTheAggregates() {
+        ActiveTimerRegistry.ActiveTimer running = timer(5L, 1L, 3L, START);
+        registry.activate(running);
+        when(timeTrackingRepository.closeActiveSession(5L, START.plusMinutes(25), 25)).thenReturn(1, 0);
+
+        assertTrue(registry.close(running, START.plusMinutes(25)));
+        assertFalse(registry.close(running, START.plusMinutes(25)));
+        registry.deactivate(running);
+
+        verify(timeAggregateService, times(1)).addSession(1L, 2L, 3L, START, 25);
+        assertTrue(registry.find(1L).isEmpty());
+        assertEquals(0, registry.activeCountForTask(3L));
+    }
+
+    @Test
+    void stoppingAnOlderSessionLeavesTheNewerTimer() {
+        registry.activate(timer(6L, 1L, 3L, START.plusMinutes(10)));
+
+        registry.deactivate(timer(5L, 1L, 3L, START));
+
+        assertEquals(6L, registry.find(1L).orElseThrow().sessionId());
+    }
+
+    @Test
+    void aNewerStartDisplacesAndClosesTheRunningTimer() {
+        registry.activate(timer(5L, 1L, 3L, START));
+        when(timeTrackingRepository.closeActiveSession(5L, START.plusMinutes(40), 40)).thenReturn(1);
+
+        registry.activate(timer(6L, 1L, 4L, START.plusMinutes(40)));
+
+        verify(timeTrackingRepository).closeActiveSession(5L, START.plusMinutes(40), 40);
+        verify(timeAggregateService).addSession(1L, 2L, 3L, START, 40);
+        assertEquals(6L, registry.find(1L).orElseThrow().sessionId());
+        assertEquals(0, registry.activeCountForTask(3L));
+        assertEquals(1, registry.activeCountForTask(4L));
+    }
+
+    @Test
+    void reconcileKeepsTheNewestSessionPerUser() {
+        when(timeTrackingRepository.findActiveTimerRows()).thenReturn(List.of(
+                new Object[]{5L, 1L, 3L, 2L, START},
+                new Object[]{7L, 8L, 3L, 2L, START.plusMinutes(5)},
+                new Object[]{6L, 1L, 4L, 2L, START.plusMinutes(30)}));
+        when(timeTrackingRepository.closeActiveSession(5L, START.plusMinutes(30), 30)).thenReturn(1);
+
+        registry.reconcile();
+
+        assertEquals(6L, registry.find(1L).orElseThrow().sessionId());
+        assertEquals(7L, registry.find(8L).orElseThrow().sessionId());
+        assertEquals(1, registry.activeCountForTask(3L));
+        verify(timeAggregateService).addSession(1L, 2L, 3L, START, 30);
+    }
+
+    @Test
+    void reconcileFailurePropagates() {
+        when(timeTrackingRepository.findActiveTimerRows()).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, registry::reconcile);
+        verify(timeTrackingRepository, never()).closeActiveSession(anyLong(), any(), any());
+    }
+}
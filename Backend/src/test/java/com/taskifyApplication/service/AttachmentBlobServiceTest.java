@@ -0,0 +1,113 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.exception.ConflictException;
+import com.taskifyApplication.exception.GlobalExceptionHandler;
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.repository.AttachmentBlobRepository;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.storage.BlobStorage;
+import com.taskifyApplication.storage.StoredBlob;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttachmentBlobServiceTest {
+
+    private AttachmentBlobRepository blobRepository;
+
+    private AttachmentRepository attachmentRepository;
+
+    private BlobStorage blobStorage;
+
+    private PlatformTransactionManager transactionManager;
+
+    private AttachmentBlobService service;
+
+    @BeforeEach
+    void setUp() {
+        blobRepository = mock(AttachmentBlobRepository.class);
+        attachmentRepository = mock(AttachmentRepository.class);
+        blobStorage = mock(BlobStorage.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        service = new AttachmentBlobService(blobRepository, attachmentRepository, blobStorage, transactionManager);
+    }
+
+    @Test
+    void acquireKeepsNewContent() throws Exception {
+        when(blobRepository.acquire("abc", "ab/c/abc", 3)).thenReturn("ab/c/abc");
+        when(blobStorage.size("ab/c/abc")).thenReturn(Optional.of(3L));
+
+        assertEquals("ab/c/abc", service.acquire(new StoredBlob("ab/c/abc", 3, "abc")));
+
+        verify(blobStorage, never()).delete(anyString());
+    }
+
+    @Test
+    void acquireOfKnownContentDropsTheNewCopy() throws Exception {
+        when(blobRepository.acquire("abc", "upload-2", 3)).thenReturn("upload-1");
+
+        assertEquals("upload-1", service.acquire(new StoredBlob("upload-2", 3, "abc")));
+
+        verify(blobStorage).delete("upload-2");
+        verify(blobStorage, never()).delete("upload-1");
+    }
+
+    @Test
+    void acquireFailsWhenSharedContentWasPurgedMeanwhile() throws Exception {
+        when(blobRepository.acquire("abc", "ab/c/abc", 3)).thenReturn("ab/c/abc");
+        when(blobStorage.size("ab/c/abc")).thenReturn(Optional.empty());
+
+        ConflictException conflict = assertThrows(ConflictException.class,
+                () -> service.acquire(new StoredBlob("ab/c/abc", 3, "abc")));
+
+        // Answered as a retryable conflict rather than a server error
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/attachments/upload"));
+        assertEquals(HttpStatus.CONFLICT, new GlobalExceptionHandler().handleConflictException(conflict, request).getStatusCode());
+    }
+
+    @Test
+    void releaseGivesBackOneReferencePerAttachmentAndPurgesUnreferencedContent() throws Exception {
+        when(blobRepository.deleteIfUnreferenced("abc")).thenReturn(Optional.of("ab/c/abc"));
+        when(blobRepository.deleteIfUnreferenced("def")).thenReturn(Optional.empty());
+
+        service.releaseAll(List.of(attachment("abc", "ab/c/abc"), attachment("abc", "ab/c/abc"),
+                attachment("def", "de/f/def")));
+
+        verify(blobRepository).release("abc", 2L);
+        verify(blobRepository).release("def", 1L);
+        // Each purge runs in its own transaction, which holds the row until the content is gone
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(blobStorage).delete("ab/c/abc");
+        verify(blobStorage).delete(ThumbnailService.thumbnailKey("ab/c/abc"));
+        verify(blobStorage, never()).delete("de/f/def");
+    }
+
+    @Test
+    void releaseDeletesLegacyFilesNoOtherAttachmentUses() throws Exception {
+        when(attachmentRepository.existsByFilename("legacy-1")).thenReturn(false);
+        when(attachmentRepository.existsByFilename("legacy-2")).thenReturn(true);
+
+        service.releaseAll(List.of(attachment(null, "legacy-1"), attachment(null, "legacy-2")));
+
+        verify(blobRepository, never()).release(anyString(), anyLong());
+        verify(blobStorage).delete("legacy-1");
+        verify(blobStorage, never()).delete("legacy-2");
+    }
+
+    private static Attachment attachment(String contentHash, String storageKey) {
+        return Attachment.builder().contentHash(contentHash).filename(storageKey).build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.storage.BlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttachmentDownloadServiceTest {
+
+    private static final String ETAG = "\"abc123\"";
+
+    private static final AttachmentService.FileDownloadInfo FILE = new AttachmentService.FileDownloadInfo(
+            "ab/c1/abc123", "report.pdf", "application/pdf", 10, ETAG,
+            OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+    private BlobStorage blobStorage;
+
+    private AttachmentDownloadService service;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        blobStorage = mock(BlobStorage.class);
+        service = new AttachmentDownloadService(blobStorage);
+        request = new MockHttpServletRequest("GET", "/api/attachments/1/download");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void servesTheWholeFileWithoutARange() throws Exception {
+        service.write(FILE, request, response);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+        assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(10, response.getContentLengthLong());
+        verify(blobStorage).transferTo(eq("ab/c1/abc123"), eq(0L), eq(10L), any());
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+        service.write(FILE, request, response);
+
+        assertEquals(304, response.getStatus());
+        verify(blobStorage, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void servesASingleByteRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        service.write(FILE, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertEquals(4, response.getContentLengthLong());
+        verify(blobStorage).transferTo(eq("ab/c1/abc123"), eq(2L), eq(4L), any());
+    }
+
+    @Test
+    void servesASuffixRange() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        service.write(FILE, request, response);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        verify(blobStorage).transferTo(eq("ab/c1/abc123"), eq(7L), eq(3L), any());
+    }
+
+    @Test
+    void rangePastTheEndIsNotSatisfiable() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+
+        service.write(FILE, request, response);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        verify(blobStorage, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void staleIfRangeServesTheWholeFile() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"older\"");
+
+        service.write(FILE, request, response);
+
+        assertEquals(200, response.getStatus());
+        verify(blobStorage).transferTo(eq("ab/c1/abc123"), eq(0L), eq(10L), any());
+    }
+
+    @Test
+    void malformedOrMultipleRangesServeTheWholeFile() throws Exception {
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+        service.write(FILE, request, response);
+        assertEquals(200, response.getStatus());
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/api/attachments/1/download");
+        malformed.addHeader(HttpHeaders.RANGE, "lines=1-2");
+        MockHttpServletResponse malformedResponse = new MockHttpServletResponse();
+        service.write(FILE, malformed, malformedResponse);
+        assertEquals(200, malformedResponse.getStatus());
+
+        verify(blobStorage, times(2)).transferTo(eq("ab/c1/abc123"), eq(0L), eq(10L), any());
+    }
+
+    @Test
+    void localFilesAreHandedToSendfile() throws Exception {
+        Path file = Path.of("uploads", "ab", "c1", "abc123").toAbsolutePath();
+        when(blobStorage.localPath("ab/c1/abc123")).thenReturn(Optional.of(file));
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        service.write(FILE, request, response);
+
+        assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+        assertEquals(6L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+        verify(blobStorage, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void headRequestsWriteNoBody() throws Exception {
+        request.setMethod("HEAD");
+
+        service.write(FILE, request, response);
+
+        assertEquals(10, response.getContentLengthLong());
+        verify(blobStorage, never()).transferTo(anyString(), anyLong(), anyLong(), any());
+    }
+}
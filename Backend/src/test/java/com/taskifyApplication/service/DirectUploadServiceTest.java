@@ -0,0 +1,130 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.exception.BadRequestException;
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.exception.InvalidFormatException;
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.model.PendingUpload;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.repository.PendingUploadRepository;
+import com.taskifyApplication.repository.TaskRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import com.taskifyApplication.storage.LocalBlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DirectUploadServiceTest {
+
+    private static final String TOKEN = "5b2f6a9e-0c1d-4e7a-9f3b-2d8c6e4a1b0f";
+
+    private static final byte[] PDF = "%PDF-1.7 test".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalBlobStorage blobStorage;
+
+    private PendingUploadRepository pendingUploadRepository;
+
+    private DirectUploadService service;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        blobStorage = new LocalBlobStorage(uploadDir.toString(), "http://files", 1024);
+        pendingUploadRepository = mock(PendingUploadRepository.class);
+        AttachmentRepository attachmentRepository = mock(AttachmentRepository.class);
+        when(attachmentRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        UserService userService = mock(UserService.class);
+        user = User.builder().id(1L).build();
+        when(userService.getCurrentUser()).thenReturn(user);
+
+        service = new DirectUploadService(pendingUploadRepository, attachmentRepository,
+                mock(TaskRepository.class), mock(WorkspaceRepository.class), mock(ValidationService.class),
+                userService, blobStorage, mock(ThumbnailService.class));
+        ReflectionTestUtils.setField(service, "signingSecret", "upload-secret");
+    }
+
+    @Test
+    void finalizeMovesTheObjectOutOfReachOfTheSignedUrl() throws Exception {
+        PendingUpload pending = pending(PDF.length, OffsetDateTime.now().plusMinutes(10));
+        blobStorage.storeAt(pending.getStorageKey(), content(PDF), "application/pdf");
+
+        Attachment attachment = service.finalizeUpload(TOKEN);
+
+        assertTrue(attachment.getFilename().startsWith("attachments/"));
+        assertEquals(Optional.of((long) PDF.length), blobStorage.size(attachment.getFilename()));
+        assertEquals(Optional.empty(), blobStorage.size(pending.getStorageKey()));
+        assertNotNull(pending.getFinalizedAt());
+    }
+
+    @Test
+    void finalizedTicketsTakeNoMoreContent() throws Exception {
+        PendingUpload pending = pending(PDF.length, OffsetDateTime.now().plusMinutes(10));
+        blobStorage.storeAt(pending.getStorageKey(), content(PDF), "application/pdf");
+        service.finalizeUpload(TOKEN);
+
+        long expires = pending.getExpiresAt().toEpochSecond();
+        String signature = (String) ReflectionTestUtils.invokeMethod(service, "sign", TOKEN, expires);
+        assertThrows(ForbiddenException.class,
+                () -> service.receiveLocalUpload(TOKEN, expires, signature, content(PDF)));
+        assertThrows(BadRequestException.class, () -> service.finalizeUpload(TOKEN));
+    }
+
+    @Test
+    void expiredTicketsCannotBeFinalized() throws Exception {
+        PendingUpload pending = pending(PDF.length, OffsetDateTime.now().minusSeconds(1));
+        blobStorage.storeAt(pending.getStorageKey(), content(PDF), "application/pdf");
+
+        assertThrows(BadRequestException.class, () -> service.finalizeUpload(TOKEN));
+        assertNull(pending.getFinalizedAt());
+    }
+
+    @Test
+    void contentThatDoesNotMatchTheDeclarationIsDeleted() throws Exception {
+        PendingUpload pending = pending(PDF.length, OffsetDateTime.now().plusMinutes(10));
+        byte[] notPdf = "<html>1234</html>".substring(0, PDF.length).getBytes(StandardCharsets.US_ASCII);
+        blobStorage.storeAt(pending.getStorageKey(), content(notPdf), "application/pdf");
+
+        assertThrows(InvalidFormatException.class, () -> service.finalizeUpload(TOKEN));
+
+        assertNotNull(pending.getFinalizedAt());
+        try (var files = Files.walk(uploadDir)) {
+            assertEquals(0, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    private PendingUpload pending(long declaredSize, OffsetDateTime expiresAt) {
+        PendingUpload pending = PendingUpload.builder()
+                .token(TOKEN)
+                .storageKey("direct/" + TOKEN)
+                .originalName("spec.pdf")
+                .contentType("application/pdf")
+                .declaredSize(declaredSize)
+                .createdBy(user)
+                .expiresAt(expiresAt)
+                .build();
+        when(pendingUploadRepository.findByToken(TOKEN)).thenReturn(Optional.of(pending));
+        return pending;
+    }
+
+    private static InputStream content(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+}
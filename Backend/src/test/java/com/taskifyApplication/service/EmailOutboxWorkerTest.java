@@ -0,0 +1,166 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.model.EmailOutbox;
+import com.taskifyApplication.repository.EmailOutboxRepository;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxWorkerTest {
+
+    private EmailOutboxRepository repository;
+
+    private JavaMailSender mailSender;
+
+    private EmailTemplateRenderer renderer;
+
+    private PasswordResetService passwordResetService;
+
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        mailSender = mock(JavaMailSender.class);
+        renderer = mock(EmailTemplateRenderer.class);
+        passwordResetService = mock(PasswordResetService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        when(renderer.render(anyString(), anyMap())).thenReturn("<p>Olá</p>");
+
+        worker = new EmailOutboxWorker(repository, mailSender, renderer,
+                new TransactionTemplate(transactionManager), passwordResetService);
+        ReflectionTestUtils.setField(worker, "mailFrom", "support@taskify.test");
+        ReflectionTestUtils.setField(worker, "batchSize", 50);
+        ReflectionTestUtils.setField(worker, "maxAttempts", 3);
+        ReflectionTestUtils.setField(worker, "baseDelay", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(worker, "maxDelay", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(worker, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(worker, "retention", Duration.ofDays(14));
+    }
+
+    @Test
+    void sentEmailsDropTheirVariables() {
+        EmailOutbox email = queued(0, Map.of("name", "Ana"));
+
+        worker.drain();
+
+        assertEquals(EmailOutbox.EmailStatus.SENT, email.getStatus());
+        assertNotNull(email.getSentAt());
+        assertNull(email.getVariables());
+    }
+
+    @Test
+    void claimedEmailsAreLeasedWhileSending() {
+        EmailOutbox email = queued(0, Map.of("name", "Ana"));
+        OffsetDateTime[] leasedUntil = new OffsetDateTime[1];
+        doAnswer(invocation -> leasedUntil[0] = email.getNextAttemptAt())
+                .when(mailSender).send(any(MimeMessage[].class));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        worker.drain();
+
+        assertFalse(leasedUntil[0].isBefore(before.plusMinutes(5)));
+    }
+
+    @Test
+    void failedEmailsBackOffWithJitter() {
+        EmailOutbox email = queued(0, Map.of("name", "Ana"));
+        doThrow(new MailSendException("SMTP down")).when(mailSender).send(any(MimeMessage[].class));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        worker.drain();
+
+        assertEquals(EmailOutbox.EmailStatus.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertEquals("SMTP down", email.getLastError());
+        // Equal jitter: between half of and the full base delay
+        assertFalse(email.getNextAttemptAt().isBefore(before.plusSeconds(15)));
+        assertFalse(email.getNextAttemptAt().isAfter(OffsetDateTime.now().plusSeconds(30)));
+        assertNotNull(email.getVariables());
+    }
+
+    @Test
+    void backoffIsCappedAtMaxDelay() {
+        ReflectionTestUtils.setField(worker, "maxAttempts", 30);
+        EmailOutbox email = queued(20, Map.of("name", "Ana"));
+        doThrow(new MailSendException("SMTP down")).when(mailSender).send(any(MimeMessage[].class));
+
+        worker.drain();
+
+        assertFalse(email.getNextAttemptAt().isAfter(OffsetDateTime.now().plusMinutes(1)));
+    }
+
+    @Test
+    void lastAttemptMovesTheEmailToDead() {
+        EmailOutbox email = queued(2, Map.of("name", "Ana"));
+        doThrow(new MailSendException("Mailbox unavailable")).when(mailSender).send(any(MimeMessage[].class));
+
+        worker.drain();
+
+        assertEquals(EmailOutbox.EmailStatus.DEAD, email.getStatus());
+        assertEquals(3, email.getAttempts());
+        assertNull(email.getVariables());
+    }
+
+    @Test
+    void resetLinkIsMintedWhenSending() {
+        UUID tokenId = UUID.randomUUID();
+        EmailOutbox email = queued(0, Map.of("name", "Ana", EmailService.RESET_TOKEN_ID, tokenId.toString()));
+        when(passwordResetService.issueResetLink(tokenId)).thenReturn(Optional.of("http://app/reset-password?token=abc"));
+
+        worker.drain();
+
+        verify(renderer).render(eq("password-reset-email"), argThat(variables ->
+                "http://app/reset-password?token=abc".equals(variables.get("resetLink"))));
+        assertEquals(EmailOutbox.EmailStatus.SENT, email.getStatus());
+        assertNull(email.getVariables());
+    }
+
+    @Test
+    void resetEmailForAnInvalidRequestIsDropped() {
+        UUID tokenId = UUID.randomUUID();
+        EmailOutbox email = queued(0, Map.of("name", "Ana", EmailService.RESET_TOKEN_ID, tokenId.toString()));
+        when(passwordResetService.issueResetLink(tokenId)).thenReturn(Optional.empty());
+
+        worker.drain();
+
+        verifyNoInteractions(renderer);
+        assertEquals(EmailOutbox.EmailStatus.DEAD, email.getStatus());
+    }
+
+    private EmailOutbox queued(int attempts, Map<String, Object> variables) {
+        EmailOutbox email = EmailOutbox.builder()
+                .id(1L)
+                .recipient("ana@example.com")
+                .subject("Olá")
+                .templateName(variables.containsKey(EmailService.RESET_TOKEN_ID) ? "password-reset-email" : "welcome-email")
+                .variables(new HashMap<>(variables))
+                .attempts(attempts)
+                .nextAttemptAt(OffsetDateTime.now())
+                .build();
+        when(repository.findDueForUpdate(eq(EmailOutbox.EmailStatus.PENDING), any(), any()))
+                .thenReturn(List.of(email));
+        return email;
+    }
+}
@@ -0,0 +1,140 @@
+package com.taskifyApplication.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.model.Workspace;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExportServiceTest {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkspaceService workspaceService;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE task_statuses (id BIGINT PRIMARY KEY, name VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, email VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE tasks (id BIGINT PRIMARY KEY, title VARCHAR(255), status_id BIGINT, "
+                + "priority VARCHAR(20), assigned_to BIGINT, due_date DATE, estimated_hours DOUBLE, actual_hours DOUBLE, "
+                + "progress INT, created_at TIMESTAMP WITH TIME ZONE, updated_at TIMESTAMP WITH TIME ZONE, "
+                + "completed_at TIMESTAMP WITH TIME ZONE, workspace_id BIGINT)");
+        jdbcTemplate.update("INSERT INTO task_statuses VALUES (1, 'To Do')");
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'ana@example.com')");
+
+        WorkspaceRepository workspaceRepository = mock(WorkspaceRepository.class);
+        workspaceService = mock(WorkspaceService.class);
+        Workspace workspace = Workspace.builder().id(1L).build();
+        when(workspaceRepository.findById(1L)).thenReturn(Optional.of(workspace));
+        when(workspaceService.canUserManageWorkspace(workspace)).thenReturn(true);
+
+        exportService = new ExportService(database, workspaceRepository, workspaceService, new ObjectMapper());
+        ReflectionTestUtils.setField(exportService, "fetchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private void insertTask(long id, String title, Double estimatedHours) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status_id, priority, assigned_to, estimated_hours, progress, "
+                + "created_at, workspace_id) VALUES (?, ?, 1, 'HIGH', 1, ?, 0, TIMESTAMP WITH TIME ZONE "
+                + "'2024-06-03 09:00:00+00:00', 1)", id, title, estimatedHours);
+    }
+
+    private String exportTasks(boolean gzip) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(1L, ExportService.Dataset.TASKS, ExportService.Format.CSV, null, null, gzip).writeTo(out);
+        byte[] bytes = out.toByteArray();
+        if (gzip) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = in.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String row(String csv, int index) {
+        return csv.split("\r\n")[index];
+    }
+
+    @Test
+    void writesHeaderAndPlainFieldsAsIs() throws Exception {
+        insertTask(1L, "Write docs", 2.5);
+
+        String csv = exportTasks(false);
+
+        assertEquals("id,title,status,priority,assignee,due_date,estimated_hours,actual_hours,"
+                + "progress,created_at,updated_at,completed_at", row(csv, 0));
+        assertEquals("1,Write docs,To Do,HIGH,ana@example.com,,2.5,,0,2024-06-03T09:00Z,,", row(csv, 1));
+    }
+
+    @Test
+    void quotesCommasQuotesAndLineBreaks() throws Exception {
+        insertTask(1L, "Plan, then \"ship\"", null);
+        insertTask(2L, "two\nlines", null);
+
+        String csv = exportTasks(false);
+
+        assertTrue(csv.contains("1,\"Plan, then \"\"ship\"\"\",To Do"));
+        assertTrue(csv.contains("2,\"two\nlines\",To Do"));
+    }
+
+    @Test
+    void prefixesTextThatSpreadsheetsWouldEvaluate() throws Exception {
+        insertTask(1L, "=HYPERLINK(\"http://evil\")", null);
+        insertTask(2L, "+1", null);
+        insertTask(3L, "-2", null);
+        insertTask(4L, "@SUM(A1)", null);
+        insertTask(5L, "a = b", -1.5);
+
+        String csv = exportTasks(false);
+
+        assertTrue(csv.contains("1,\"'=HYPERLINK(\"\"http://evil\"\")\",To Do"));
+        assertTrue(csv.contains("2,'+1,To Do"));
+        assertTrue(csv.contains("3,'-2,To Do"));
+        assertTrue(csv.contains("4,'@SUM(A1),To Do"));
+        // Only text is neutralized; numbers keep their sign
+        assertTrue(csv.contains("5,a = b,To Do,HIGH,ana@example.com,,-1.5,"));
+    }
+
+    @Test
+    void gzipCarriesTheSameRows() throws Exception {
+        insertTask(1L, "Write docs", null);
+        insertTask(2L, "=1+1", null);
+
+        assertEquals(exportTasks(false), exportTasks(true));
+    }
+
+    @Test
+    void refusesUsersWhoCannotManageTheWorkspace() {
+        when(workspaceService.canUserManageWorkspace(any())).thenReturn(false);
+
+        assertThrows(ForbiddenException.class, () ->
+                exportService.export(1L, ExportService.Dataset.TASKS, ExportService.Format.CSV, null, null, false));
+    }
+}
@@ -0,0 +1,210 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.NotificationDto.NotificationDigestGroupDTO;
+import com.taskifyApplication.dto.NotificationDto.NotificationDraftDTO;
+import com.taskifyApplication.model.Notification.NotificationType;
+import com.taskifyApplication.model.NotificationPreferences;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.repository.NotificationPreferencesRepository;
+import com.taskifyApplication.repository.NotificationRepository;
+import com.taskifyApplication.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDigestServiceTest {
+
+    private static final User ANA = User.builder().id(1L).email("ana@example.com").firstName("Ana").build();
+
+    private static final User BIA = User.builder().id(2L).email("bia@example.com").firstName("Bia").build();
+
+    private NotificationFanOutService fanOutService;
+
+    private NotificationRepository notificationRepository;
+
+    private NotificationPreferencesRepository preferencesRepository;
+
+    private EmailService emailService;
+
+    private NotificationDigestService digestService;
+
+    private final AtomicInteger singleEmails = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        fanOutService = mock(NotificationFanOutService.class);
+        notificationRepository = mock(NotificationRepository.class);
+        preferencesRepository = mock(NotificationPreferencesRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        emailService = mock(EmailService.class);
+        digestService = new NotificationDigestService(fanOutService, notificationRepository, preferencesRepository,
+                userRepository, mock(WebSocketService.class), mock(SimpUserRegistry.class), emailService);
+        ReflectionTestUtils.setField(digestService, "window", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(digestService, "frontendBaseUrl", "http://app");
+
+        // No saved preferences: the defaults apply, including the DAILY summary
+        when(preferencesRepository.findByUserIdIn(any())).thenReturn(List.of());
+        when(userRepository.findAllById(any())).thenReturn(List.of(ANA, BIA));
+    }
+
+    @Test
+    void eventsCollapsePerTypeAndWorkspace() {
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 100L);
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 101L);
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 102L);
+        enqueue(NotificationType.TASK_ASSIGNED, 20L, 200L);
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+
+        digestService.flushAll();
+
+        List<NotificationDraftDTO> drafts = capturePersisted();
+        assertEquals(3, drafts.size());
+        NotificationDraftDTO assigned = drafts.get(0);
+        assertEquals(NotificationType.TASK_ASSIGNED, assigned.getType());
+        assertEquals("3 tarefas atribuídas a você no workspace 'W10'.", assigned.getMessage());
+        assertNull(assigned.getTaskId());
+        assertEquals(200L, drafts.get(1).getTaskId());
+        assertEquals("2 novos membros entraram no workspace 'W10'.", drafts.get(2).getMessage());
+    }
+
+    @Test
+    void assignmentsAreEmailedWithTheirLinksDespiteDailyDigest() {
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 100L);
+        enqueue(NotificationType.TASK_ASSIGNED, 20L, 200L);
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+
+        digestService.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map<String, String>>> lines = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendNotificationDigestEmail(eq("ana@example.com"), eq("Ana"), anyString(), lines.capture());
+        assertEquals(List.of("http://app/workspaces/10/tasks/100", "http://app/workspaces/20/tasks/200"),
+                lines.getValue().stream().map(line -> line.get("link")).toList());
+        assertEquals(0, singleEmails.get());
+    }
+
+    @Test
+    void singleAssignmentSendsTheRegularEmail() {
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 100L);
+
+        digestService.flushAll();
+
+        assertEquals(1, singleEmails.get());
+        verify(emailService, never()).sendNotificationDigestEmail(any(), any(), any(), any());
+    }
+
+    @Test
+    void invitesAreDeliveredWithoutWaitingForTheWindow() {
+        enqueue(NotificationType.WORKSPACE_INVITE, 10L, null);
+
+        assertEquals(1, capturePersisted().size());
+        assertEquals(1, singleEmails.get());
+    }
+
+    @Test
+    void eventsStayBufferedUntilTheWindowCloses() {
+        enqueue(NotificationType.TASK_ASSIGNED, 10L, 100L);
+
+        digestService.flushDueDigests();
+
+        verifyNoInteractions(fanOutService);
+        assertEquals(0, singleEmails.get());
+    }
+
+    @Test
+    void digestsStayPendingWhenStoringThemFails() {
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+        doThrow(new IllegalStateException("database down")).doReturn(1).when(fanOutService).persist(any());
+
+        digestService.flushAll();
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+        digestService.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationDraftDTO>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(fanOutService, times(2)).persist(drafts.capture());
+        assertEquals("2 novos membros entraram no workspace 'W10'.", drafts.getValue().get(0).getMessage());
+    }
+
+    @Test
+    void oneFailingDigestDoesNotHoldBackTheOthers() {
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+        enqueue(BIA, NotificationType.MEMBER_JOINED, 20L, null);
+        doAnswer(invocation -> {
+            List<NotificationDraftDTO> drafts = invocation.getArgument(0);
+            if (drafts.stream().anyMatch(draft -> draft.getUserId().equals(ANA.getId()))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return drafts.size();
+        }).when(fanOutService).persist(any());
+
+        digestService.flushAll();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationDraftDTO>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(fanOutService, times(3)).persist(drafts.capture());
+        assertEquals(List.of(BIA.getId()), drafts.getAllValues().get(2).stream().map(NotificationDraftDTO::getUserId).toList());
+    }
+
+    @Test
+    void digestsAreDroppedAfterRepeatedFailures() {
+        enqueue(NotificationType.MEMBER_JOINED, 10L, null);
+        doThrow(new IllegalStateException("database down")).when(fanOutService).persist(any());
+
+        for (int i = 0; i < NotificationDigestService.MAX_ATTEMPTS + 1; i++) {
+            digestService.flushAll();
+        }
+
+        verify(fanOutService, times(NotificationDigestService.MAX_ATTEMPTS)).persist(any());
+    }
+
+    @Test
+    void scheduledDigestLeavesOutTransactionalTypes() {
+        NotificationPreferences preferences = NotificationPreferences.builder().user(ANA).build();
+        when(notificationRepository.findUserIdsWithUnreadSince(any())).thenReturn(List.of(1L));
+        when(preferencesRepository.findByUserIdIn(any())).thenReturn(List.of(preferences));
+        when(notificationRepository.summarizeUnreadSince(eq(1L), any())).thenReturn(List.of(
+                new NotificationDigestGroupDTO(NotificationType.TASK_ASSIGNED, 10L, "W10", 4L),
+                new NotificationDigestGroupDTO(NotificationType.MEMBER_JOINED, 10L, "W10", 1L)));
+
+        digestService.sendScheduledDigests();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Map<String, String>>> lines = ArgumentCaptor.forClass(List.class);
+        verify(emailService).sendNotificationDigestEmail(eq("ana@example.com"), eq("Ana"), anyString(), lines.capture());
+        assertEquals(List.of("1 novo membro entrou no workspace 'W10'."),
+                lines.getValue().stream().map(line -> line.get("text")).toList());
+        assertNotNull(preferences.getLastDigestSentAt());
+    }
+
+    private void enqueue(NotificationType type, Long workspaceId, Long taskId) {
+        enqueue(ANA, type, workspaceId, taskId);
+    }
+
+    private void enqueue(User user, NotificationType type, Long workspaceId, Long taskId) {
+        boolean emailed = NotificationDigestService.TRANSACTIONAL_TYPES.contains(type);
+        digestService.enqueue(new NotificationDigestService.DigestItem(
+                user.getId(), user.getEmail(), user.getFirstName(), type, type.name(), type + " " + taskId,
+                workspaceId, "W" + workspaceId, taskId, null,
+                emailed ? singleEmails::incrementAndGet : null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationDraftDTO> capturePersisted() {
+        ArgumentCaptor<List<NotificationDraftDTO>> drafts = ArgumentCaptor.forClass(List.class);
+        verify(fanOutService).persist(drafts.capture());
+        return drafts.getValue();
+    }
+}
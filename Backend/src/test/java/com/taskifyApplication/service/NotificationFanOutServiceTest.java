@@ -0,0 +1,104 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.NotificationDto.NotificationDraftDTO;
+import com.taskifyApplication.dto.NotificationDto.NotificationRecipientDTO;
+import com.taskifyApplication.model.Notification;
+import com.taskifyApplication.repository.WorkspaceMemberRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationFanOutServiceTest {
+
+    private EmbeddedDatabase database;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WorkspaceRepository workspaceRepository;
+
+    private WorkspaceMemberRepository workspaceMemberRepository;
+
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private NotificationFanOutService fanOutService;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE notifications (id BIGINT AUTO_INCREMENT PRIMARY KEY, type VARCHAR(40), "
+                + "title VARCHAR(255), message VARCHAR(1000), user_id BIGINT, workspace_id BIGINT, task_id BIGINT, "
+                + "action_url VARCHAR(255), is_read BOOLEAN, created_at TIMESTAMP)");
+
+        workspaceRepository = mock(WorkspaceRepository.class);
+        workspaceMemberRepository = mock(WorkspaceMemberRepository.class);
+        unreadNotificationCounter = mock(UnreadNotificationCounter.class);
+        fanOutService = new NotificationFanOutService(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(database)),
+                workspaceRepository, workspaceMemberRepository, unreadNotificationCounter);
+        ReflectionTestUtils.setField(fanOutService, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void recipientsIncludeOwnerOnceAndSkipTheActor() {
+        when(workspaceRepository.findOwnerRecipient(1L))
+                .thenReturn(Optional.of(new NotificationRecipientDTO(10L, "owner@example.com")));
+        when(workspaceMemberRepository.findRecipientsByWorkspaceId(1L)).thenReturn(List.of(
+                new NotificationRecipientDTO(10L, "owner@example.com"),
+                new NotificationRecipientDTO(11L, "ana@example.com"),
+                new NotificationRecipientDTO(12L, "rui@example.com")));
+
+        List<NotificationRecipientDTO> recipients = fanOutService.resolveWorkspaceRecipients(1L, 12L);
+
+        assertEquals(List.of(10L, 11L), recipients.stream().map(NotificationRecipientDTO::getId).toList());
+    }
+
+    @Test
+    void persistWritesEveryDraftAcrossBatchesAndBumpsCounters() {
+        List<NotificationDraftDTO> drafts = new ArrayList<>();
+        for (long userId = 1; userId <= 5; userId++) {
+            drafts.add(NotificationDraftDTO.builder()
+                    .type(Notification.NotificationType.MEMBER_JOINED)
+                    .title("New member")
+                    .message("Rui joined the workspace")
+                    .userId(userId)
+                    .email("user" + userId + "@example.com")
+                    .workspaceId(1L)
+                    .build());
+        }
+
+        assertEquals(5, fanOutService.persist(drafts));
+
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE is_read OR created_at IS NULL OR task_id IS NOT NULL", Integer.class));
+        verify(unreadNotificationCounter).increment("user1@example.com");
+        verify(unreadNotificationCounter, times(5)).increment(anyString());
+    }
+
+    @Test
+    void persistIgnoresEmptyInput() {
+        assertEquals(0, fanOutService.persist(List.of()));
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.exception.ForbiddenException;
+import com.taskifyApplication.model.Notification;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+
+    private static final User ANA = User.builder().id(1L).email("ana@example.com").build();
+
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        counter = mock(UnreadNotificationCounter.class);
+        UserService userService = mock(UserService.class);
+        when(userService.getCurrentUser()).thenReturn(ANA);
+        notificationService = new NotificationService(notificationRepository, userService, counter);
+
+        Notification notification = Notification.builder().id(7L).user(ANA).read(false).build();
+        when(notificationRepository.findById(7L)).thenReturn(Optional.of(notification));
+    }
+
+    @Test
+    void onlyTheRequestThatFlipsTheFlagDecrements() {
+        // A concurrent request already marked it read after this one loaded the row
+        when(notificationRepository.markAsReadIfUnread(7L)).thenReturn(1, 0);
+
+        notificationService.markAsRead(7L);
+        notificationService.markAsRead(7L);
+
+        verify(counter, times(1)).decrement("ana@example.com");
+    }
+
+    @Test
+    void deletingANotificationReadMeanwhileLeavesTheCounter() {
+        when(notificationRepository.deleteIfUnread(7L)).thenReturn(0);
+
+        notificationService.deleteNotification(7L);
+
+        verify(notificationRepository).removeById(7L);
+        verify(counter, never()).decrement(any());
+    }
+
+    @Test
+    void deletingAnUnreadNotificationDecrementsOnce() {
+        when(notificationRepository.deleteIfUnread(7L)).thenReturn(1);
+
+        notificationService.deleteNotification(7L);
+
+        verify(notificationRepository, never()).removeById(any());
+        verify(counter).decrement("ana@example.com");
+    }
+
+    @Test
+    void othersNotificationsAreRejectedBeforeAnyUpdate() {
+        User bia = User.builder().id(2L).email("bia@example.com").build();
+        when(notificationRepository.findById(8L))
+                .thenReturn(Optional.of(Notification.builder().id(8L).user(bia).read(false).build()));
+
+        assertThrows(ForbiddenException.class, () -> notificationService.markAsRead(8L));
+
+        verify(notificationRepository, never()).markAsReadIfUnread(any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.taskifyApplication.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PartitionMaintenanceServiceTest {
+
+    @TempDir
+    Path archiveDir;
+
+    @Test
+    void retentionIsOffWithoutAnArchiveDirectory() {
+        assertDoesNotThrow(() -> create(0, 0, ""));
+    }
+
+    @Test
+    void retentionRequiresAnAbsoluteArchiveDirectory() {
+        assertThrows(IllegalStateException.class, () -> create(12, 0, ""));
+        assertThrows(IllegalStateException.class, () -> create(0, 24, "archive"));
+        assertDoesNotThrow(() -> create(12, 24, archiveDir.toString()));
+    }
+
+    @Test
+    void partitionsCoverOneCalendarMonth() {
+        assertEquals("CREATE TABLE IF NOT EXISTS activities_p2026_02 PARTITION OF activities " +
+                        "FOR VALUES FROM ('2026-02-01') TO ('2026-03-01')",
+                PartitionMaintenanceService.createPartitionSql("activities", YearMonth.of(2026, 2)));
+        // December's upper bound rolls over into the next year
+        assertEquals("CREATE TABLE IF NOT EXISTS task_history_p2025_12 PARTITION OF task_history " +
+                        "FOR VALUES FROM ('2025-12-01') TO ('2026-01-01')",
+                PartitionMaintenanceService.createPartitionSql("task_history", YearMonth.of(2025, 12)));
+    }
+
+    @Test
+    void onlyMonthsEntirelyBeforeTheWindowExpire() {
+        List<String> partitions = List.of("activities_p2025_10", "activities_p2025_08", "activities_default",
+                "activities_p2025_09", "activities_p2026_01");
+
+        // With 12 months kept in October 2026 the window starts at October 2025
+        assertEquals(List.of("activities_p2025_08", "activities_p2025_09"),
+                PartitionMaintenanceService.expiredPartitions(partitions, YearMonth.of(2026, 10), 12));
+    }
+
+    @Test
+    void expiryWorksAcrossYearBoundaries() {
+        List<String> partitions = List.of("task_history_p2025_11", "task_history_p2025_12", "task_history_p2026_01");
+
+        assertEquals(List.of("task_history_p2025_11"),
+                PartitionMaintenanceService.expiredPartitions(partitions, YearMonth.of(2026, 2), 2));
+        assertEquals(List.of(), PartitionMaintenanceService.expiredPartitions(partitions, YearMonth.of(2026, 1), 3));
+    }
+
+    private static PartitionMaintenanceService create(int activitiesRetention, int historyRetention, String archiveDir) {
+        return new PartitionMaintenanceService(mock(JdbcTemplate.class), mock(TransactionTemplate.class),
+                activitiesRetention, historyRetention, archiveDir);
+    }
+}
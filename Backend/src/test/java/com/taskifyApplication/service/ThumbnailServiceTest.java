@@ -0,0 +1,112 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.model.Attachment;
+import com.taskifyApplication.repository.AttachmentRepository;
+import com.taskifyApplication.storage.BlobStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ThumbnailServiceTest {
+
+    private AttachmentRepository attachmentRepository;
+
+    private BlobStorage blobStorage;
+
+    private ThumbnailService service;
+
+    @BeforeEach
+    void setUp() {
+        attachmentRepository = mock(AttachmentRepository.class);
+        blobStorage = mock(BlobStorage.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(blobStorage.publicUrl(anyString())).thenAnswer(invocation -> "/uploads/" + invocation.getArgument(0));
+
+        // Runs jobs inline so generation completes before the assertions
+        service = new ThumbnailService(attachmentRepository, blobStorage,
+                new TransactionTemplate(transactionManager), Runnable::run);
+        ReflectionTestUtils.setField(service, "maxDimension", 32);
+        ReflectionTestUtils.setField(service, "sweepBatchSize", 50);
+    }
+
+    @Test
+    void onlyFormatsWithAReaderAreSupported() {
+        assertTrue(service.supports("image/png"));
+        assertTrue(service.supports("IMAGE/JPG"));
+        assertFalse(service.supports("application/pdf"));
+        assertFalse(service.supports(null));
+        assertEquals(ImageIO.getImageReadersByMIMEType("image/webp").hasNext(), service.supports("image/webp"));
+    }
+
+    @Test
+    void unsupportedTypesAreLeftWithoutAThumbnail() {
+        Attachment attachment = attachment("application/pdf");
+
+        service.prepare(attachment);
+
+        assertEquals(Attachment.ThumbnailStatus.NONE, attachment.getThumbnailStatus());
+        verifyNoInteractions(blobStorage);
+    }
+
+    @Test
+    void generatesAScaledThumbnail() throws Exception {
+        when(attachmentRepository.findReadyThumbnailPaths(eq("ab/cd/abcd"), any())).thenReturn(List.of());
+        when(blobStorage.open("ab/cd/abcd")).thenReturn(new ByteArrayInputStream(png(200, 100)));
+        Attachment attachment = attachment("image/png");
+
+        service.prepare(attachment);
+
+        assertEquals(Attachment.ThumbnailStatus.PENDING, attachment.getThumbnailStatus());
+        verify(blobStorage).storeAt(eq("ab/cd/abcd.thumb"), any(), eq("image/jpeg"));
+        verify(attachmentRepository).updateThumbnail("ab/cd/abcd", Attachment.ThumbnailStatus.READY,
+                "/uploads/ab/cd/abcd.thumb");
+    }
+
+    @Test
+    void reusesTheThumbnailOfIdenticalContent() {
+        when(attachmentRepository.findReadyThumbnailPaths(eq("ab/cd/abcd"), any()))
+                .thenReturn(List.of("/uploads/ab/cd/abcd.thumb"));
+        Attachment attachment = attachment("image/png");
+
+        service.prepare(attachment);
+
+        assertEquals(Attachment.ThumbnailStatus.READY, attachment.getThumbnailStatus());
+        assertEquals("/uploads/ab/cd/abcd.thumb", attachment.getThumbnailPath());
+        verifyNoInteractions(blobStorage);
+    }
+
+    @Test
+    void undecodableContentIsMarkedFailed() throws Exception {
+        when(attachmentRepository.findReadyThumbnailPaths(eq("ab/cd/abcd"), any())).thenReturn(List.of());
+        when(blobStorage.open("ab/cd/abcd")).thenReturn(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}));
+
+        service.prepare(attachment("image/png"));
+
+        verify(blobStorage, never()).storeAt(anyString(), any(), anyString());
+        verify(attachmentRepository).updateThumbnail("ab/cd/abcd", Attachment.ThumbnailStatus.FAILED, null);
+    }
+
+    private static Attachment attachment(String mimeType) {
+        return Attachment.builder().filename("ab/cd/abcd").mimeType(mimeType).build();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,104 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.repository.TaskTimeTotalRepository;
+import com.taskifyApplication.repository.TimesheetBucketRepository;
+import com.taskifyApplication.repository.WorkspaceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TimeAggregateServiceTest {
+
+    private TaskTimeTotalRepository taskTimeTotalRepository;
+
+    private TimesheetBucketRepository timesheetBucketRepository;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        taskTimeTotalRepository = mock(TaskTimeTotalRepository.class);
+        timesheetBucketRepository = mock(TimesheetBucketRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private TimeAggregateService service(String zone, boolean backfill) {
+        return new TimeAggregateService(taskTimeTotalRepository, timesheetBucketRepository,
+                mock(WorkspaceRepository.class), transactionTemplate, zone, backfill);
+    }
+
+    @Test
+    void addSessionCountsTowardTheDayItStartsInTheConfiguredZone() {
+        // 23:30 UTC on the 3rd is already the 4th in Lisbon summer time
+        OffsetDateTime start = OffsetDateTime.of(2024, 6, 3, 23, 30, 0, 0, ZoneOffset.UTC);
+
+        service("Europe/Lisbon", false).addSession(1L, 2L, 3L, start, 45);
+
+        verify(taskTimeTotalRepository).add(3L, 45, 1);
+        verify(timesheetBucketRepository).add(1L, 2L, LocalDate.of(2024, 6, 4), 45, 1);
+    }
+
+    @Test
+    void removeSessionSubtractsMinutesAndOneSession() {
+        OffsetDateTime start = OffsetDateTime.of(2024, 6, 3, 9, 0, 0, 0, ZoneOffset.UTC);
+
+        service("UTC", false).removeSession(1L, 2L, 3L, start, 30);
+
+        verify(taskTimeTotalRepository).add(3L, -30, -1);
+        verify(timesheetBucketRepository).add(1L, 2L, LocalDate.of(2024, 6, 3), -30, -1);
+    }
+
+    @Test
+    void removeTasksSubtractsBucketsBeforeDroppingTotals() {
+        service("UTC", false).removeTasks(List.of(3L, 4L));
+
+        InOrder order = inOrder(timesheetBucketRepository, taskTimeTotalRepository);
+        order.verify(timesheetBucketRepository).subtractTasks(List.of(3L, 4L), "UTC");
+        order.verify(taskTimeTotalRepository).deleteByTaskIdIn(List.of(3L, 4L));
+    }
+
+    @Test
+    void backfillLocksBeforeCheckingAndFillsEmptyTables() {
+        when(taskTimeTotalRepository.count()).thenReturn(0L);
+        when(timesheetBucketRepository.count()).thenReturn(0L);
+
+        service("UTC", true).backfillIfEmpty();
+
+        InOrder order = inOrder(taskTimeTotalRepository, timesheetBucketRepository);
+        order.verify(taskTimeTotalRepository).lockForBackfill();
+        order.verify(taskTimeTotalRepository).count();
+        order.verify(taskTimeTotalRepository).rebuild();
+        order.verify(timesheetBucketRepository).rebuild("UTC");
+    }
+
+    @Test
+    void backfillLeavesFilledTablesAlone() {
+        when(taskTimeTotalRepository.count()).thenReturn(12L);
+
+        service("UTC", true).backfillIfEmpty();
+
+        verify(taskTimeTotalRepository).lockForBackfill();
+        verify(taskTimeTotalRepository, never()).rebuild();
+        verify(timesheetBucketRepository, never()).rebuild(any());
+    }
+
+    @Test
+    void backfillCanBeTurnedOff() {
+        service("UTC", false).backfillIfEmpty();
+
+        verifyNoInteractions(taskTimeTotalRepository, timesheetBucketRepository);
+    }
+}
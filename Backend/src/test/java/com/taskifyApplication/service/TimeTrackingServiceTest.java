@@ -0,0 +1,138 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.dto.TimeTrackingDto.TimeTrackingUpdateDTO;
+import com.taskifyApplication.model.Task;
+import com.taskifyApplication.model.TaskStatus;
+import com.taskifyApplication.model.TimeTracking;
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.model.Workspace;
+import com.taskifyApplication.repository.TimeTrackingRepository;
+import com.taskifyApplication.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimeTrackingServiceTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 6, 3, 9, 0, 0, 0, ZoneOffset.UTC);
+
+    private TimeTrackingRepository timeTrackingRepository;
+
+    private ActiveTimerRegistry activeTimerRegistry;
+
+    private TimeAggregateService timeAggregateService;
+
+    private TimeTrackingService timeTrackingService;
+
+    private User user;
+
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        timeTrackingRepository = mock(TimeTrackingRepository.class);
+        activeTimerRegistry = mock(ActiveTimerRegistry.class);
+        timeAggregateService = mock(TimeAggregateService.class);
+        UserRepository userRepository = mock(UserRepository.class);
+
+        timeTrackingService = new TimeTrackingService();
+        ReflectionTestUtils.setField(timeTrackingService, "timeTrackingRepository", timeTrackingRepository);
+        ReflectionTestUtils.setField(timeTrackingService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(timeTrackingService, "activeTimerRegistry", activeTimerRegistry);
+        ReflectionTestUtils.setField(timeTrackingService, "timeAggregateService", timeAggregateService);
+
+        user = User.builder().id(1L).email("ana@example.com").build();
+        Workspace workspace = Workspace.builder().id(2L).build();
+        task = Task.builder().id(3L).workspace(workspace).status(TaskStatus.builder().id(4L).build()).build();
+
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(timeTrackingRepository.save(any(TimeTracking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("ana@example.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private TimeTracking session(boolean active, OffsetDateTime end, Integer duration) {
+        TimeTracking session = TimeTracking.builder().id(5L).user(user).task(task)
+                .startTime(START).endTime(end).duration(duration).isActive(active).build();
+        when(timeTrackingRepository.findById(5L)).thenReturn(Optional.of(session));
+        return session;
+    }
+
+    @Test
+    void editingTheEndOfAClosedSessionMovesItsMinutes() {
+        session(false, START.plusMinutes(30), 30);
+        TimeTrackingUpdateDTO update = new TimeTrackingUpdateDTO();
+        update.setEndTime(START.plusMinutes(50));
+
+        timeTrackingService.updateTimeTracking(5L, update);
+
+        verify(timeAggregateService).removeSession(1L, 2L, 3L, START, 30);
+        verify(timeAggregateService).addSession(1L, 2L, 3L, START, 50);
+    }
+
+    @Test
+    void movingAClosedSessionToAnotherDayMovesItsBucket() {
+        session(false, START.plusMinutes(30), 30);
+        TimeTrackingUpdateDTO update = new TimeTrackingUpdateDTO();
+        update.setStartTime(START.minusDays(1));
+        update.setEndTime(START.minusDays(1).plusMinutes(30));
+
+        timeTrackingService.updateTimeTracking(5L, update);
+
+        verify(timeAggregateService).removeSession(1L, 2L, 3L, START, 30);
+        verify(timeAggregateService).addSession(1L, 2L, 3L, START.minusDays(1), 30);
+    }
+
+    @Test
+    void editingOnlyTheDescriptionLeavesTheAggregatesAlone() {
+        ValidationService validationService = mock(ValidationService.class);
+        when(validationService.sanitizeHtml("notes")).thenReturn("notes");
+        ReflectionTestUtils.setField(timeTrackingService, "validationService", validationService);
+        session(false, START.plusMinutes(30), 30);
+        TimeTrackingUpdateDTO update = new TimeTrackingUpdateDTO();
+        update.setDescription("notes");
+
+        timeTrackingService.updateTimeTracking(5L, update);
+
+        verifyNoInteractions(timeAggregateService);
+    }
+
+    @Test
+    void closingARunningSessionByEditAddsItOnce() {
+        session(true, null, null);
+        TimeTrackingUpdateDTO update = new TimeTrackingUpdateDTO();
+        update.setEndTime(START.plusMinutes(20));
+
+        timeTrackingService.updateTimeTracking(5L, update);
+
+        verify(timeAggregateService, never()).removeSession(any(), any(), any(), any(), anyLong());
+        verify(timeAggregateService).addSession(1L, 2L, 3L, START, 20);
+        verify(activeTimerRegistry).deactivate(argThat(timer -> timer.sessionId().equals(5L)));
+    }
+
+    @Test
+    void deletingAClosedSessionTakesItOut() {
+        TimeTracking closed = session(false, START.plusMinutes(30), 30);
+
+        timeTrackingService.deleteTimeTracking(5L);
+
+        verify(timeAggregateService).removeSession(1L, 2L, 3L, START, 30);
+        verify(timeTrackingRepository).delete(closed);
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskifyApplication.service;
+
+import com.taskifyApplication.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UnreadNotificationCounterTest {
+
+    private NotificationRepository notificationRepository;
+
+    private WebSocketService webSocketService;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        webSocketService = mock(WebSocketService.class);
+        counter = new UnreadNotificationCounter(notificationRepository, webSocketService);
+    }
+
+    @Test
+    void seedsOnceThenTracksChanges() {
+        when(notificationRepository.countUnreadByUserEmail("ana@example.com")).thenReturn(3L);
+
+        assertEquals(3, counter.getUnreadCount("ana@example.com"));
+        counter.increment("ana@example.com");
+        counter.decrement("ana@example.com");
+        counter.decrement("ana@example.com");
+
+        assertEquals(2, counter.getUnreadCount("ana@example.com"));
+        verify(notificationRepository, times(1)).countUnreadByUserEmail("ana@example.com");
+        verify(webSocketService).notifyUnreadCount("ana@example.com", 2);
+    }
+
+    @Test
+    void changeDuringSeedingDiscardsTheSeed() {
+        // The COUNT runs before the new row commits; its increment arrives while seeding
+        when(notificationRepository.countUnreadByUserEmail("ana@example.com"))
+                .thenAnswer(invocation -> {
+                    counter.increment("ana@example.com");
+                    return 3L;
+                })
+                .thenReturn(4L);
+
+        assertEquals(3, counter.getUnreadCount("ana@example.com"));
+        assertEquals(4, counter.getUnreadCount("ana@example.com"));
+        assertEquals(4, counter.getUnreadCount("ana@example.com"));
+        verify(notificationRepository, times(2)).countUnreadByUserEmail("ana@example.com");
+    }
+
+    @Test
+    void invalidateOnlyDropsTheGivenUsers() {
+        when(notificationRepository.countUnreadByUserEmail(anyString())).thenReturn(1L);
+        counter.getUnreadCount("ana@example.com");
+        counter.getUnreadCount("rui@example.com");
+
+        counter.invalidate(List.of("ana@example.com"));
+        counter.getUnreadCount("ana@example.com");
+        counter.getUnreadCount("rui@example.com");
+
+        verify(notificationRepository, times(2)).countUnreadByUserEmail("ana@example.com");
+        verify(notificationRepository, times(1)).countUnreadByUserEmail("rui@example.com");
+    }
+}
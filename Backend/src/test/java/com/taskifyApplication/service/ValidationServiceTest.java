@@ -2,6 +2,8 @@ package com.taskifyApplication.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.owasp.html.PolicyFactory;
+import org.owasp.html.Sanitizers;
 import static org.junit.jupiter.api.Assertions.*;
 
 class ValidationServiceTest {
@@ -10,7 +12,7 @@ class ValidationServiceTest {
 
     @BeforeEach
     void setUp() {
-        validationService = new ValidationService();
+        validationService = new ValidationService(new HtmlSanitizer(100, 0));
     }
 
     @Test
@@ -22,6 +24,46 @@ class ValidationServiceTest {
         assertTrue(result.contains("<p>Safe content</p>"));
     }
 
+    @Test
+    void testSanitizeHtmlPlainTextMatchesFullPolicy() {
+        HtmlSanitizer uncached = new HtmlSanitizer(0, Integer.MAX_VALUE);
+        String plain = "Revisar os textos da campanha e enviar para aprovação até sexta-feira (50% pronto).\n- item 1";
+
+        assertTrue(HtmlSanitizer.isPassThrough(plain));
+        assertSame(plain, uncached.sanitize(plain));
+        assertEquals(plain, Sanitizers.FORMATTING.and(Sanitizers.LINKS).and(Sanitizers.BLOCKS).sanitize(plain));
+    }
+
+    @Test
+    void testSanitizeHtmlPassThroughAgreesWithPolicyForEveryBmpCharacter() {
+        PolicyFactory policy = Sanitizers.FORMATTING.and(Sanitizers.LINKS).and(Sanitizers.BLOCKS);
+        for (int c = 0; c <= 0xFFFF; c++) {
+            String text = "a" + (char) c + "b";
+            if (HtmlSanitizer.isPassThrough(text)) {
+                assertEquals(text, policy.sanitize(text), String.format("U+%04X", c));
+            }
+        }
+        assertFalse(HtmlSanitizer.isPassThrough("\u1FEF"));
+    }
+
+    @Test
+    void testSanitizeHtmlEncodesPlainTextWithSpecialCharacters() {
+        assertFalse(HtmlSanitizer.isPassThrough("It's 1 + 1 = 2 @ team"));
+        assertTrue(validationService.sanitizeHtml("It's 1 + 1 = 2 @ team").startsWith("It&#39;s"));
+        assertFalse(HtmlSanitizer.isPassThrough("a < b"));
+        assertFalse(HtmlSanitizer.isPassThrough("line\r\n"));
+    }
+
+    @Test
+    void testSanitizeHtmlResaveReturnsIdenticalContent() {
+        String maliciousInput = "<script>alert('xss')</script><p>Safe <b>content</b></p>";
+        String stored = validationService.sanitizeHtml(maliciousInput);
+
+        assertEquals(stored, validationService.sanitizeHtml(stored));
+        assertEquals(stored, validationService.sanitizeHtml(stored));
+        assertFalse(validationService.sanitizeHtml(maliciousInput).contains("<script>"));
+    }
+
     @Test
     void testSanitizeString() {
         String maliciousInput = "<script>alert('xss')</script>";
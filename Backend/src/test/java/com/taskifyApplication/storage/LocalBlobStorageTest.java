@@ -0,0 +1,92 @@
+package com.taskifyApplication.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalBlobStorageTest {
+
+    // SHA-256 of "hello world"
+    private static final String HELLO_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    @TempDir
+    Path uploadDir;
+
+    private LocalBlobStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A small chunk size so content spans several transfers
+        storage = new LocalBlobStorage(uploadDir.toString(), "http://files", 4);
+    }
+
+    @Test
+    void storeAddressesContentByItsHash() throws IOException {
+        StoredBlob blob = storage.store(content("hello world"), "hello.txt", "text/plain");
+
+        assertEquals("b9/4d/" + HELLO_SHA256, blob.key());
+        assertEquals(HELLO_SHA256, blob.sha256());
+        assertEquals(11, blob.size());
+        assertEquals(Optional.of(11L), storage.size(blob.key()));
+        try (InputStream in = storage.open(blob.key())) {
+            assertEquals("hello world", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertEquals("http://files/" + blob.key(), storage.publicUrl(blob.key()));
+    }
+
+    @Test
+    void storingTheSameContentTwiceKeepsOneFile() throws IOException {
+        StoredBlob first = storage.store(content("hello world"), "a.txt", "text/plain");
+        StoredBlob second = storage.store(content("hello world"), "b.txt", "text/plain");
+
+        assertEquals(first.key(), second.key());
+        try (var leftovers = Files.list(uploadDir.resolve("tmp"))) {
+            assertEquals(0, leftovers.count());
+        }
+    }
+
+    @Test
+    void transferToCopiesOnlyTheRange() throws IOException {
+        StoredBlob blob = storage.store(content("hello world"), "hello.txt", "text/plain");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        storage.transferTo(blob.key(), 6, 5, Channels.newChannel(out));
+
+        assertEquals("world", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void storeAtReplacesDerivedContent() throws IOException {
+        storage.storeAt("thumbnails/1.png", content("old"), "image/png");
+        storage.storeAt("thumbnails/1.png", content("new"), "image/png");
+
+        try (InputStream in = storage.open("thumbnails/1.png")) {
+            assertEquals("new", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        storage.delete("thumbnails/1.png");
+        assertEquals(Optional.empty(), storage.size("thumbnails/1.png"));
+    }
+
+    @Test
+    void keysCannotEscapeTheUploadDirectory() {
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("../outside.txt"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("ab/../../outside.txt"));
+        assertThrows(IllegalArgumentException.class, () -> storage.resolve("tmp/upload.part"));
+    }
+
+    private static InputStream content(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskifyApplication.support;
+
+import com.taskifyApplication.sql.SqlStatementStats;
+import com.taskifyApplication.sql.SqlStatsResponseAdvice;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statement budgets for integration tests, so an N+1 fails the build instead of showing up in
+ * production. For endpoints, through MockMvc (test properties turn the SQL response headers on):
+ * <pre>
+ * mockMvc.perform(get("/api/tasks/kanban")).andExpect(SqlStatementBudget.atMost(8));
+ * </pre>
+ * For service calls: {@code SqlStatementBudget.assertAtMost(3, () -> taskService.getTaskById(id))}.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    public static ResultMatcher atMost(int statements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatsResponseAdvice.STATEMENTS_HEADER);
+            assertNotNull(header, "No " + SqlStatsResponseAdvice.STATEMENTS_HEADER + " header; is app.sql-stats.response-headers on?");
+            int executed = Integer.parseInt(header);
+            assertTrue(executed <= statements, result.getRequest().getMethod() + " " + result.getRequest().getRequestURI()
+                    + " ran " + executed + " statements, budget is " + statements);
+        };
+    }
+
+    public static <T> T assertAtMost(int statements, Supplier<T> action) {
+        SqlStatementStats.Captured<T> captured = SqlStatementStats.capture(action);
+        SqlStatementStats stats = captured.stats();
+        assertTrue(stats.getStatements() <= statements, () -> "Ran " + stats.getStatements()
+                + " statements, budget is " + statements + ":\n" + stats.topFingerprints(10).stream()
+                .map(fingerprint -> "  " + fingerprint.getCount() + "x " + fingerprint.getSql())
+                .collect(Collectors.joining("\n")));
+        return captured.result();
+    }
+}
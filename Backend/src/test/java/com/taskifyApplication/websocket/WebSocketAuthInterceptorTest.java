@@ -0,0 +1,98 @@
+package com.taskifyApplication.websocket;
+
+import com.taskifyApplication.model.User;
+import com.taskifyApplication.service.JwtService;
+import com.taskifyApplication.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketAuthInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private WebSocketAuthInterceptor interceptor;
+
+    @Test
+    void connectResolvesPrincipalFromStompHeader() {
+        User user = User.builder().id(7L).email("ana@example.com").username("ana").build();
+        when(jwtService.extractValidSubject("token")).thenReturn("ana@example.com");
+        when(userService.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        Map<String, Object> attributes = new HashMap<>();
+
+        StompHeaderAccessor accessor = headers(StompCommand.CONNECT, attributes, "Bearer token");
+        interceptor.preSend(message(accessor), null);
+
+        StompPrincipal principal = (StompPrincipal) accessor.getUser();
+        assertNotNull(principal);
+        assertEquals(7L, principal.id());
+        assertEquals("ana@example.com", principal.getName());
+        assertSame(principal, attributes.get(WebSocketAuthInterceptor.PRINCIPAL_ATTRIBUTE));
+    }
+
+    @Test
+    void connectReusesPrincipalResolvedAtHandshake() {
+        StompPrincipal principal = new StompPrincipal(7L, "ana@example.com", "ana", "Ana", "Silva");
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(WebSocketAuthInterceptor.PRINCIPAL_ATTRIBUTE, principal);
+
+        StompHeaderAccessor accessor = headers(StompCommand.CONNECT, attributes, null);
+        interceptor.preSend(message(accessor), null);
+
+        assertSame(principal, accessor.getUser());
+        verifyNoInteractions(jwtService, userService);
+    }
+
+    @Test
+    void connectWithInvalidTokenIsRejected() {
+        when(jwtService.extractValidSubject("expired")).thenReturn(null);
+
+        StompHeaderAccessor accessor = headers(StompCommand.CONNECT, new HashMap<>(), "Bearer expired");
+
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(message(accessor), null));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void otherFramesAreNotAuthenticatedAgain() {
+        StompHeaderAccessor accessor = headers(StompCommand.SEND, new HashMap<>(), "Bearer token");
+        Message<byte[]> message = message(accessor);
+
+        assertSame(message, interceptor.preSend(message, null));
+        verifyNoInteractions(jwtService, userService);
+    }
+
+    private static StompHeaderAccessor headers(StompCommand command, Map<String, Object> attributes, String authorization) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionAttributes(attributes);
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+        accessor.setLeaveMutable(true);
+        return accessor;
+    }
+
+    private static Message<byte[]> message(StompHeaderAccessor accessor) {
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -129,8 +129,9 @@ export function AttachmentList({
           <div className="flex-shrink-0">
             {attachment.filePath ? (
               <img
-                src={attachment.filePath}
+                src={attachment.thumbnailUrl ?? attachment.filePath}
                 alt={attachment.originalName}
+                loading="lazy"
                 className="h-10 w-10 object-cover rounded"
                 onError={(e) => {
                   e.currentTarget.style.display = "none";
@@ -69,6 +69,10 @@ export function NotificationCenter() {
     });
   });
 
+  useWebSocketEvent("notification:unread-count", (count: number) => {
+    setUnreadCount(count);
+  });
+
   useWebSocketEvent("notification:read", () => {
     setUnreadCount((prev) => Math.max(0, prev - 1));
     queryClient.invalidateQueries({ queryKey: ["notifications"] });
@@ -36,6 +36,7 @@ export interface WebSocketEvents {
 
   "notification:new": (notification: INotification) => void;
   "notification:read": (notificationId: string) => void;
+  "notification:unread-count": (count: number) => void;
 }
 
 class WebSocketService {
@@ -129,6 +130,10 @@ class WebSocketService {
       const data = JSON.parse(message.body);
       this.emit("notification:new", data);
     });
+    this.subscribe("/user/queue/unread-count", (message) => {
+      const data = JSON.parse(message.body);
+      this.emit("notification:unread-count", data.count);
+    });
   }
 
   private subscribe(destination: string, callback: (message: any) => void) {
@@ -1,6 +1,7 @@
 export interface IAttachment {
   id: string;
   filePath: string;
+  thumbnailUrl?: string;
   originalName: string;
   mimeType: string;
   size: number;